@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.rule.ActivityTestRule;
+
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Scrolls a table whose cells have different widths, so the cells of each new row are fitted
+ * to their columns, and counts the layout requests of every frame.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LayoutRequestTest {
+    private static final int ROW_COUNT = 500;
+    private static final int COLUMN_COUNT = 30;
+    private static final int FRAME_COUNT = 60;
+    private static final int SCROLL_X = 40;
+    private static final int SCROLL_Y = 60;
+    private static final int CELL_HEIGHT = 48;
+
+    @Rule
+    public ActivityTestRule<TestActivity> mActivityRule = new ActivityTestRule<>(TestActivity
+            .class);
+
+    // Requests of the cells which are attached, only made on the main thread.
+    private int mCellRequestCount;
+
+    @Test
+    public void fittingDoesNotRequestLayoutPerCell() throws Throwable {
+        final TestActivity activity = mActivityRule.getActivity();
+        final CountingTableView[] tableView = new CountingTableView[1];
+        mActivityRule.runOnUiThread(() -> {
+            tableView[0] = new CountingTableView(activity);
+            activity.setContentView(tableView[0]);
+
+            TestAdapter adapter = new TestAdapter();
+            tableView[0].setAdapter(adapter);
+            adapter.setAllItems(createItems(COLUMN_COUNT), createItems(ROW_COUNT), createCells());
+        });
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        final int[] cellRequests = new int[FRAME_COUNT];
+        final int[] tableRequests = new int[FRAME_COUNT];
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // Each frame scrolls both ways, and the next frame reads the requests which the scroll
+        // and the layout pass of the frame have made.
+        mActivityRule.runOnUiThread(() -> Choreographer.getInstance().postFrameCallback(new
+                Choreographer.FrameCallback() {
+            private int mFrame = -1;
+
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                if (mFrame >= 0) {
+                    cellRequests[mFrame] = mCellRequestCount;
+                    tableRequests[mFrame] = tableView[0].mRequestCount;
+                }
+                if (++mFrame == FRAME_COUNT) {
+                    done.countDown();
+                    return;
+                }
+
+                mCellRequestCount = 0;
+                tableView[0].mRequestCount = 0;
+                tableView[0].getCellRecyclerView().scrollBy(0, SCROLL_Y);
+                tableView[0].getColumnHeaderRecyclerView().scrollBy(SCROLL_X, 0);
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            // The fitted cells are measured by their rows, which are laid out once per pass.
+            assertEquals("Cell layout requests of frame " + i, 0, cellRequests[i]);
+            // One for the scroll, and at most one made by the layout pass of the frame.
+            assertTrue("TableView layout requests of frame " + i + ": " + tableRequests[i],
+                    tableRequests[i] <= 2);
+        }
+    }
+
+    @NonNull
+    private static List<String> createItems(int count) {
+        List<String> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(String.valueOf(i));
+        }
+        return items;
+    }
+
+    @NonNull
+    private static List<List<String>> createCells() {
+        List<List<String>> rows = new ArrayList<>(ROW_COUNT);
+        for (int row = 0; row < ROW_COUNT; row++) {
+            rows.add(createItems(COLUMN_COUNT));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns a width which differs between the rows, so the columns widen while scrolling.
+     */
+    private static int getCellWidth(int column, int row) {
+        return 48 + ((row * 31 + column * 17) % 7) * 16;
+    }
+
+    private static class CountingTableView extends TableView {
+        int mRequestCount;
+
+        CountingTableView(@NonNull Context context) {
+            super(context);
+        }
+
+        @Override
+        public void requestLayout() {
+            mRequestCount++;
+            super.requestLayout();
+        }
+    }
+
+    private class CellView extends View {
+        int mDesiredWidth = 48;
+
+        CellView(@NonNull Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+            setMeasuredDimension(resolveSize(mDesiredWidth, widthMeasureSpec), resolveSize
+                    (CELL_HEIGHT, heightMeasureSpec));
+        }
+
+        @Override
+        public void requestLayout() {
+            // Adding a view requests its layout before it is attached, which isn't counted.
+            if (ViewCompat.isAttachedToWindow(this)) {
+                mCellRequestCount++;
+            }
+            super.requestLayout();
+        }
+    }
+
+    private static class Holder extends AbstractViewHolder {
+        Holder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+
+    private class TestAdapter extends AbstractTableAdapter<String, String, String> {
+        @Override
+        public int getColumnHeaderItemViewType(int position) {
+            return 0;
+        }
+
+        @Override
+        public int getRowHeaderItemViewType(int position) {
+            return 0;
+        }
+
+        @Override
+        public int getCellItemViewType(int position) {
+            return 0;
+        }
+
+        @NonNull
+        @Override
+        public AbstractViewHolder onCreateCellViewHolder(@NonNull ViewGroup parent, int
+                viewType) {
+            return new Holder(new CellView(parent.getContext()));
+        }
+
+        @Override
+        public void onBindCellViewHolder(@NonNull AbstractViewHolder holder, @Nullable String
+                cellItemModel, int columnPosition, int rowPosition) {
+            ((CellView) holder.itemView).mDesiredWidth = getCellWidth(columnPosition,
+                    rowPosition);
+        }
+
+        @NonNull
+        @Override
+        public AbstractViewHolder onCreateColumnHeaderViewHolder(@NonNull ViewGroup parent,
+                                                                 int viewType) {
+            return new Holder(new CellView(parent.getContext()));
+        }
+
+        @Override
+        public void onBindColumnHeaderViewHolder(@NonNull AbstractViewHolder holder, @Nullable
+                String columnHeaderItemModel, int columnPosition) {
+        }
+
+        @NonNull
+        @Override
+        public AbstractViewHolder onCreateRowHeaderViewHolder(@NonNull ViewGroup parent, int
+                viewType) {
+            return new Holder(new CellView(parent.getContext()));
+        }
+
+        @Override
+        public void onBindRowHeaderViewHolder(@NonNull AbstractViewHolder holder, @Nullable
+                String rowHeaderItemModel, int rowPosition) {
+        }
+
+        @NonNull
+        @Override
+        public View onCreateCornerView(@NonNull ViewGroup parent) {
+            return new View(parent.getContext());
+        }
+    }
+}
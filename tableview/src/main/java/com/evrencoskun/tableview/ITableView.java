@@ -25,16 +25,22 @@ import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
 import com.evrencoskun.tableview.filter.Filter;
 import com.evrencoskun.tableview.handler.ColumnSortHandler;
+import com.evrencoskun.tableview.handler.ColumnWidthHandler;
 import com.evrencoskun.tableview.handler.FilterHandler;
 import com.evrencoskun.tableview.handler.ScrollHandler;
 import com.evrencoskun.tableview.handler.SelectionHandler;
+import com.evrencoskun.tableview.handler.ViewPoolHandler;
 import com.evrencoskun.tableview.handler.VisibilityHandler;
 import com.evrencoskun.tableview.layoutmanager.CellLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.PrefetchPolicy;
 import com.evrencoskun.tableview.listener.ITableViewListener;
 import com.evrencoskun.tableview.listener.scroll.HorizontalRecyclerViewListener;
 import com.evrencoskun.tableview.listener.scroll.VerticalRecyclerViewListener;
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
 import com.evrencoskun.tableview.sort.SortState;
+import com.evrencoskun.tableview.textcell.TextCellRenderer;
+import com.evrencoskun.tableview.textcell.TextLayoutCache;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -81,6 +87,25 @@ public interface ITableView {
     @NonNull
     CellLayoutManager getCellLayoutManager();
 
+    /**
+     * Returns whether the cells are laid out by a single
+     * {@link com.evrencoskun.tableview.layoutmanager.CellGridLayoutManager} instead of a nested
+     * RecyclerView for each row.
+     */
+    boolean isGridLayoutEnabled();
+
+    /**
+     * Returns the number of leading columns which don't scroll horizontally.
+     */
+    int getFrozenColumnCount();
+
+    /**
+     * Returns the RecyclerView of the frozen column headers, or null if no column has been
+     * frozen yet.
+     */
+    @Nullable
+    CellRecyclerView getFrozenColumnHeaderRecyclerView();
+
     @NonNull
     LinearLayoutManager getRowHeaderLayoutManager();
 
@@ -122,6 +147,10 @@ public interface ITableView {
 
     void scrollToRowPosition(int row, int offset);
 
+    void smoothScrollToCell(int column, int row);
+
+    void smoothScrollToCell(int column, int row, boolean center);
+
     void showRow(int row);
 
     void hideRow(int row);
@@ -189,4 +218,48 @@ public interface ITableView {
      */
     @NonNull
     ScrollHandler getScrollHandler();
+
+    /**
+     * Retrieves the ColumnWidthHandler of the TableView.
+     *
+     * @return The ColumnWidthHandler of the TableView.
+     */
+    @NonNull
+    ColumnWidthHandler getColumnWidthHandler();
+
+    /**
+     * Retrieves the ViewPoolHandler of the TableView.
+     *
+     * @return The ViewPoolHandler of the TableView.
+     */
+    @NonNull
+    ViewPoolHandler getViewPoolHandler();
+
+    /**
+     * @return The PrefetchPolicy which decides how far ahead the rows and columns are
+     * prefetched.
+     */
+    @NonNull
+    PrefetchPolicy getPrefetchPolicy();
+
+    /**
+     * @return The TableViewMetrics which times the frames and the layout work while it is
+     * enabled.
+     */
+    @NonNull
+    TableViewMetrics getMetrics();
+
+    /**
+     * @return The TextCellRenderer which draws the cells of the rows, or null if each cell is a
+     * view.
+     */
+    @Nullable
+    TextCellRenderer getTextCellRenderer();
+
+    /**
+     * @return The TextLayoutCache which lays out the texts of the prefetched cells in the
+     * background, or null if the texts are laid out as they are bound.
+     */
+    @Nullable
+    TextLayoutCache getTextLayoutCache();
 }
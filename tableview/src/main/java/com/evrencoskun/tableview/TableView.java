@@ -29,6 +29,7 @@ import android.widget.FrameLayout;
 import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
+import com.evrencoskun.tableview.fastscroll.FastScroller;
 import com.evrencoskun.tableview.filter.Filter;
 import com.evrencoskun.tableview.handler.ColumnSortHandler;
 import com.evrencoskun.tableview.handler.ColumnWidthHandler;
@@ -36,17 +37,28 @@ import com.evrencoskun.tableview.handler.FilterHandler;
 import com.evrencoskun.tableview.handler.PreferencesHandler;
 import com.evrencoskun.tableview.handler.ScrollHandler;
 import com.evrencoskun.tableview.handler.SelectionHandler;
+import com.evrencoskun.tableview.handler.ViewPoolHandler;
 import com.evrencoskun.tableview.handler.VisibilityHandler;
+import com.evrencoskun.tableview.layoutmanager.CellGridLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.CellLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthSpec;
+import com.evrencoskun.tableview.layoutmanager.FrozenColumnHeaderLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.PrefetchPolicy;
+import com.evrencoskun.tableview.layoutmanager.RowHeaderLayoutManager;
 import com.evrencoskun.tableview.listener.ITableViewListener;
 import com.evrencoskun.tableview.listener.TableViewLayoutChangeListener;
+import com.evrencoskun.tableview.listener.itemclick.CellGridRecyclerViewItemClickListener;
 import com.evrencoskun.tableview.listener.itemclick.ColumnHeaderRecyclerViewItemClickListener;
 import com.evrencoskun.tableview.listener.itemclick.RowHeaderRecyclerViewItemClickListener;
 import com.evrencoskun.tableview.listener.scroll.HorizontalRecyclerViewListener;
 import com.evrencoskun.tableview.listener.scroll.VerticalRecyclerViewListener;
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
+import com.evrencoskun.tableview.preference.ColumnWidthSnapshot;
 import com.evrencoskun.tableview.preference.SavedState;
 import com.evrencoskun.tableview.sort.SortState;
+import com.evrencoskun.tableview.textcell.TextCellRenderer;
+import com.evrencoskun.tableview.textcell.TextLayoutCache;
 
 import androidx.annotation.AttrRes;
 import androidx.annotation.ColorInt;
@@ -55,6 +67,7 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DividerItemDecoration;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
 
@@ -70,6 +83,8 @@ public class TableView extends FrameLayout implements ITableView {
     @NonNull
     protected CellRecyclerView mRowHeaderRecyclerView;
     @Nullable
+    protected CellRecyclerView mFrozenColumnHeaderRecyclerView;
+    @Nullable
     protected AbstractTableAdapter mTableAdapter;
     @Nullable
     private ITableViewListener mTableViewListener;
@@ -83,6 +98,10 @@ public class TableView extends FrameLayout implements ITableView {
     private LinearLayoutManager mRowHeaderLayoutManager;
     @NonNull
     private CellLayoutManager mCellLayoutManager;
+    @Nullable
+    private CellGridLayoutManager mCellGridLayoutManager;
+    @Nullable
+    private CellGridRecyclerViewItemClickListener mCellGridItemClickListener;
     @NonNull
     private DividerItemDecoration mVerticalItemDecoration;
     @NonNull
@@ -101,6 +120,14 @@ public class TableView extends FrameLayout implements ITableView {
     private PreferencesHandler mPreferencesHandler;
     @NonNull
     private ColumnWidthHandler mColumnWidthHandler;
+    @NonNull
+    private ViewPoolHandler mViewPoolHandler;
+    @NonNull
+    private final PrefetchPolicy mPrefetchPolicy = new PrefetchPolicy();
+    @NonNull
+    private final TableViewMetrics mMetrics = new TableViewMetrics();
+    @Nullable
+    private FastScroller mFastScroller;
 
     private int mRowHeaderWidth;
     private int mColumnHeaderHeight;
@@ -118,6 +145,21 @@ public class TableView extends FrameLayout implements ITableView {
     private boolean mAllowClickInsideRowHeader = false;
     private boolean mAllowClickInsideColumnHeader = false;
     private boolean mIsSortable;
+    private boolean mGridLayoutEnabled;
+    private int mFrozenColumnCount;
+    @Nullable
+    private TextCellRenderer mTextCellRenderer;
+    @Nullable
+    private TextLayoutCache mTextLayoutCache;
+    // Draws the text cell rows again while the column header scrolls.
+    @NonNull
+    private final RecyclerView.OnScrollListener mTextCellScrollListener = new RecyclerView
+            .OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            getCellLayoutManager().invalidateRows();
+        }
+    };
 
     public TableView(@NonNull Context context) {
         super(context);
@@ -203,12 +245,17 @@ public class TableView extends FrameLayout implements ITableView {
         addView(mRowHeaderRecyclerView);
         addView(mCellRecyclerView);
 
+        // Let the prefetching know the fling velocities.
+        mColumnHeaderRecyclerView.setOnFlingListener(mPrefetchPolicy);
+        mCellRecyclerView.setOnFlingListener(mPrefetchPolicy);
+
         // Create Handlers
         mSelectionHandler = new SelectionHandler(this);
         mVisibilityHandler = new VisibilityHandler(this);
         mScrollHandler = new ScrollHandler(this);
         mPreferencesHandler = new PreferencesHandler(this);
         mColumnWidthHandler = new ColumnWidthHandler(this);
+        mViewPoolHandler = new ViewPoolHandler(this);
 
         initializeListeners();
     }
@@ -324,17 +371,52 @@ public class TableView extends FrameLayout implements ITableView {
         return recyclerView;
     }
 
+    @NonNull
+    protected CellRecyclerView createFrozenColumnHeaderRecyclerView() {
+        CellRecyclerView recyclerView = new CellRecyclerView(getContext());
+
+        // Set layout manager
+        recyclerView.setLayoutManager(new FrozenColumnHeaderLayoutManager(getContext(), this));
+
+        // Set layout params, the width is set by the CellGridLayoutManager.
+        LayoutParams layoutParams = new LayoutParams(0, mColumnHeaderHeight);
+        layoutParams.leftMargin = mRowHeaderWidth;
+        recyclerView.setLayoutParams(layoutParams);
+
+        if (isShowHorizontalSeparators()) {
+            // Add vertical item decoration to display column line
+            recyclerView.addItemDecoration(getHorizontalItemDecoration());
+        }
+
+        if (mAllowClickInsideColumnHeader) {
+            recyclerView.addOnItemTouchListener(new ColumnHeaderRecyclerViewItemClickListener
+                    (recyclerView, this));
+        }
+
+        return recyclerView;
+    }
+
     public <CH, RH, C> void setAdapter(@Nullable AbstractTableAdapter<CH, RH, C> tableAdapter) {
         if (tableAdapter != null) {
             this.mTableAdapter = tableAdapter;
             this.mTableAdapter.setRowHeaderWidth(mRowHeaderWidth);
             this.mTableAdapter.setColumnHeaderHeight(mColumnHeaderHeight);
             this.mTableAdapter.setTableView(this);
+            // The pools of the previous adapter are sized again by the next layout.
+            mViewPoolHandler.cancel();
 
             // set adapters
             mColumnHeaderRecyclerView.setAdapter(mTableAdapter.getColumnHeaderRecyclerViewAdapter());
             mRowHeaderRecyclerView.setAdapter(mTableAdapter.getRowHeaderRecyclerViewAdapter());
-            mCellRecyclerView.setAdapter(mTableAdapter.getCellRecyclerViewAdapter());
+            if (mGridLayoutEnabled) {
+                mCellRecyclerView.setAdapter(mTableAdapter.getCellGridRecyclerViewAdapter());
+            } else {
+                mCellRecyclerView.setAdapter(mTableAdapter.getCellRecyclerViewAdapter());
+            }
+            if (mFrozenColumnHeaderRecyclerView != null) {
+                mFrozenColumnHeaderRecyclerView.setAdapter(mTableAdapter
+                        .getFrozenColumnHeaderRecyclerViewAdapter());
+            }
 
             // Create Sort Handler
             mColumnSortHandler = new ColumnSortHandler(this);
@@ -429,12 +511,188 @@ public class TableView extends FrameLayout implements ITableView {
         return mCellLayoutManager;
     }
 
+    @NonNull
+    public CellGridLayoutManager getCellGridLayoutManager() {
+        if (mCellGridLayoutManager == null) {
+            mCellGridLayoutManager = new CellGridLayoutManager(this);
+        }
+        return mCellGridLayoutManager;
+    }
+
+    @Override
+    public boolean isGridLayoutEnabled() {
+        return mGridLayoutEnabled;
+    }
+
+    /**
+     * Lays out all of the cells by a single {@link CellGridLayoutManager} instead of a nested
+     * RecyclerView for each row, which scrolls wide tables much more smoothly. It must be set
+     * before the adapter.
+     */
+    public void setGridLayoutEnabled(boolean gridLayoutEnabled) {
+        if (mTableAdapter != null) {
+            throw new IllegalStateException("The grid layout must be set before the adapter");
+        }
+        if (mGridLayoutEnabled == gridLayoutEnabled) {
+            return;
+        }
+        if (gridLayoutEnabled && mTextCellRenderer != null) {
+            throw new IllegalStateException("The grid layout can't draw the text cells");
+        }
+        if (!gridLayoutEnabled) {
+            // Only the grid layout can freeze the columns.
+            setFrozenColumnCount(0);
+        }
+        this.mGridLayoutEnabled = gridLayoutEnabled;
+
+        if (gridLayoutEnabled) {
+            // The cells scroll horizontally with the column header instead of the rows.
+            mColumnHeaderRecyclerView.removeOnItemTouchListener(mHorizontalRecyclerViewListener);
+            mCellRecyclerView.setLayoutManager(getCellGridLayoutManager());
+
+            if (isShowHorizontalSeparators()) {
+                // Add vertical item decoration to display column line between the cells
+                mCellRecyclerView.addItemDecoration(getHorizontalItemDecoration());
+            }
+
+            if (mAllowClickInsideCell) {
+                mCellGridItemClickListener = new CellGridRecyclerViewItemClickListener
+                        (mCellRecyclerView, this);
+                mCellRecyclerView.addOnItemTouchListener(mCellGridItemClickListener);
+            }
+        } else {
+            mColumnHeaderRecyclerView.addOnItemTouchListener(mHorizontalRecyclerViewListener);
+            mCellRecyclerView.setLayoutManager(getCellLayoutManager());
+            mCellRecyclerView.removeItemDecoration(getHorizontalItemDecoration());
+
+            if (mCellGridItemClickListener != null) {
+                mCellRecyclerView.removeOnItemTouchListener(mCellGridItemClickListener);
+                mCellGridItemClickListener = null;
+            }
+        }
+    }
+
+    /**
+     * Lets each row draw its cells as texts with the given renderer, instead of each cell being
+     * created by the adapter as a view. The rows are given the height of the renderer unless
+     * the rows already have a uniform height. It must be set before the adapter, and it can't
+     * be used with the grid layout. Null lets the cells be views again.
+     */
+    public void setTextCellRenderer(@Nullable TextCellRenderer textCellRenderer) {
+        if (mTableAdapter != null) {
+            throw new IllegalStateException("The text cell renderer must be set before the " +
+                    "adapter");
+        }
+        if (textCellRenderer != null && mGridLayoutEnabled) {
+            throw new IllegalStateException("The grid layout can't draw the text cells");
+        }
+
+        if (mTextCellRenderer == null && textCellRenderer != null) {
+            mColumnHeaderRecyclerView.addOnScrollListener(mTextCellScrollListener);
+        } else if (mTextCellRenderer != null && textCellRenderer == null) {
+            mColumnHeaderRecyclerView.removeOnScrollListener(mTextCellScrollListener);
+        }
+        this.mTextCellRenderer = textCellRenderer;
+
+        if (textCellRenderer != null && !getCellLayoutManager().getRowHeightModel().isUniform()) {
+            // The row headers take the same height as the rows.
+            setUniformRowHeight(textCellRenderer.getRowHeight());
+        }
+    }
+
+    @Nullable
+    @Override
+    public TextCellRenderer getTextCellRenderer() {
+        return mTextCellRenderer;
+    }
+
+    /**
+     * Lets the texts of the rows and the columns which are prefetched be laid out in the
+     * background by the given cache. Null lays the texts out as they are bound.
+     */
+    public void setTextLayoutCache(@Nullable TextLayoutCache textLayoutCache) {
+        if (mTextLayoutCache != null) {
+            mTextLayoutCache.clear();
+        }
+        this.mTextLayoutCache = textLayoutCache;
+        mPrefetchPolicy.setPrefetchListener(textLayoutCache);
+    }
+
+    @Nullable
+    @Override
+    public TextLayoutCache getTextLayoutCache() {
+        return mTextLayoutCache;
+    }
+
+    @Override
+    public int getFrozenColumnCount() {
+        return mFrozenColumnCount;
+    }
+
+    /**
+     * Freezes the given number of leading columns next to the row header, while the other
+     * columns scroll horizontally under them. It needs the grid layout.
+     *
+     * @see #setGridLayoutEnabled(boolean)
+     */
+    public void setFrozenColumnCount(int frozenColumnCount) {
+        if (frozenColumnCount < 0) {
+            throw new IllegalArgumentException("Frozen column count: " + frozenColumnCount);
+        }
+        if (frozenColumnCount > 0 && !mGridLayoutEnabled) {
+            throw new IllegalStateException("Columns can only be frozen by the grid layout");
+        }
+        if (mFrozenColumnCount == frozenColumnCount) {
+            return;
+        }
+        this.mFrozenColumnCount = frozenColumnCount;
+
+        if (frozenColumnCount > 0 && mFrozenColumnHeaderRecyclerView == null) {
+            // It is added after the column header to be drawn over it.
+            mFrozenColumnHeaderRecyclerView = createFrozenColumnHeaderRecyclerView();
+            addView(mFrozenColumnHeaderRecyclerView);
+
+            if (mTableAdapter != null) {
+                mFrozenColumnHeaderRecyclerView.setAdapter(mTableAdapter
+                        .getFrozenColumnHeaderRecyclerViewAdapter());
+            }
+        }
+
+        if (mFrozenColumnHeaderRecyclerView != null) {
+            mFrozenColumnHeaderRecyclerView.setVisibility(frozenColumnCount > 0 ? VISIBLE : GONE);
+            RecyclerView.Adapter adapter = mFrozenColumnHeaderRecyclerView.getAdapter();
+            if (adapter != null) {
+                adapter.notifyDataSetChanged();
+            }
+        }
+        getCellGridLayoutManager().setFrozenColumnCount(frozenColumnCount);
+    }
+
+    /**
+     * Gives every row the given height, so the rows don't need to be measured to fit their
+     * contents. 0 lets the rows wrap their contents again.
+     */
+    public void setUniformRowHeight(int rowHeight) {
+        if (mGridLayoutEnabled) {
+            getCellGridLayoutManager().setRowHeight(rowHeight);
+        } else {
+            getCellLayoutManager().getRowHeightModel().setUniformHeight(rowHeight);
+        }
+        mRowHeaderRecyclerView.requestLayout();
+        mCellRecyclerView.requestLayout();
+    }
+
+    @Nullable
+    @Override
+    public CellRecyclerView getFrozenColumnHeaderRecyclerView() {
+        return mFrozenColumnHeaderRecyclerView;
+    }
+
     @NonNull
     @Override
     public LinearLayoutManager getRowHeaderLayoutManager() {
         if (mRowHeaderLayoutManager == null) {
-            mRowHeaderLayoutManager = new LinearLayoutManager(getContext(), LinearLayoutManager
-                    .VERTICAL, false);
+            mRowHeaderLayoutManager = new RowHeaderLayoutManager(getContext(), this);
         }
         return mRowHeaderLayoutManager;
     }
@@ -530,6 +788,16 @@ public class TableView extends FrameLayout implements ITableView {
         mScrollHandler.scrollToRowPosition(row, offset);
     }
 
+    @Override
+    public void smoothScrollToCell(int column, int row) {
+        mScrollHandler.smoothScrollToCell(column, row);
+    }
+
+    @Override
+    public void smoothScrollToCell(int column, int row, boolean center) {
+        mScrollHandler.smoothScrollToCell(column, row, center);
+    }
+
     @NonNull
     public ScrollHandler getScrollHandler() {
         return mScrollHandler;
@@ -630,11 +898,45 @@ public class TableView extends FrameLayout implements ITableView {
 
     public void setSelectedCell(int column, int row) {
         // Find the cell view holder which is located on x,y (column,row) position.
-        AbstractViewHolder cellViewHolder = getCellLayoutManager().getCellViewHolder(column, row);
+        AbstractViewHolder cellViewHolder;
+        if (mGridLayoutEnabled && mTableAdapter != null) {
+            cellViewHolder = (AbstractViewHolder) mCellRecyclerView
+                    .findViewHolderForAdapterPosition(mTableAdapter
+                            .getCellGridRecyclerViewAdapter().getPosition(column, row));
+        } else {
+            cellViewHolder = getCellLayoutManager().getCellViewHolder(column, row);
+        }
 
         mSelectionHandler.setSelectedCellPositions(cellViewHolder, column, row);
     }
 
+    /**
+     * Returns the measured widths of the columns keyed by the ids of the column headers, which
+     * can be stored to restore the widths in a later session, or null if no width is known.
+     */
+    @Nullable
+    public ColumnWidthSnapshot getColumnWidthSnapshot() {
+        if (mTableAdapter == null) {
+            return null;
+        }
+        return ColumnWidthSnapshot.capture(mTableAdapter.getColumnHeaderRecyclerViewAdapter()
+                .getItems(), getColumnHeaderLayoutManager().getColumnWidthModel());
+    }
+
+    /**
+     * Restores the widths of the snapshot into the columns with the same ids, which are laid
+     * out at those widths without being measured first. If the column headers haven't been set
+     * yet, the widths are restored when they are.
+     */
+    public void restoreColumnWidths(@NonNull ColumnWidthSnapshot snapshot) {
+        getColumnHeaderLayoutManager().setRestoredWidths(snapshot);
+        if (mGridLayoutEnabled) {
+            mCellRecyclerView.requestLayout();
+        } else {
+            getCellLayoutManager().remeasureAllChild();
+        }
+    }
+
     @NonNull
     @Override
     public SelectionHandler getSelectionHandler() {
@@ -770,6 +1072,14 @@ public class TableView extends FrameLayout implements ITableView {
         mColumnHeaderRecyclerView.setLayoutParams(layoutParamsColumn);
         mColumnHeaderRecyclerView.requestLayout();
 
+        if (mFrozenColumnHeaderRecyclerView != null) {
+            // Update frozen column header left margin
+            LayoutParams layoutParamsFrozen = (LayoutParams) mFrozenColumnHeaderRecyclerView
+                    .getLayoutParams();
+            layoutParamsFrozen.leftMargin = rowHeaderWidth;
+            mFrozenColumnHeaderRecyclerView.setLayoutParams(layoutParamsFrozen);
+        }
+
         // Update Cells left margin
         LayoutParams layoutParamsCell = (LayoutParams) mCellRecyclerView.getLayoutParams();
         layoutParamsCell.leftMargin = rowHeaderWidth;
@@ -786,6 +1096,102 @@ public class TableView extends FrameLayout implements ITableView {
         mColumnWidthHandler.setColumnWidth(columnPosition, width);
     }
 
+    /**
+     * Declares the widths of the columns. While they are declared, the column headers and the
+     * cells are laid out with the declared widths and aren't measured to fit their contents.
+     *
+     * @param columnWidthSpecs The specs by column position, or null to measure the columns
+     *                         again.
+     */
+    public void setColumnWidthSpecs(@Nullable List<ColumnWidthSpec> columnWidthSpecs) {
+        mColumnWidthHandler.setColumnWidthSpecs(columnWidthSpecs);
+        requestLayout();
+    }
+
+    @NonNull
+    @Override
+    public ColumnWidthHandler getColumnWidthHandler() {
+        return mColumnWidthHandler;
+    }
+
+    /**
+     * Sizes the view pools for the given number of visible columns and rows, and creates their
+     * view holders while the main thread is idle, before the first layout if it is called
+     * after {@link #setAdapter(AbstractTableAdapter)}. Otherwise the pools are sized by the
+     * first layout.
+     */
+    public void setVisibleGridSize(int columnCount, int rowCount) {
+        mViewPoolHandler.setVisibleGridSize(columnCount, rowCount);
+    }
+
+    @NonNull
+    @Override
+    public ViewPoolHandler getViewPoolHandler() {
+        return mViewPoolHandler;
+    }
+
+    /**
+     * Shows a draggable thumb on the cells to jump through the rows.
+     *
+     * @see #getFastScroller()
+     */
+    public void setFastScrollEnabled(boolean fastScrollEnabled) {
+        if (fastScrollEnabled && mFastScroller == null) {
+            mFastScroller = new FastScroller(this);
+            mFastScroller.attach();
+        } else if (!fastScrollEnabled && mFastScroller != null) {
+            mFastScroller.detach();
+            mFastScroller = null;
+        }
+    }
+
+    /**
+     * Returns the fast scroller to set its section indexer and color, or null if fast scrolling
+     * isn't enabled.
+     */
+    @Nullable
+    public FastScroller getFastScroller() {
+        return mFastScroller;
+    }
+
+    @NonNull
+    @Override
+    public PrefetchPolicy getPrefetchPolicy() {
+        return mPrefetchPolicy;
+    }
+
+    @NonNull
+    @Override
+    public TableViewMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mColumnWidthHandler.hasColumnWidthSpecs()) {
+            // The declared widths must be known before the children are measured.
+            int columnCount = mTableAdapter != null ? mTableAdapter
+                    .getColumnHeaderRecyclerViewAdapter().getItemCount() : 0;
+            int availableWidth = MeasureSpec.getSize(widthMeasureSpec) - getRowHeaderWidth();
+
+            int version = getColumnHeaderLayoutManager().getColumnWidthModel().getVersion();
+            mColumnWidthHandler.resolveColumnWidthSpecs(columnCount, Math.max(availableWidth, 0));
+
+            if (getColumnHeaderLayoutManager().getColumnWidthModel().getVersion() != version) {
+                // The widths have changed, so the rows are laid out again with them.
+                mColumnHeaderRecyclerView.forceLayout();
+                if (mFrozenColumnHeaderRecyclerView != null) {
+                    mFrozenColumnHeaderRecyclerView.forceLayout();
+                }
+                mCellRecyclerView.forceLayout();
+                for (int i = 0; i < mCellRecyclerView.getChildCount(); i++) {
+                    mCellRecyclerView.getChildAt(i).forceLayout();
+                }
+            }
+        }
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
     @Nullable
     @Override
     protected Parcelable onSaveInstanceState() {
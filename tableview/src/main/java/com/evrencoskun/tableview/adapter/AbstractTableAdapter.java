@@ -25,13 +25,27 @@ import android.widget.FrameLayout;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.recyclerview.CellGridRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.ColumnHeaderRecyclerViewAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.FrozenColumnHeaderRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.RowHeaderRecyclerViewAdapter;
+import com.evrencoskun.tableview.dictionary.ValueDictionary;
+import com.evrencoskun.tableview.handler.ColumnSortHandler;
+import com.evrencoskun.tableview.handler.ColumnWidthPreMeasureHandler;
+import com.evrencoskun.tableview.handler.FilterHandler;
+import com.evrencoskun.tableview.handler.StreamingHandler;
+import com.evrencoskun.tableview.layoutmanager.CellLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
+import com.evrencoskun.tableview.sort.ISortableModel;
+import com.evrencoskun.tableview.util.TableViewExecutors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -46,6 +60,10 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
     private ColumnHeaderRecyclerViewAdapter<CH> mColumnHeaderRecyclerViewAdapter;
     private RowHeaderRecyclerViewAdapter<RH> mRowHeaderRecyclerViewAdapter;
     private CellRecyclerViewAdapter mCellRecyclerViewAdapter;
+    @Nullable
+    private CellGridRecyclerViewAdapter<C> mCellGridRecyclerViewAdapter;
+    @Nullable
+    private FrozenColumnHeaderRecyclerViewAdapter<CH> mFrozenColumnHeaderRecyclerViewAdapter;
     private View mCornerView;
 
     protected List<CH> mColumnHeaderItems;
@@ -54,6 +72,25 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
 
     private ITableView mTableView;
     private List<AdapterDataSetChangedListener<CH, RH, C>> dataSetChangedListeners;
+    @Nullable
+    private StreamingHandler<RH, C> mStreamingHandler;
+    @Nullable
+    private ValueDictionary mValueDictionary;
+    @Nullable
+    private ColumnWidthPreMeasureHandler mColumnWidthPreMeasureHandler;
+    // Lets an update drop its result if a newer one has been requested in the meantime.
+    private int mUpdateGeneration;
+
+    // Whether the items have been given by wrapAllItems, which mustn't be copied.
+    private boolean mItemsWrapped;
+
+    private boolean mStableIdsEnabled;
+    // The rows and the columns have their own tables, so a row which is removed never takes
+    // the id of a column with the same id along.
+    @NonNull
+    private final StableIdTable mStableIdTable = new StableIdTable();
+    @NonNull
+    private final StableIdTable mColumnStableIdTable = new StableIdTable();
 
     public void setTableView(@NonNull ITableView tableView) {
         mTableView = tableView;
@@ -73,6 +110,50 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
 
         // Create Cell RecyclerView Adapter
         mCellRecyclerViewAdapter = new CellRecyclerViewAdapter<>(context, mCellItems, mTableView);
+
+        if (mStableIdsEnabled) {
+            mColumnHeaderRecyclerViewAdapter.setHasStableIds(true);
+            mRowHeaderRecyclerViewAdapter.setHasStableIds(true);
+            mCellRecyclerViewAdapter.setHasStableIds(true);
+        }
+    }
+
+    /**
+     * Gives the rows, the columns and the cells stable ids, which lets the views be kept while
+     * the items are sorted, filtered or changed. The ids are the ids of the row header and the
+     * column header items, which should implement
+     * {@link com.evrencoskun.tableview.sort.ISortableModel}, otherwise they have no id. A cell
+     * uses the id of its column header, and a cell of the grid layout the ids of its row and
+     * its column. It has to be called before the adapter is set to the TableView.
+     */
+    public void setStableIdsEnabled(boolean stableIdsEnabled) {
+        if (mTableView != null) {
+            throw new IllegalStateException("Stable ids must be enabled before the adapter is " +
+                    "set to the TableView.");
+        }
+        mStableIdsEnabled = stableIdsEnabled;
+    }
+
+    public boolean isStableIdsEnabled() {
+        return mStableIdsEnabled;
+    }
+
+    /**
+     * Returns the table which maps the ids of the row header items to the stable ids of the
+     * rows.
+     */
+    @NonNull
+    public StableIdTable getStableIdTable() {
+        return mStableIdTable;
+    }
+
+    /**
+     * Returns the table which maps the ids of the column header items to the stable ids of the
+     * columns.
+     */
+    @NonNull
+    public StableIdTable getColumnStableIdTable() {
+        return mColumnStableIdTable;
     }
 
     public void setColumnHeaderItems(@Nullable List<CH> columnHeaderItems) {
@@ -81,9 +162,13 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
         }
 
         mColumnHeaderItems = columnHeaderItems;
+        if (mStableIdsEnabled) {
+            mColumnStableIdTable.retainAll(columnHeaderItems);
+        }
         // Invalidate the cached widths for letting the view measure the cells width
         // from scratch.
         mTableView.getColumnHeaderLayoutManager().clearCachedWidths();
+        mTableView.getColumnHeaderLayoutManager().restoreWidths(mColumnHeaderItems);
         // Set the items to the adapter
         mColumnHeaderRecyclerViewAdapter.setItems(mColumnHeaderItems);
         dispatchColumnHeaderDataSetChangesToListeners(columnHeaderItems);
@@ -95,24 +180,39 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
         }
 
         mRowHeaderItems = rowHeaderItems;
+        mItemsWrapped = false;
+        if (mStableIdsEnabled) {
+            mStableIdTable.retainAll(rowHeaderItems);
+        }
 
         // Set the items to the adapter
         mRowHeaderRecyclerViewAdapter.setItems(mRowHeaderItems);
         dispatchRowHeaderDataSetChangesToListeners(mRowHeaderItems);
     }
 
+    /**
+     * Sets the rows of the cells. The outer list is copied, but the row lists are not: the
+     * adapters of the visible rows hold them by reference. A row list must therefore only be
+     * changed through the methods of this adapter, such as {@link #changeCellItem} or
+     * {@link #addColumn}, otherwise the visible cells don't match the list any more.
+     */
     public void setCellItems(@Nullable List<List<C>> cellItems) {
         if (cellItems == null) {
             return;
         }
 
         mCellItems = cellItems;
+        mItemsWrapped = false;
         // Invalidate the cached widths for letting the view measure the cells width
         // from scratch.
         mTableView.getCellLayoutManager().clearCachedWidths();
         // Set the items to the adapter
         mCellRecyclerViewAdapter.setItems(mCellItems);
         dispatchCellDataSetChangesToListeners(mCellItems);
+
+        if (mColumnWidthPreMeasureHandler != null) {
+            mColumnWidthPreMeasureHandler.preMeasure(mColumnHeaderItems, mCellItems);
+        }
     }
 
     public void setAllItems(@Nullable List<CH> columnHeaderItems, @Nullable List<RH> rowHeaderItems, @Nullable List<List<C>>
@@ -122,6 +222,50 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
         setRowHeaderItems(rowHeaderItems);
         setCellItems(cellItems);
 
+        updateCornerView(columnHeaderItems, rowHeaderItems, cellItems);
+    }
+
+    /**
+     * Replaces all items like {@link #setAllItems} does, but keeps the given lists instead of
+     * copying them, so lazily loaded lists such as the ones of
+     * {@link com.evrencoskun.tableview.binary.BinaryTableReader} are never materialized. The
+     * lists must not be modified afterwards. The data set listeners are notified and keep the
+     * lists as they are, and the rows are sorted and filtered by their indices.
+     */
+    public void wrapAllItems(@NonNull List<CH> columnHeaderItems, @NonNull List<RH>
+            rowHeaderItems, @NonNull List<List<C>> cellItems) {
+        mColumnHeaderItems = columnHeaderItems;
+        mRowHeaderItems = rowHeaderItems;
+        mCellItems = cellItems;
+        mItemsWrapped = true;
+
+        // Invalidate the cached widths for letting the view measure the cells width
+        // from scratch.
+        mTableView.getColumnHeaderLayoutManager().clearCachedWidths();
+        mTableView.getColumnHeaderLayoutManager().restoreWidths(mColumnHeaderItems);
+        mTableView.getCellLayoutManager().clearCachedWidths();
+
+        mColumnHeaderRecyclerViewAdapter.wrapItems(mColumnHeaderItems, true);
+        mRowHeaderRecyclerViewAdapter.wrapItems(mRowHeaderItems, true);
+        mCellRecyclerViewAdapter.wrapItems(mCellItems, true);
+
+        dispatchColumnHeaderDataSetChangesToListeners(mColumnHeaderItems);
+        dispatchRowHeaderDataSetChangesToListeners(mRowHeaderItems);
+        dispatchCellDataSetChangesToListeners(mCellItems);
+
+        updateCornerView(columnHeaderItems, rowHeaderItems, cellItems);
+    }
+
+    /**
+     * Returns whether the rows have been given by {@link #wrapAllItems}. Such rows are read
+     * only and may be loaded lazily, so they are referenced instead of being copied.
+     */
+    public boolean isItemsWrapped() {
+        return mItemsWrapped;
+    }
+
+    private void updateCornerView(@Nullable List<CH> columnHeaderItems, @Nullable List<RH>
+            rowHeaderItems, @Nullable List<List<C>> cellItems) {
         // Control corner view
         if ((columnHeaderItems != null && !columnHeaderItems.isEmpty()) && (rowHeaderItems !=
                 null && !rowHeaderItems.isEmpty()) && (cellItems != null && !cellItems.isEmpty())
@@ -142,6 +286,173 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
         }
     }
 
+    /**
+     * Replaces all items like {@link #setAllItems} does, but finds the differences between the
+     * current and the new items on a background thread and dispatches only the inserted,
+     * removed, moved and changed rows. The rows are identified by the ids of the row headers,
+     * or by the ids of their first cells, which should implement
+     * {@link com.evrencoskun.tableview.sort.ISortableModel}. Otherwise, it falls back to
+     * {@link #setAllItems}. The cached widths of the unchanged columns are kept.
+     */
+    @SuppressWarnings("unchecked")
+    public void updateAllItems(@Nullable final List<CH> columnHeaderItems, @Nullable final
+    List<RH> rowHeaderItems, @Nullable final List<List<C>> cellItems) {
+        final int generation = ++mUpdateGeneration;
+
+        if (columnHeaderItems == null || rowHeaderItems == null || cellItems == null ||
+                mStreamingHandler != null) {
+            setAllItems(columnHeaderItems, rowHeaderItems, cellItems);
+            return;
+        }
+
+        // Take a snapshot, the adapters may change while the differences are being calculated.
+        final List<CH> oldColumnHeaderItems = new ArrayList<>(mColumnHeaderRecyclerViewAdapter
+                .getItems());
+        final List<RH> oldRowHeaderItems = new ArrayList<>(mRowHeaderRecyclerViewAdapter
+                .getItems());
+        final List<List<C>> oldCellItems = new ArrayList<>((List<List<C>>)
+                mCellRecyclerViewAdapter.getItems());
+        final int[] structureVersions = getStructureVersions();
+
+        TableViewExecutors.background().execute(() -> {
+            if (!RowDiffCallback.isIdentifiable(oldRowHeaderItems, oldCellItems) ||
+                    !RowDiffCallback.isIdentifiable(rowHeaderItems, cellItems)) {
+                TableViewExecutors.main().post(() -> {
+                    if (generation == mUpdateGeneration) {
+                        setAllItems(columnHeaderItems, rowHeaderItems, cellItems);
+                    }
+                });
+                return;
+            }
+
+            RowDiffCallback<RH, C> callback = new RowDiffCallback<>(oldRowHeaderItems,
+                    oldCellItems, rowHeaderItems, cellItems);
+            final DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(callback);
+            final BitSet changedColumns = callback.getChangedColumns();
+
+            // A column whose header has changed needs to be measured again as well.
+            final boolean sameColumnCount = oldColumnHeaderItems.size() == columnHeaderItems
+                    .size();
+            final BitSet changedColumnHeaders = new BitSet();
+            if (sameColumnCount) {
+                for (int i = 0; i < columnHeaderItems.size(); i++) {
+                    if (!RowDiffCallback.isSameContent(oldColumnHeaderItems.get(i),
+                            columnHeaderItems.get(i))) {
+                        changedColumnHeaders.set(i);
+                    }
+                }
+            }
+
+            TableViewExecutors.main().post(() -> {
+                if (generation != mUpdateGeneration) {
+                    return;
+                }
+                if (!Arrays.equals(structureVersions, getStructureVersions())) {
+                    // Rows have been set, added, removed, sorted or filtered since the snapshot,
+                    // so the differences can't be dispatched to the current items.
+                    setAllItems(columnHeaderItems, rowHeaderItems, cellItems);
+                } else {
+                    applyUpdate(columnHeaderItems, rowHeaderItems, cellItems, diffResult,
+                            changedColumns, sameColumnCount, changedColumnHeaders);
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns the numbers which change whenever the items of the adapters are set, inserted or
+     * removed, whether by this adapter or by the sort, filter and pagination handlers.
+     */
+    @NonNull
+    private int[] getStructureVersions() {
+        return new int[]{mColumnHeaderRecyclerViewAdapter.getStructureVersion(),
+                mRowHeaderRecyclerViewAdapter.getStructureVersion(), mCellRecyclerViewAdapter
+                .getStructureVersion()};
+    }
+
+    private void applyUpdate(@NonNull List<CH> columnHeaderItems, @NonNull List<RH>
+            rowHeaderItems, @NonNull List<List<C>> cellItems, @NonNull DiffUtil.DiffResult
+            diffResult, @NonNull BitSet changedColumns, boolean sameColumnCount, @NonNull BitSet
+            changedColumnHeaders) {
+
+        if (sameColumnCount) {
+            mColumnHeaderItems = columnHeaderItems;
+            if (mStableIdsEnabled) {
+                mColumnStableIdTable.retainAll(columnHeaderItems);
+            }
+            mColumnHeaderRecyclerViewAdapter.setItems(mColumnHeaderItems, false);
+            for (int i = changedColumnHeaders.nextSetBit(0); i >= 0; i = changedColumnHeaders
+                    .nextSetBit(i + 1)) {
+                mColumnHeaderRecyclerViewAdapter.notifyItemChanged(i);
+            }
+            changedColumns.or(changedColumnHeaders);
+            retainCachedWidths(diffResult, changedColumns, columnHeaderItems.size(), cellItems
+                    .size());
+            dispatchColumnHeaderDataSetChangesToListeners(columnHeaderItems);
+        } else {
+            // Columns have been added or removed, so none of the cached widths can be trusted.
+            setColumnHeaderItems(columnHeaderItems);
+            mTableView.getCellLayoutManager().clearCachedWidths();
+        }
+
+        mRowHeaderItems = rowHeaderItems;
+        mCellItems = cellItems;
+        mItemsWrapped = false;
+        if (mStableIdsEnabled) {
+            mStableIdTable.retainAll(rowHeaderItems);
+        }
+
+        // Set new items without notifying, the differences are dispatched below.
+        mRowHeaderRecyclerViewAdapter.setItems(mRowHeaderItems, false);
+        mCellRecyclerViewAdapter.setItems(mCellItems, false);
+
+        diffResult.dispatchUpdatesTo(mRowHeaderRecyclerViewAdapter);
+        diffResult.dispatchUpdatesTo(mCellRecyclerViewAdapter);
+
+        dispatchRowHeaderDataSetChangesToListeners(mRowHeaderItems);
+        dispatchCellDataSetChangesToListeners(mCellItems);
+    }
+
+    /**
+     * Keeps the cached widths of the unchanged columns for the rows which exist in both the old
+     * and the new items. Inserted rows and changed columns are measured from scratch.
+     */
+    private void retainCachedWidths(@NonNull DiffUtil.DiffResult diffResult, @NonNull BitSet
+            changedColumns, int columnCount, int rowCount) {
+        ColumnHeaderLayoutManager columnHeaderLayoutManager = mTableView
+                .getColumnHeaderLayoutManager();
+        CellLayoutManager cellLayoutManager = mTableView.getCellLayoutManager();
+
+        int[] widths = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            if (changedColumns.get(i)) {
+                widths[i] = -1;
+                columnHeaderLayoutManager.removeCachedWidth(i);
+            } else {
+                widths[i] = columnHeaderLayoutManager.getCacheWidth(i);
+            }
+        }
+
+        // The cached widths of the cells are stored by row positions which may have moved.
+        cellLayoutManager.clearCachedWidths();
+        if (!cellLayoutManager.isCellWidthsEnabled()) {
+            // The cells take the widths of their columns.
+            return;
+        }
+
+        for (int row = 0; row < rowCount; row++) {
+            if (diffResult.convertNewPositionToOld(row) == DiffUtil.DiffResult.NO_POSITION) {
+                continue;
+            }
+
+            for (int column = 0; column < columnCount; column++) {
+                if (widths[column] != -1) {
+                    cellLayoutManager.setCacheWidth(row, column, widths[column]);
+                }
+            }
+        }
+    }
+
     @Nullable
     public View getCornerView() {
         return mCornerView;
@@ -159,6 +470,33 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
         return mCellRecyclerViewAdapter;
     }
 
+    /**
+     * Returns the adapter which is used by the cell RecyclerView when the grid layout is
+     * enabled. It shows the items of the {@link #getCellRecyclerViewAdapter()}.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public CellGridRecyclerViewAdapter<C> getCellGridRecyclerViewAdapter() {
+        if (mCellGridRecyclerViewAdapter == null) {
+            mCellGridRecyclerViewAdapter = new CellGridRecyclerViewAdapter<>(mTableView, this,
+                    mCellRecyclerViewAdapter, mColumnHeaderRecyclerViewAdapter);
+        }
+        return mCellGridRecyclerViewAdapter;
+    }
+
+    /**
+     * Returns the adapter of the frozen column headers, which shows the first items of the
+     * {@link #getColumnHeaderRecyclerViewAdapter()}.
+     */
+    @NonNull
+    public FrozenColumnHeaderRecyclerViewAdapter<CH> getFrozenColumnHeaderRecyclerViewAdapter() {
+        if (mFrozenColumnHeaderRecyclerViewAdapter == null) {
+            mFrozenColumnHeaderRecyclerViewAdapter = new FrozenColumnHeaderRecyclerViewAdapter<>
+                    (mTableView.getContext(), this, mColumnHeaderRecyclerViewAdapter);
+        }
+        return mFrozenColumnHeaderRecyclerViewAdapter;
+    }
+
     public void setRowHeaderWidth(int rowHeaderWidth) {
         this.mRowHeaderWidth = rowHeaderWidth;
 
@@ -207,11 +545,15 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
     }
 
     public void removeRow(int rowPosition) {
+        removeStableIds(rowPosition, 1);
         mCellRecyclerViewAdapter.deleteItem(rowPosition);
         mRowHeaderRecyclerViewAdapter.deleteItem(rowPosition);
     }
 
     public void removeRows(List<Integer> rowPositions) {
+        for (int i = 0; i < rowPositions.size(); i++) {
+            removeStableIds(rowPositions.get(i), 1);
+        }
         mCellRecyclerViewAdapter.deleteItems(rowPositions);
         mRowHeaderRecyclerViewAdapter.deleteItems(rowPositions);
     }
@@ -228,11 +570,13 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
             mCellRecyclerViewAdapter.notifyDataSetChanged();
         }
 
+        removeStableIds(rowPosition, 1);
         mRowHeaderRecyclerViewAdapter.deleteItem(rowPosition);
 
     }
 
     public void removeRowRange(int rowPositionStart, int itemCount) {
+        removeStableIds(rowPositionStart, itemCount);
         mCellRecyclerViewAdapter.deleteItemRange(rowPositionStart, itemCount);
         mRowHeaderRecyclerViewAdapter.deleteItemRange(rowPositionStart, itemCount);
     }
@@ -249,19 +593,165 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
             mCellRecyclerViewAdapter.notifyDataSetChanged();
         }
 
+        removeStableIds(rowPositionStart, itemCount);
         mRowHeaderRecyclerViewAdapter.deleteItemRange(rowPositionStart, itemCount);
     }
 
     public void addRow(int rowPosition, @Nullable RH rowHeaderItem, @Nullable List<C> cellItems) {
+        if (mStreamingHandler != null) {
+            // The ring buffers are full once the capacity is reached, the oldest row makes room.
+            mStreamingHandler.insert(rowPosition, rowHeaderItem, cellItems);
+            return;
+        }
+
         mCellRecyclerViewAdapter.addItem(rowPosition, cellItems);
         mRowHeaderRecyclerViewAdapter.addItem(rowPosition, rowHeaderItem);
     }
 
     public void addRowRange(int rowPositionStart, @Nullable List<RH> rowHeaderItem, @Nullable List<List<C>> cellItems) {
+        if (mStreamingHandler != null && rowHeaderItem != null && cellItems != null) {
+            int position = rowPositionStart;
+            for (int i = 0; i < cellItems.size(); i++) {
+                position = mStreamingHandler.insert(position, i < rowHeaderItem.size() ?
+                        rowHeaderItem.get(i) : null, cellItems.get(i)) + 1;
+            }
+            return;
+        }
+
         mRowHeaderRecyclerViewAdapter.addItemRange(rowPositionStart, rowHeaderItem);
         mCellRecyclerViewAdapter.addItemRange(rowPositionStart, cellItems);
     }
 
+    /**
+     * Adds the rows to the end of the table like {@link #addRowRange} does, and lets the data
+     * set listeners, such as the filter and the pagination, add them to their data as well.
+     * While the table is filtered or sorted, only the rows which match the filter are shown,
+     * each one at its sorted position.
+     */
+    @SuppressWarnings("unchecked")
+    public void appendRows(@NonNull List<RH> rowHeaderItems, @NonNull List<List<C>> cellItems) {
+        FilterHandler filterHandler = mTableView != null ? mTableView.getFilterHandler() : null;
+        ColumnSortHandler sortHandler = mTableView != null ? mTableView.getColumnSortHandler()
+                : null;
+        boolean filtered = filterHandler != null && filterHandler.isFiltered();
+        boolean sorted = sortHandler != null && sortHandler.isSorting();
+
+        if (!filtered && !sorted) {
+            addRowRange(mCellRecyclerViewAdapter.getItemCount(), rowHeaderItems, cellItems);
+        } else {
+            int[] rows = filtered ? filterHandler.getMatchingRows((List) cellItems) : null;
+            int count = rows != null ? rows.length : cellItems.size();
+            for (int i = 0; i < count; i++) {
+                int row = rows != null ? rows[i] : i;
+                RH rowHeaderItem = row < rowHeaderItems.size() ? rowHeaderItems.get(row) : null;
+                List<C> cellItem = cellItems.get(row);
+
+                int position = sorted ? sortHandler.getSortedPosition((List)
+                        mRowHeaderRecyclerViewAdapter.getItems(), (List) mCellRecyclerViewAdapter
+                        .getItems(), (ISortableModel) rowHeaderItem, (List) cellItem) :
+                        mCellRecyclerViewAdapter.getItemCount();
+                addRow(position, rowHeaderItem, cellItem);
+            }
+        }
+        dispatchRowsAppendedToListeners(rowHeaderItems, cellItems);
+    }
+
+    /**
+     * Switches the table to the streaming mode. Rows are appended using {@link #appendRow} and
+     * the oldest rows are removed when the given capacity is reached.
+     *
+     * @param capacity The maximum number of rows that the table keeps.
+     */
+    @SuppressWarnings("unchecked")
+    public void enableStreaming(int capacity) {
+        if (mTableView == null) {
+            throw new IllegalStateException("The adapter must be set to a TableView before " +
+                    "enabling the streaming mode");
+        }
+
+        if (mStreamingHandler != null) {
+            mStreamingHandler.detach();
+        }
+
+        mStreamingHandler = new StreamingHandler<>(mTableView, mRowHeaderRecyclerViewAdapter,
+                (CellRecyclerViewAdapter<List<C>>) mCellRecyclerViewAdapter, capacity);
+        mRowHeaderItems = mStreamingHandler.getRowHeaderItems();
+        mCellItems = mStreamingHandler.getCellItems();
+    }
+
+    /**
+     * Leaves the streaming mode. The rows which are displayed stay in the table.
+     */
+    public void disableStreaming() {
+        if (mStreamingHandler == null) {
+            return;
+        }
+
+        mStreamingHandler.detach();
+
+        // Let the adapters own growable lists again.
+        mRowHeaderItems = new ArrayList<>(mStreamingHandler.getRowHeaderItems());
+        mCellItems = new ArrayList<>(mStreamingHandler.getCellItems());
+        mRowHeaderRecyclerViewAdapter.setItems(mRowHeaderItems, false);
+        mCellRecyclerViewAdapter.setItems(mCellItems, false);
+
+        mStreamingHandler = null;
+    }
+
+    public boolean isStreaming() {
+        return mStreamingHandler != null;
+    }
+
+    @Nullable
+    public StreamingHandler<RH, C> getStreamingHandler() {
+        return mStreamingHandler;
+    }
+
+    /**
+     * Sets the dictionary which encodes the contents of the cells. When it is set, the columns
+     * whose cells implement {@link com.evrencoskun.tableview.dictionary.IDictionaryEncodedModel}
+     * are sorted and filtered by their codes.
+     */
+    public void setValueDictionary(@Nullable ValueDictionary valueDictionary) {
+        this.mValueDictionary = valueDictionary;
+    }
+
+    @Nullable
+    public ValueDictionary getValueDictionary() {
+        return mValueDictionary;
+    }
+
+    /**
+     * Sets the handler which estimates the column widths on a background thread whenever the
+     * cell items are set.
+     */
+    public void setColumnWidthPreMeasureHandler(@Nullable ColumnWidthPreMeasureHandler
+            columnWidthPreMeasureHandler) {
+        if (mColumnWidthPreMeasureHandler != null) {
+            mColumnWidthPreMeasureHandler.cancel();
+        }
+        this.mColumnWidthPreMeasureHandler = columnWidthPreMeasureHandler;
+    }
+
+    @Nullable
+    public ColumnWidthPreMeasureHandler getColumnWidthPreMeasureHandler() {
+        return mColumnWidthPreMeasureHandler;
+    }
+
+    /**
+     * Appends a row to the end of the table in the streaming mode. The rows appended during a
+     * frame are dispatched together. It is safe to call it from any thread.
+     *
+     * @see #enableStreaming(int)
+     */
+    public void appendRow(@Nullable RH rowHeaderItem, @Nullable List<C> cellItems) {
+        if (mStreamingHandler == null) {
+            throw new IllegalStateException("The streaming mode is not enabled");
+        }
+
+        mStreamingHandler.append(rowHeaderItem, cellItems);
+    }
+
     public void changeRowHeaderItem(int rowPosition, @Nullable RH rowHeaderModel) {
         mRowHeaderRecyclerViewAdapter.changeItem(rowPosition, rowHeaderModel);
     }
@@ -295,11 +785,20 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
     }
 
     public void removeColumn(int columnPosition) {
+        if (mStableIdsEnabled) {
+            mColumnStableIdTable.remove(mColumnHeaderRecyclerViewAdapter.getItem(columnPosition));
+        }
         mColumnHeaderRecyclerViewAdapter.deleteItem(columnPosition);
         mCellRecyclerViewAdapter.removeColumnItems(columnPosition);
     }
 
     public void removeColumns(List<Integer> columnsPositions) {
+        if (mStableIdsEnabled) {
+            for (int i = 0; i < columnsPositions.size(); i++) {
+                mColumnStableIdTable.remove(mColumnHeaderRecyclerViewAdapter.getItem
+                        (columnsPositions.get(i)));
+            }
+        }
         Log.e("ColumnHeaderRecycler", "removing columns...");
         mColumnHeaderRecyclerViewAdapter.deleteItems(columnsPositions);
         Log.e("mCellRecycler", "removing columns...");
@@ -314,6 +813,19 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
     }
 
 
+    /**
+     * Forgets the stable ids of the rows which are about to be removed.
+     */
+    private void removeStableIds(int rowPositionStart, int itemCount) {
+        if (!mStableIdsEnabled) {
+            return;
+        }
+
+        for (int i = rowPositionStart; i < rowPositionStart + itemCount; i++) {
+            mStableIdTable.remove(mRowHeaderRecyclerViewAdapter.getItem(i));
+        }
+    }
+
     public final void notifyDataSetChanged() {
         mColumnHeaderRecyclerViewAdapter.notifyDataSetChanged();
         mRowHeaderRecyclerViewAdapter.notifyDataSetChanged();
@@ -349,6 +861,15 @@ public abstract class AbstractTableAdapter<CH, RH, C> implements ITableAdapter<C
         }
     }
 
+    private void dispatchRowsAppendedToListeners(@NonNull List<RH> rowHeaderItems, @NonNull
+            List<List<C>> cellItems) {
+        if (dataSetChangedListeners != null) {
+            for (AdapterDataSetChangedListener<CH, RH, C> listener : dataSetChangedListeners) {
+                listener.onRowsAppended(rowHeaderItems, cellItems);
+            }
+        }
+    }
+
     /**
      * Sets the listener for changes of data set on the TableView.
      *
@@ -47,6 +47,16 @@ public abstract class AdapterDataSetChangedListener<CH, RH, C> {
     public void onCellItemsChanged(@NonNull List<List<C>> cellItems) {
     }
 
+    /**
+     * Dispatches the rows which have been appended to the end of the items.
+     *
+     * @param rowHeaderItems The appended row header items.
+     * @param cellItems      The appended cell items.
+     */
+    public void onRowsAppended(@NonNull List<RH> rowHeaderItems, @NonNull List<List<C>>
+            cellItems) {
+    }
+
     /**
      * Dispatches the changes on column header, row header and cell items.
      *
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.evrencoskun.tableview.sort.ISortableModel;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Finds the differences between two data sets of the TableView row by row. A row is identified
+ * by the id of its row header, or by the id of its first cell if the row header is not an
+ * {@link ISortableModel}. While comparing the contents, it also collects the columns which have
+ * at least one changed cell.
+ */
+public class RowDiffCallback<RH, C> extends DiffUtil.Callback {
+    @NonNull
+    private final List<RH> mOldRowHeaderItems;
+    @NonNull
+    private final List<List<C>> mOldCellItems;
+    @NonNull
+    private final List<RH> mNewRowHeaderItems;
+    @NonNull
+    private final List<List<C>> mNewCellItems;
+    @NonNull
+    private final BitSet mChangedColumns = new BitSet();
+
+    public RowDiffCallback(@NonNull List<RH> oldRowHeaderItems, @NonNull List<List<C>>
+            oldCellItems, @NonNull List<RH> newRowHeaderItems, @NonNull List<List<C>>
+            newCellItems) {
+        this.mOldRowHeaderItems = oldRowHeaderItems;
+        this.mOldCellItems = oldCellItems;
+        this.mNewRowHeaderItems = newRowHeaderItems;
+        this.mNewCellItems = newCellItems;
+    }
+
+    /**
+     * Returns whether the rows of the given data set can be identified.
+     */
+    public static boolean isIdentifiable(@NonNull List<?> rowHeaderItems, @NonNull List<? extends
+            List<?>> cellItems) {
+        for (int i = 0; i < cellItems.size(); i++) {
+            if (getRowId(rowHeaderItems, cellItems, i) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return mOldCellItems.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+        return mNewCellItems.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        String oldId = getRowId(mOldRowHeaderItems, mOldCellItems, oldItemPosition);
+        String newId = getRowId(mNewRowHeaderItems, mNewCellItems, newItemPosition);
+        return oldId != null && oldId.equals(newId);
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        boolean same = isSameContent(getItem(mOldRowHeaderItems, oldItemPosition), getItem
+                (mNewRowHeaderItems, newItemPosition));
+
+        List<C> oldRow = mOldCellItems.get(oldItemPosition);
+        List<C> newRow = mNewCellItems.get(newItemPosition);
+        int oldSize = oldRow != null ? oldRow.size() : 0;
+        int newSize = newRow != null ? newRow.size() : 0;
+
+        for (int i = 0; i < Math.max(oldSize, newSize); i++) {
+            if (i >= oldSize || i >= newSize || !isSameContent(oldRow.get(i), newRow.get(i))) {
+                mChangedColumns.set(i);
+                same = false;
+            }
+        }
+        return same;
+    }
+
+    /**
+     * Returns the columns which have at least one changed cell. It is complete after the diff
+     * has been calculated.
+     */
+    @NonNull
+    public BitSet getChangedColumns() {
+        return mChangedColumns;
+    }
+
+    @Nullable
+    private static String getRowId(@NonNull List<?> rowHeaderItems, @NonNull List<? extends
+            List<?>> cellItems, int position) {
+        Object rowHeader = getItem(rowHeaderItems, position);
+        if (rowHeader instanceof ISortableModel) {
+            return ((ISortableModel) rowHeader).getId();
+        }
+
+        List<?> row = cellItems.get(position);
+        if (row != null && !row.isEmpty() && row.get(0) instanceof ISortableModel) {
+            return ((ISortableModel) row.get(0)).getId();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static <T> T getItem(@NonNull List<T> items, int position) {
+        return position < items.size() ? items.get(position) : null;
+    }
+
+    static boolean isSameContent(@Nullable Object oldItem, @Nullable Object newItem) {
+        if (oldItem instanceof ISortableModel && newItem instanceof ISortableModel) {
+            return ObjectsCompat.equals(((ISortableModel) oldItem).getContent(), (
+                    (ISortableModel) newItem).getContent());
+        }
+        return ObjectsCompat.equals(oldItem, newItem);
+    }
+}
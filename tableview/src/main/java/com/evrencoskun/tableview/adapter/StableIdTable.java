@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.sort.ISortableModel;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Maps the string ids of {@link ISortableModel} items to the long ids which RecyclerView uses
+ * for stable ids. Each distinct string is given the next id once and keeps it, so two strings
+ * never share an id, which a hash of the strings couldn't promise.
+ * <p>
+ * The id of an item is forgotten once the item is removed from the table, which happens when
+ * its row is removed or leaves the ring buffer of a streamed table, or when the items are
+ * replaced by ones which don't contain it.
+ */
+public class StableIdTable {
+    @NonNull
+    private final HashMap<String, Long> mIds = new HashMap<>();
+    private long mNextId;
+
+    /**
+     * Returns the id of the given string id, and gives it one if it is new.
+     */
+    public long getId(@NonNull String id) {
+        Long stableId = mIds.get(id);
+        if (stableId == null) {
+            stableId = mNextId++;
+            mIds.put(id, stableId);
+        }
+        return stableId;
+    }
+
+    /**
+     * Returns the id of the item, or {@link RecyclerView#NO_ID} unless it is an
+     * {@link ISortableModel}.
+     */
+    public long getId(@Nullable Object item) {
+        if (!(item instanceof ISortableModel)) {
+            return RecyclerView.NO_ID;
+        }
+        return getId(((ISortableModel) item).getId());
+    }
+
+    /**
+     * Forgets the id of the item, which has been removed.
+     */
+    public void remove(@Nullable Object item) {
+        if (item instanceof ISortableModel) {
+            mIds.remove(((ISortableModel) item).getId());
+        }
+    }
+
+    /**
+     * Forgets the ids of the items which aren't in the given list. The others keep their ids.
+     */
+    public void retainAll(@NonNull List<?> items) {
+        HashMap<String, Long> ids = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            if (item instanceof ISortableModel) {
+                String id = ((ISortableModel) item).getId();
+                Long stableId = mIds.get(id);
+                if (stableId != null) {
+                    ids.put(id, stableId);
+                }
+            }
+        }
+        mIds.clear();
+        mIds.putAll(ids);
+    }
+
+    public int size() {
+        return mIds.size();
+    }
+
+    /**
+     * Forgets the ids. The items are given new ids, so it is only safe while no view is bound.
+     */
+    public void clear() {
+        mIds.clear();
+        mNextId = 0;
+    }
+}
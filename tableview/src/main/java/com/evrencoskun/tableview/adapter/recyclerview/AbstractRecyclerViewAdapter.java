@@ -44,6 +44,9 @@ public abstract class AbstractRecyclerViewAdapter<T> extends RecyclerView
     @NonNull
     protected Context mContext;
 
+    // It is increased whenever items are set, inserted or removed.
+    private int mStructureVersion;
+
     public AbstractRecyclerViewAdapter(@NonNull Context context) {
         this(context, null);
     }
@@ -68,13 +71,24 @@ public abstract class AbstractRecyclerViewAdapter<T> extends RecyclerView
         return mItemList;
     }
 
+    /**
+     * Returns a number which changes whenever the items are set, inserted or removed through
+     * the adapter, which lets a background result computed from the items be dropped once they
+     * have changed.
+     */
+    public int getStructureVersion() {
+        return mStructureVersion;
+    }
+
     public void setItems(@NonNull List<T> itemList) {
+        mStructureVersion++;
         mItemList = new ArrayList<>(itemList);
 
         this.notifyDataSetChanged();
     }
 
     public void setItems(@NonNull List<T> itemList, boolean notifyDataSet) {
+        mStructureVersion++;
         mItemList = new ArrayList<>(itemList);
 
         if (notifyDataSet) {
@@ -82,6 +96,19 @@ public abstract class AbstractRecyclerViewAdapter<T> extends RecyclerView
         }
     }
 
+    /**
+     * Uses the given list as the backing list of the adapter without copying it. Any later
+     * change made by the adapter is applied to the same list.
+     */
+    public void wrapItems(@NonNull List<T> itemList, boolean notifyDataSet) {
+        mStructureVersion++;
+        mItemList = itemList;
+
+        if (notifyDataSet) {
+            this.notifyDataSetChanged();
+        }
+    }
+
     @Nullable
     public T getItem(int position) {
         if (mItemList.isEmpty() || position < 0 || position >= mItemList.size()) {
@@ -93,11 +120,13 @@ public abstract class AbstractRecyclerViewAdapter<T> extends RecyclerView
     public void deleteItem(int position) {
         if (position != RecyclerView.NO_POSITION) {
             mItemList.remove(position);
+            mStructureVersion++;
             notifyItemRemoved(position);
         }
     }
 
     public void deleteItems(List<Integer> positions) {
+        mStructureVersion++;
         Log.e("AbstractRecycler", "deleting items...");
         Collections.sort(positions);
         Collections.reverse(positions);
@@ -116,6 +145,7 @@ public abstract class AbstractRecyclerViewAdapter<T> extends RecyclerView
     }
 
     public void deleteItemRange(int positionStart, int itemCount) {
+        mStructureVersion++;
         for (int i = positionStart + itemCount - 1; i >= positionStart; i--) {
             if (i != RecyclerView.NO_POSITION) {
                 mItemList.remove(i);
@@ -129,15 +159,15 @@ public abstract class AbstractRecyclerViewAdapter<T> extends RecyclerView
         Log.e("AbstractRecycler", "add item to position " + position);
         if (position != RecyclerView.NO_POSITION && item != null) {
             mItemList.add(position, item);
+            mStructureVersion++;
             notifyItemInserted(position);
         }
     }
 
     public void addItemRange(int positionStart, @Nullable List<T> items) {
         if (items != null) {
-            for (int i = 0; i < items.size(); i++) {
-                mItemList.add((i + positionStart), items.get(i));
-            }
+            mItemList.addAll(positionStart, items);
+            mStructureVersion++;
 
             notifyItemRangeInserted(positionStart, items.size());
         }
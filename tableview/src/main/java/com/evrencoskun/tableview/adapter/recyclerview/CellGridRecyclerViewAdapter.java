@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.adapter.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.adapter.ITableAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
+import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder.SelectionState;
+
+import java.util.List;
+
+/**
+ * Adapter of the cell RecyclerView when the grid layout is enabled. Instead of one nested
+ * RecyclerView per row, every cell is an item of this adapter, at the position
+ * {@code row * columnCount + column}. The items are still kept by the
+ * {@link CellRecyclerViewAdapter}, whose changes are forwarded to the cells of the rows.
+ *
+ * @see com.evrencoskun.tableview.layoutmanager.CellGridLayoutManager
+ */
+public class CellGridRecyclerViewAdapter<C> extends RecyclerView.Adapter<AbstractViewHolder> {
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final ITableAdapter mTableAdapter;
+    @NonNull
+    private final CellRecyclerViewAdapter<C> mCellRecyclerViewAdapter;
+    @NonNull
+    private final ColumnHeaderRecyclerViewAdapter mColumnHeaderRecyclerViewAdapter;
+
+    public CellGridRecyclerViewAdapter(@NonNull ITableView tableView, @NonNull ITableAdapter
+            tableAdapter, @NonNull CellRecyclerViewAdapter<C> cellRecyclerViewAdapter, @NonNull
+            ColumnHeaderRecyclerViewAdapter columnHeaderRecyclerViewAdapter) {
+        this.mTableView = tableView;
+        this.mTableAdapter = tableAdapter;
+        this.mCellRecyclerViewAdapter = cellRecyclerViewAdapter;
+        this.mColumnHeaderRecyclerViewAdapter = columnHeaderRecyclerViewAdapter;
+
+        mCellRecyclerViewAdapter.registerAdapterDataObserver(new RowDataObserver());
+        mColumnHeaderRecyclerViewAdapter.registerAdapterDataObserver(new ColumnDataObserver());
+
+        if (tableAdapter instanceof AbstractTableAdapter && ((AbstractTableAdapter) tableAdapter)
+                .isStableIdsEnabled()) {
+            setHasStableIds(true);
+        }
+    }
+
+    public int getColumnCount() {
+        return mColumnHeaderRecyclerViewAdapter.getItemCount();
+    }
+
+    public int getRowCount() {
+        return mCellRecyclerViewAdapter.getItemCount();
+    }
+
+    public int getColumnPosition(int position) {
+        return position % getColumnCount();
+    }
+
+    public int getRowPosition(int position) {
+        return position / getColumnCount();
+    }
+
+    public int getPosition(int column, int row) {
+        return row * getColumnCount() + column;
+    }
+
+    @Override
+    public int getItemCount() {
+        return getRowCount() * getColumnCount();
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public C getItem(int column, int row) {
+        List<C> rowList = (List<C>) mCellRecyclerViewAdapter.getItem(row);
+        if (rowList == null || column < 0 || column >= rowList.size()) {
+            return null;
+        }
+        return rowList.get(column);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        // A cell is identified by the ids of its row and its column.
+        AbstractTableAdapter adapter = (AbstractTableAdapter) mTableAdapter;
+        long rowId = adapter.getStableIdTable().getId(adapter.getRowHeaderRecyclerViewAdapter()
+                .getItem(getRowPosition(position)));
+        long columnId = adapter.getColumnStableIdTable().getId(mColumnHeaderRecyclerViewAdapter
+                .getItem(getColumnPosition(position)));
+        if (rowId == RecyclerView.NO_ID || columnId == RecyclerView.NO_ID) {
+            return RecyclerView.NO_ID;
+        }
+        return rowId << 32 | columnId;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return mTableAdapter.getCellItemViewType(getColumnPosition(position));
+    }
+
+    @NonNull
+    @Override
+    public AbstractViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return mTableAdapter.onCreateCellViewHolder(parent, viewType);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull AbstractViewHolder holder, int position) {
+        int column = getColumnPosition(position);
+        int row = getRowPosition(position);
+        mTableAdapter.onBindCellViewHolder(holder, getItem(column, row), column, row);
+
+        // The new content is measured before the cell takes the width of its column, which
+        // is widened if the content doesn't fit.
+        ViewGroup.LayoutParams params = holder.itemView.getLayoutParams();
+        if (params != null) {
+            params.width = ViewGroup.LayoutParams.WRAP_CONTENT;
+        }
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull AbstractViewHolder viewHolder) {
+        super.onViewAttachedToWindow(viewHolder);
+
+        int position = viewHolder.getAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        SelectionState selectionState = mTableView.getSelectionHandler().getCellSelectionState
+                (getColumnPosition(position), getRowPosition(position));
+
+        // Control to ignore selection color
+        if (!mTableView.isIgnoreSelectionColors()) {
+
+            // Change the background color of the view considering selected row/cell position.
+            if (selectionState == SelectionState.SELECTED) {
+                viewHolder.setBackgroundColor(mTableView.getSelectedColor());
+            } else {
+                viewHolder.setBackgroundColor(mTableView.getUnSelectedColor());
+            }
+        }
+
+        // Change selection status
+        viewHolder.setSelected(selectionState);
+    }
+
+    @Override
+    public boolean onFailedToRecycleView(@NonNull AbstractViewHolder holder) {
+        return holder.onFailedToRecycleView();
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull AbstractViewHolder holder) {
+        super.onViewRecycled(holder);
+        holder.onViewRecycled();
+    }
+
+    /**
+     * Forwards the changes of the rows to their cells.
+     */
+    private class RowDataObserver extends RecyclerView.AdapterDataObserver {
+        @Override
+        public void onChanged() {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            int columnCount = getColumnCount();
+            notifyItemRangeChanged(positionStart * columnCount, itemCount * columnCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object
+                payload) {
+            int columnCount = getColumnCount();
+            notifyItemRangeChanged(positionStart * columnCount, itemCount * columnCount,
+                    payload);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            int columnCount = getColumnCount();
+            notifyItemRangeInserted(positionStart * columnCount, itemCount * columnCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            int columnCount = getColumnCount();
+            notifyItemRangeRemoved(positionStart * columnCount, itemCount * columnCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            // The cells of the moved rows are moved one by one, each of them to the position it
+            // has once all of the cells before it have been moved.
+            int columnCount = getColumnCount();
+            for (int i = 0; i < itemCount; i++) {
+                int from = fromPosition < toPosition ? fromPosition : fromPosition + i;
+                int to = fromPosition < toPosition ? toPosition + itemCount - 1 : toPosition + i;
+                for (int column = 0; column < columnCount; column++) {
+                    if (from < to) {
+                        // The first cell of the row is taken each time, and put after the
+                        // cells of the target row which have been moved before it.
+                        notifyItemMoved(from * columnCount, to * columnCount + columnCount - 1);
+                    } else {
+                        notifyItemMoved(from * columnCount + column, to * columnCount + column);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Every cell position depends on the column count, so adding or removing a column changes
+     * all of them.
+     */
+    private class ColumnDataObserver extends RecyclerView.AdapterDataObserver {
+        @Override
+        public void onChanged() {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            notifyDataSetChanged();
+        }
+    }
+}
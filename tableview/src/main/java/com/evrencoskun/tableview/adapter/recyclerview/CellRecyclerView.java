@@ -18,14 +18,17 @@
 package com.evrencoskun.tableview.adapter.recyclerview;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.util.Log;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.evrencoskun.tableview.R;
 import com.evrencoskun.tableview.listener.scroll.HorizontalRecyclerViewListener;
+import com.evrencoskun.tableview.listener.scroll.HorizontalScrollCoordinator;
 import com.evrencoskun.tableview.listener.scroll.VerticalRecyclerViewListener;
 
 /**
@@ -37,6 +40,12 @@ public class CellRecyclerView extends RecyclerView {
 
     private int mScrolledX = 0;
     private int mScrolledY = 0;
+    // The x offset of the HorizontalScrollCoordinator this row has been scrolled to.
+    private int mSyncedScrollX = 0;
+    private int mSyncedRelocation = 0;
+    // Set to the recyclerView of the cells, which syncs its rows while it draws them.
+    @Nullable
+    private HorizontalScrollCoordinator mScrollCoordinator;
 
     private boolean mIsHorizontalScrollListenerRemoved = true;
     private boolean mIsVerticalScrollListenerRemoved = true;
@@ -74,6 +83,35 @@ public class CellRecyclerView extends RecyclerView {
         return mScrolledY;
     }
 
+    public int getSyncedScrollX() {
+        return mSyncedScrollX;
+    }
+
+    public void setSyncedScrollX(int syncedScrollX) {
+        mSyncedScrollX = syncedScrollX;
+    }
+
+    public int getSyncedRelocation() {
+        return mSyncedRelocation;
+    }
+
+    public void setSyncedRelocation(int syncedRelocation) {
+        mSyncedRelocation = syncedRelocation;
+    }
+
+    public void setScrollCoordinator(@Nullable HorizontalScrollCoordinator scrollCoordinator) {
+        mScrollCoordinator = scrollCoordinator;
+    }
+
+    @Override
+    protected boolean drawChild(@NonNull Canvas canvas, @NonNull View child, long drawingTime) {
+        if (mScrollCoordinator != null && child instanceof CellRecyclerView) {
+            // The row catches up with the horizontal scroll position before it is drawn.
+            mScrollCoordinator.syncRow((CellRecyclerView) child);
+        }
+        return super.drawChild(canvas, child, drawingTime);
+    }
+
     @Override
     public void addOnScrollListener(@NonNull OnScrollListener listener) {
         if (listener instanceof HorizontalRecyclerViewListener) {
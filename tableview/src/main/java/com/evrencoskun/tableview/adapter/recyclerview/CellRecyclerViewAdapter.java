@@ -27,13 +27,17 @@ import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder.SelectionState;
-import com.evrencoskun.tableview.handler.ScrollHandler;
 import com.evrencoskun.tableview.handler.SelectionHandler;
 import com.evrencoskun.tableview.layoutmanager.CellLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.ColumnLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.PrefetchPolicy;
 import com.evrencoskun.tableview.listener.itemclick.CellRecyclerViewItemClickListener;
+import com.evrencoskun.tableview.listener.itemclick.TextCellRowItemClickListener;
+import com.evrencoskun.tableview.textcell.TextCellRenderer;
+import com.evrencoskun.tableview.textcell.TextCellRowView;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -57,18 +61,28 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
         super(context, itemList);
         this.mTableView = tableView;
 
-        // Create view pool to share Views between multiple RecyclerViews.
+        // Create view pool to share Views between multiple RecyclerViews. It is sized by the
+        // ViewPoolHandler.
         mRecycledViewPool = new RecyclerView.RecycledViewPool();
-        //TODO set the right value.
-        //mRecycledViewPool.setMaxRecycledViews(0, 110);
+    }
+
+    /**
+     * Returns the pool which the cells of every row share.
+     */
+    @NonNull
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return mRecycledViewPool;
     }
 
     @NonNull
     @Override
     public AbstractViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
 
-        // Create a RecyclerView as a Row of the CellRecyclerView
-        CellRecyclerView recyclerView = new CellRecyclerView(mContext);
+        // Create a RecyclerView as a Row of the CellRecyclerView. The text cells are drawn by
+        // the row itself.
+        TextCellRenderer textCellRenderer = mTableView.getTextCellRenderer();
+        CellRecyclerView recyclerView = textCellRenderer != null ? new TextCellRowView(mContext,
+                mTableView, textCellRenderer) : new CellRecyclerView(mContext);
 
         // Use the same view pool
         recyclerView.setRecycledViewPool(mRecycledViewPool);
@@ -81,13 +95,24 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
         // To get better performance for fixed size TableView
         recyclerView.setHasFixedSize(mTableView.hasFixedWidth());
 
-        // set touch mHorizontalListener to scroll synchronously
-        recyclerView.addOnItemTouchListener(mTableView.getHorizontalRecyclerViewListener());
+        // Let the prefetching know the fling velocity of the row.
+        recyclerView.setOnFlingListener(mTableView.getPrefetchPolicy());
 
-        // Add Item click listener for cell views
-        if (mTableView.isAllowClickInsideCell()) {
-            recyclerView.addOnItemTouchListener(new CellRecyclerViewItemClickListener(recyclerView,
-                    mTableView));
+        if (recyclerView instanceof TextCellRowView) {
+            // The row scrolls the column header, and finds the clicked cell by the touch.
+            if (mTableView.isAllowClickInsideCell()) {
+                recyclerView.addOnItemTouchListener(new TextCellRowItemClickListener(
+                        (TextCellRowView) recyclerView, mTableView));
+            }
+        } else {
+            // set touch mHorizontalListener to scroll synchronously
+            recyclerView.addOnItemTouchListener(mTableView.getHorizontalRecyclerViewListener());
+
+            // Add Item click listener for cell views
+            if (mTableView.isAllowClickInsideCell()) {
+                recyclerView.addOnItemTouchListener(new CellRecyclerViewItemClickListener(
+                        recyclerView, mTableView));
+            }
         }
 
         // Set the Column layout manager that helps the fit width of the cell and column header
@@ -109,17 +134,33 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
     @Override
     public void onBindViewHolder(@NonNull AbstractViewHolder holder, int yPosition) {
         CellRowViewHolder viewHolder = (CellRowViewHolder) holder;
-        CellRowRecyclerViewAdapter viewAdapter = (CellRowRecyclerViewAdapter) viewHolder
+        CellRowRecyclerViewAdapter<C> viewAdapter = (CellRowRecyclerViewAdapter<C>) viewHolder
                 .recyclerView.getAdapter();
 
+        PrefetchPolicy prefetchPolicy = mTableView.getPrefetchPolicy();
+        long bindStart = prefetchPolicy.startBind();
+
         // Get the list
         List<C> rowList = (List<C>) mItemList.get(yPosition);
 
-        // Set Row position
-        viewAdapter.setYPosition(yPosition);
+        if (viewHolder.recyclerView instanceof TextCellRowView) {
+            // The adapter of the row stays empty, the row draws the cells.
+            viewAdapter.setYPosition(yPosition);
+            ((TextCellRowView) viewHolder.recyclerView).bind(yPosition, rowList);
+        } else {
+            // Set the row position and its list to the adapter, without copying the list.
+            viewAdapter.bindRow(yPosition, rowList);
+        }
 
-        // Set the list to the adapter
-        viewAdapter.setItems(rowList);
+        prefetchPolicy.finishBind(bindStart);
+    }
+
+    @Override
+    public long getItemId(int yPosition) {
+        // A row is identified by its row header.
+        AbstractTableAdapter tableAdapter = mTableView.getAdapter();
+        return tableAdapter.getStableIdTable().getId(tableAdapter
+                .getRowHeaderRecyclerViewAdapter().getItem(yPosition));
     }
 
     @Override
@@ -128,12 +169,9 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
 
         CellRowViewHolder viewHolder = (CellRowViewHolder) holder;
 
-        ScrollHandler scrollHandler = mTableView.getScrollHandler();
-
         // The below code helps to display a new attached recyclerView on exact scrolled position.
-        ((ColumnLayoutManager) viewHolder.recyclerView.getLayoutManager())
-                .scrollToPositionWithOffset(scrollHandler.getColumnPosition(), scrollHandler
-                        .getColumnPositionOffset());
+        mTableView.getHorizontalRecyclerViewListener().getScrollCoordinator().attachRow(viewHolder
+                .recyclerView);
 
         SelectionHandler selectionHandler = mTableView.getSelectionHandler();
 
@@ -236,6 +274,7 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
             if (cellRowRecyclerView != null) {
                 AbstractRecyclerViewAdapter adapter = (AbstractRecyclerViewAdapter) cellRowRecyclerView.getAdapter();
                 if (adapter != null) {
+                    copyRowItems(adapter);
                     adapter.deleteItem(column);
                 }
             }
@@ -270,6 +309,7 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
                 AbstractRecyclerViewAdapter adapter = (AbstractRecyclerViewAdapter) cellRowRecyclerView.getAdapter();
                 if (adapter != null) {
                     Log.e("CellsRecycler", "remove columns in " + j + " recycler");
+                    copyRowItems(adapter);
                     adapter.deleteItems(columns);
                 }
                 j++;
@@ -319,7 +359,9 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
             Log.e("CellsRecycler", "found row recycler view (" + i + " position)");
 
             // Add the item using its adapter.
-            ((AbstractRecyclerViewAdapter) cellRowRecyclerView.getAdapter()).addItem(column, cellColumnItems.get(i));
+            AbstractRecyclerViewAdapter adapter = (AbstractRecyclerViewAdapter) cellRowRecyclerView.getAdapter();
+            copyRowItems(adapter);
+            adapter.addItem(column, cellColumnItems.get(i));
         }
 
 
@@ -353,4 +395,13 @@ public class CellRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
         // Change data without notifying. Because we already did for visible recyclerViews.
         setItems((List<C>) cellItems, false);
     }
+
+    /**
+     * Gives a visible row its own copy of its list before the row is changed. The rows wrap the
+     * lists of the model, which are replaced silently afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    private static void copyRowItems(@NonNull AbstractRecyclerViewAdapter adapter) {
+        adapter.wrapItems(new ArrayList<>(adapter.getItems()), false);
+    }
 }
@@ -23,15 +23,22 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.ITableAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder.SelectionState;
+import com.evrencoskun.tableview.layoutmanager.PrefetchPolicy;
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
+
+import java.util.List;
 
 /**
  * Created by evrencoskun on 10/06/2017.
  */
 
 public class CellRowRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C> {
+    // Marks the cells which are rebound because their row has been bound again.
+    private static final Object PAYLOAD_ROW = new Object();
 
     private int mYPosition;
     private ITableAdapter mTableAdapter;
@@ -43,17 +50,73 @@ public class CellRowRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C
         super(context, null);
         this.mTableAdapter = tableView.getAdapter();
         this.mTableView = tableView;
+
+        AbstractTableAdapter tableAdapter = tableView.getAdapter();
+        if (tableAdapter != null && tableAdapter.isStableIdsEnabled()) {
+            setHasStableIds(true);
+        }
     }
 
     @NonNull
     @Override
     public AbstractViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        mTableView.getMetrics().count(TableViewMetrics.VIEW_HOLDER_CREATED);
         return mTableAdapter.onCreateCellViewHolder(parent, viewType);
     }
 
     @Override
     public void onBindViewHolder(@NonNull final AbstractViewHolder holder, final int xPosition) {
+        PrefetchPolicy prefetchPolicy = mTableView.getPrefetchPolicy();
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long bindStart = prefetchPolicy.startBind();
+        long start = metrics.begin();
         mTableAdapter.onBindCellViewHolder(holder, getItem(xPosition), xPosition, mYPosition);
+        metrics.end(TableViewMetrics.BIND_CELL, start);
+        metrics.count(TableViewMetrics.VIEW_HOLDER_BOUND);
+        prefetchPolicy.finishBind(bindStart);
+
+        resetWidth(holder);
+    }
+
+    /**
+     * Lets a rebound cell wrap its new content, so it is measured again before it is fitted
+     * to the width of its column. The width of a fitted cell is kept in its layout params
+     * unless the widths of the cells are enabled.
+     */
+    private void resetWidth(@NonNull AbstractViewHolder holder) {
+        ViewGroup.LayoutParams params = holder.itemView.getLayoutParams();
+        if (params == null || mTableView.hasFixedWidth() || mTableView.getCellLayoutManager()
+                .isCellWidthsEnabled()) {
+            return;
+        }
+
+        params.width = ViewGroup.LayoutParams.WRAP_CONTENT;
+    }
+
+    /**
+     * Binds the adapter to a row without copying its list. The changed cells are rebound in
+     * their attached views instead of the whole row being discarded.
+     *
+     * <p>The adapter holds the list by reference, so it must only be changed through the
+     * adapter methods, which notify the row of the change.</p>
+     */
+    public void bindRow(int rowPosition, @NonNull List<C> rowList) {
+        int oldCount = getItemCount();
+        mYPosition = rowPosition;
+        wrapItems(rowList, false);
+
+        int newCount = rowList.size();
+        int changedCount = Math.min(oldCount, newCount);
+        if (changedCount > 0) {
+            // A recycled row keeps its cells, so they are rebound to the new row. The payload
+            // lets the item animator rebind them in place instead of replacing them.
+            notifyItemRangeChanged(0, changedCount, PAYLOAD_ROW);
+        }
+        if (newCount > oldCount) {
+            notifyItemRangeInserted(oldCount, newCount - oldCount);
+        } else if (newCount < oldCount) {
+            notifyItemRangeRemoved(newCount, oldCount - newCount);
+        }
     }
 
     public int getYPosition() {
@@ -64,6 +127,14 @@ public class CellRowRecyclerViewAdapter<C> extends AbstractRecyclerViewAdapter<C
         mYPosition = rowPosition;
     }
 
+    @Override
+    public long getItemId(int position) {
+        // A cell is identified by its column within the row.
+        AbstractTableAdapter tableAdapter = mTableView.getAdapter();
+        return tableAdapter.getColumnStableIdTable().getId(tableAdapter
+                .getColumnHeaderRecyclerViewAdapter().getItem(position));
+    }
+
     @Override
     public int getItemViewType(int position) {
         return mTableAdapter.getCellItemViewType(position);
@@ -61,6 +61,11 @@ public class ColumnHeaderRecyclerViewAdapter<CH> extends AbstractRecyclerViewAda
         mTableAdapter.onBindColumnHeaderViewHolder(holder, getItem(position), position);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return mTableView.getAdapter().getColumnStableIdTable().getId(getItem(position));
+    }
+
     @Override
     public int getItemViewType(int position) {
         return mTableAdapter.getColumnHeaderItemViewType(position);
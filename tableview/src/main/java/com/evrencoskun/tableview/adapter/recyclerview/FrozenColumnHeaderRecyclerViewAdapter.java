@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.adapter.recyclerview;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.ITableAdapter;
+import com.evrencoskun.tableview.sort.ColumnSortHelper;
+
+/**
+ * Shows the headers of the frozen columns. It shares the items and the sorting states of the
+ * {@link ColumnHeaderRecyclerViewAdapter}, so its positions are the column positions.
+ */
+public class FrozenColumnHeaderRecyclerViewAdapter<CH> extends
+        ColumnHeaderRecyclerViewAdapter<CH> {
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final ColumnHeaderRecyclerViewAdapter<CH> mColumnHeaderRecyclerViewAdapter;
+
+    public FrozenColumnHeaderRecyclerViewAdapter(@NonNull Context context, @NonNull ITableAdapter
+            tableAdapter, @NonNull ColumnHeaderRecyclerViewAdapter<CH>
+            columnHeaderRecyclerViewAdapter) {
+        super(context, null, tableAdapter);
+        this.mTableView = tableAdapter.getTableView();
+        this.mColumnHeaderRecyclerViewAdapter = columnHeaderRecyclerViewAdapter;
+
+        wrapItems(columnHeaderRecyclerViewAdapter.getItems(), false);
+        columnHeaderRecyclerViewAdapter.registerAdapterDataObserver(new RecyclerView
+                .AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                update();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                update();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object
+                    payload) {
+                update();
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                update();
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                update();
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                update();
+            }
+        });
+    }
+
+    private void update() {
+        // The column header adapter may have replaced its list.
+        wrapItems(mColumnHeaderRecyclerViewAdapter.getItems(), true);
+    }
+
+    @Override
+    public int getItemCount() {
+        return Math.min(mTableView.getFrozenColumnCount(), super.getItemCount());
+    }
+
+    @NonNull
+    @Override
+    public ColumnSortHelper getColumnSortHelper() {
+        return mColumnHeaderRecyclerViewAdapter.getColumnSortHelper();
+    }
+}
@@ -59,6 +59,11 @@ public class RowHeaderRecyclerViewAdapter<RH> extends AbstractRecyclerViewAdapte
         mTableAdapter.onBindRowHeaderViewHolder(holder, getItem(position), position);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return mTableView.getAdapter().getStableIdTable().getId(getItem(position));
+    }
+
     @Override
     public int getItemViewType(int position) {
         return mTableAdapter.getRowHeaderItemViewType(position);
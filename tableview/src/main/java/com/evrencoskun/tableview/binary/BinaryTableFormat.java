@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.binary;
+
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * Layout of a binary table file. All numbers are little endian and all offsets are counted from
+ * the start of the file, which limits a file to 2GB.
+ *
+ * <pre>
+ * header        magic, version, column count, row count                  4 ints
+ * column table  type, name offset, name length, data offset, heap offset 5 ints per column
+ * names         UTF-8 bytes of the column names
+ * data          per column, 8 byte aligned:
+ *               INT    row count ints
+ *               LONG   row count longs
+ *               DOUBLE row count doubles
+ *               STRING row count + 1 int offsets into the string heap, followed by the heap
+ *                      of UTF-8 bytes. The string of a row lies between its offset and the
+ *                      next one.
+ * </pre>
+ */
+public final class BinaryTableFormat {
+    static final int MAGIC = 0x54425654; // "TVBT"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 4 * 4;
+    static final int COLUMN_ENTRY_SIZE = 5 * 4;
+    static final int ALIGNMENT = 8;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final Charset CHARSET = Charset.forName("UTF-8");
+
+    private BinaryTableFormat() {
+    }
+
+    static int align(int offset) {
+        return (offset + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.binary;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Reads a binary table file written by {@link BinaryTableWriter}. The file is memory mapped, so
+ * opening it only reads the header and the column table. Values are decoded straight from the
+ * mapped bytes when they are requested.
+ *
+ * <p>The lists returned by {@link #getCellItems(CellFactory)} and
+ * {@link #getRowHeaderItems(HeaderFactory)} create their items on demand and are read only.
+ * The cells of the recently read rows are kept, so a row is decoded once while it is shown.
+ * They should be given to the TableView using
+ * {@link com.evrencoskun.tableview.adapter.AbstractTableAdapter#wrapAllItems} which doesn't
+ * copy them, and which lets them be sorted and filtered by their row indices.</p>
+ *
+ * @see BinaryTableFormat
+ */
+public class BinaryTableReader implements Closeable {
+    private static final int ROW_CACHE_SIZE = 256;
+
+    /**
+     * Creates the cell item of the TableView for a value of the table.
+     */
+    public interface CellFactory<C> {
+        /**
+         * @param value An Integer, Long, Double or String depending on the column type.
+         */
+        @NonNull
+        C createCell(int column, int row, @NonNull Object value);
+    }
+
+    /**
+     * Creates the column or row header item of the TableView.
+     */
+    public interface HeaderFactory<H> {
+        /**
+         * @param name The column name for column headers, the row number for row headers.
+         */
+        @NonNull
+        H createHeader(int position, @NonNull String name);
+    }
+
+    @NonNull
+    private final RandomAccessFile mFile;
+    @NonNull
+    private final ByteBuffer mBuffer;
+
+    private final int mRowCount;
+    @NonNull
+    private final ColumnType[] mColumnTypes;
+    @NonNull
+    private final String[] mColumnNames;
+    @NonNull
+    private final int[] mDataOffsets;
+    @NonNull
+    private final int[] mHeapOffsets;
+
+    public BinaryTableReader(@NonNull File file) throws IOException {
+        mFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = mFile.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < BinaryTableFormat.HEADER_SIZE) {
+                throw new IOException("Invalid binary table file size: " + size);
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mBuffer = mapped.order(BinaryTableFormat.BYTE_ORDER);
+
+            if (mBuffer.getInt(0) != BinaryTableFormat.MAGIC) {
+                throw new IOException("Not a binary table file");
+            }
+            int version = mBuffer.getInt(4);
+            if (version != BinaryTableFormat.VERSION) {
+                throw new IOException("Unsupported binary table version: " + version);
+            }
+
+            int columnCount = mBuffer.getInt(8);
+            mRowCount = mBuffer.getInt(12);
+            mColumnTypes = new ColumnType[columnCount];
+            mColumnNames = new String[columnCount];
+            mDataOffsets = new int[columnCount];
+            mHeapOffsets = new int[columnCount];
+
+            for (int i = 0; i < columnCount; i++) {
+                int entry = BinaryTableFormat.HEADER_SIZE + i * BinaryTableFormat
+                        .COLUMN_ENTRY_SIZE;
+                mColumnTypes[i] = ColumnType.fromId(mBuffer.getInt(entry));
+                mColumnNames[i] = decode(mBuffer.getInt(entry + 4), mBuffer.getInt(entry + 8));
+                mDataOffsets[i] = mBuffer.getInt(entry + 12);
+                mHeapOffsets[i] = mBuffer.getInt(entry + 16);
+            }
+        } catch (IOException | RuntimeException e) {
+            mFile.close();
+            throw e;
+        }
+    }
+
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    public int getColumnCount() {
+        return mColumnTypes.length;
+    }
+
+    @NonNull
+    public String getColumnName(int column) {
+        return mColumnNames[column];
+    }
+
+    @NonNull
+    public ColumnType getColumnType(int column) {
+        return mColumnTypes[column];
+    }
+
+    public int getInt(int column, int row) {
+        checkType(column, ColumnType.INT);
+        return mBuffer.getInt(mDataOffsets[column] + checkRow(row) * 4);
+    }
+
+    public long getLong(int column, int row) {
+        checkType(column, ColumnType.LONG);
+        return mBuffer.getLong(mDataOffsets[column] + checkRow(row) * 8);
+    }
+
+    public double getDouble(int column, int row) {
+        checkType(column, ColumnType.DOUBLE);
+        return mBuffer.getDouble(mDataOffsets[column] + checkRow(row) * 8);
+    }
+
+    @NonNull
+    public String getString(int column, int row) {
+        checkType(column, ColumnType.STRING);
+        int offset = mDataOffsets[column] + checkRow(row) * 4;
+        int start = mBuffer.getInt(offset);
+        int end = mBuffer.getInt(offset + 4);
+        return decode(mHeapOffsets[column] + start, end - start);
+    }
+
+    /**
+     * Returns the value as an Integer, Long, Double or String depending on the column type.
+     */
+    @NonNull
+    public Object getValue(int column, int row) {
+        switch (mColumnTypes[column]) {
+            case INT:
+                return getInt(column, row);
+            case LONG:
+                return getLong(column, row);
+            case DOUBLE:
+                return getDouble(column, row);
+            default:
+                return getString(column, row);
+        }
+    }
+
+    /**
+     * Returns the column header items. They are created at once since there are few of them.
+     */
+    @NonNull
+    public <CH> List<CH> getColumnHeaderItems(@NonNull HeaderFactory<CH> factory) {
+        List<CH> items = new ArrayList<>(mColumnNames.length);
+        for (int i = 0; i < mColumnNames.length; i++) {
+            items.add(factory.createHeader(i, mColumnNames[i]));
+        }
+        return items;
+    }
+
+    /**
+     * Returns a read only list of row header items which are created on demand.
+     */
+    @NonNull
+    public <RH> List<RH> getRowHeaderItems(@NonNull final HeaderFactory<RH> factory) {
+        return new RowHeaderList<>(factory);
+    }
+
+    /**
+     * Returns a read only list of rows whose cell items are created on demand.
+     */
+    @NonNull
+    public <C> List<List<C>> getCellItems(@NonNull CellFactory<C> factory) {
+        return new RowList<>(factory);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping stays valid until the buffer is garbage collected.
+        mFile.close();
+    }
+
+    @NonNull
+    private String decode(int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+
+        // Decode straight from the mapped bytes without copying them into an array first.
+        // The buffer is duplicated since the position and the limit aren't thread safe.
+        ByteBuffer bytes = mBuffer.duplicate();
+        bytes.limit(offset + length);
+        bytes.position(offset);
+        return BinaryTableFormat.CHARSET.decode(bytes).toString();
+    }
+
+    private void checkType(int column, @NonNull ColumnType type) {
+        if (mColumnTypes[column] != type) {
+            throw new IllegalArgumentException("Column " + column + " is " +
+                    mColumnTypes[column] + ", not " + type);
+        }
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= mRowCount) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Row count: " + mRowCount);
+        }
+        return row;
+    }
+
+    private class RowHeaderList<RH> extends AbstractList<RH> implements RandomAccess {
+        @NonNull
+        private final HeaderFactory<RH> mFactory;
+
+        RowHeaderList(@NonNull HeaderFactory<RH> factory) {
+            this.mFactory = factory;
+        }
+
+        @Override
+        public RH get(int index) {
+            return mFactory.createHeader(checkRow(index), String.valueOf(index + 1));
+        }
+
+        @Override
+        public int size() {
+            return mRowCount;
+        }
+    }
+
+    private class RowList<C> extends AbstractList<List<C>> implements RandomAccess {
+        @NonNull
+        private final CellFactory<C> mFactory;
+        // The recently read rows keep their cells, which lets the rows which are bound,
+        // measured and drawn again be read once. Older rows are left to be collected.
+        @NonNull
+        private final LruCache<Integer, Row<C>> mRows = new LruCache<>(ROW_CACHE_SIZE);
+
+        RowList(@NonNull CellFactory<C> factory) {
+            this.mFactory = factory;
+        }
+
+        @Override
+        public List<C> get(int index) {
+            Row<C> row = mRows.get(checkRow(index));
+            if (row == null) {
+                row = new Row<>(mFactory, index);
+                mRows.put(index, row);
+            }
+            return row;
+        }
+
+        @Override
+        public int size() {
+            return mRowCount;
+        }
+    }
+
+    private class Row<C> extends AbstractList<C> implements RandomAccess {
+        @NonNull
+        private final CellFactory<C> mFactory;
+        private final int mRow;
+        // The cells are created once, when they are first read.
+        @NonNull
+        private final Object[] mCells = new Object[mColumnTypes.length];
+
+        Row(@NonNull CellFactory<C> factory, int row) {
+            this.mFactory = factory;
+            this.mRow = row;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized C get(int index) {
+            Object cell = mCells[index];
+            if (cell == null) {
+                cell = mFactory.createCell(index, mRow, getValue(index, mRow));
+                mCells[index] = cell;
+            }
+            return (C) cell;
+        }
+
+        @Override
+        public int size() {
+            return mColumnTypes.length;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.binary;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds a binary table file which can be opened by {@link BinaryTableReader}. Rows are
+ * collected in memory column by column, and the file is streamed from them section by
+ * section.
+ *
+ * @see BinaryTableFormat
+ */
+public class BinaryTableWriter {
+    @NonNull
+    private final List<ColumnBuffer> mColumns = new ArrayList<>();
+    private int mRowCount;
+
+    /**
+     * Adds a column. All columns must be added before the first row.
+     */
+    @NonNull
+    public BinaryTableWriter addColumn(@NonNull String name, @NonNull ColumnType type) {
+        if (mRowCount > 0) {
+            throw new IllegalStateException("Columns can't be added after rows");
+        }
+
+        mColumns.add(new ColumnBuffer(name, type));
+        return this;
+    }
+
+    /**
+     * Adds a row. Numeric columns accept any {@link Number}, string columns store the
+     * {@link Object#toString()} value. A null value is stored as 0 or as an empty string.
+     */
+    @NonNull
+    public BinaryTableWriter addRow(@NonNull Object... values) {
+        if (values.length != mColumns.size()) {
+            throw new IllegalArgumentException("Expected " + mColumns.size() + " values but " +
+                    "was " + values.length);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            mColumns.get(i).add(values[i]);
+        }
+        mRowCount++;
+        return this;
+    }
+
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    public void write(@NonNull File file) throws IOException {
+        int columnCount = mColumns.size();
+        byte[][] names = new byte[columnCount][];
+
+        // Lay out the sections.
+        int offset = BinaryTableFormat.HEADER_SIZE + columnCount * BinaryTableFormat
+                .COLUMN_ENTRY_SIZE;
+        int[] nameOffsets = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = mColumns.get(i).mName.getBytes(BinaryTableFormat.CHARSET);
+            nameOffsets[i] = offset;
+            offset += names[i].length;
+        }
+
+        int[] dataOffsets = new int[columnCount];
+        int[] heapOffsets = new int[columnCount];
+        long end = offset;
+        for (int i = 0; i < columnCount; i++) {
+            ColumnBuffer column = mColumns.get(i);
+            end = BinaryTableFormat.align((int) end);
+            dataOffsets[i] = (int) end;
+            end += column.getDataSize(mRowCount);
+            if (column.mType == ColumnType.STRING) {
+                heapOffsets[i] = (int) end;
+                end += column.mHeap.size();
+            }
+
+            if (end > Integer.MAX_VALUE) {
+                throw new IOException("The table doesn't fit in a binary table file");
+            }
+        }
+
+        // The sections are streamed through a small buffer instead of building the file in
+        // memory.
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            ChannelWriter writer = new ChannelWriter(stream.getChannel());
+            writer.putInt(BinaryTableFormat.MAGIC);
+            writer.putInt(BinaryTableFormat.VERSION);
+            writer.putInt(columnCount);
+            writer.putInt(mRowCount);
+
+            for (int i = 0; i < columnCount; i++) {
+                writer.putInt(mColumns.get(i).mType.getId());
+                writer.putInt(nameOffsets[i]);
+                writer.putInt(names[i].length);
+                writer.putInt(dataOffsets[i]);
+                writer.putInt(heapOffsets[i]);
+            }
+
+            for (int i = 0; i < columnCount; i++) {
+                writer.put(ByteBuffer.wrap(names[i]));
+            }
+
+            for (int i = 0; i < columnCount; i++) {
+                writer.padTo(dataOffsets[i]);
+                mColumns.get(i).writeTo(writer, mRowCount);
+            }
+            writer.flush();
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Writes the values to a channel through a fixed size buffer, and keeps the position to
+     * pad the sections to their offsets.
+     */
+    private static class ChannelWriter {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        @NonNull
+        private final FileChannel mChannel;
+        @NonNull
+        private final ByteBuffer mBuffer = ByteBuffer.allocate(BUFFER_SIZE).order
+                (BinaryTableFormat.BYTE_ORDER);
+        private long mPosition;
+
+        ChannelWriter(@NonNull FileChannel channel) {
+            this.mChannel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(4);
+            mBuffer.putInt(value);
+            mPosition += 4;
+        }
+
+        void putLong(long value) throws IOException {
+            ensureRemaining(8);
+            mBuffer.putLong(value);
+            mPosition += 8;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensureRemaining(8);
+            mBuffer.putDouble(value);
+            mPosition += 8;
+        }
+
+        /**
+         * Writes the remaining bytes straight to the channel, without copying them.
+         */
+        void put(@NonNull ByteBuffer bytes) throws IOException {
+            flush();
+            mPosition += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                mChannel.write(bytes);
+            }
+        }
+
+        void padTo(long offset) throws IOException {
+            while (mPosition < offset) {
+                ensureRemaining(1);
+                mBuffer.put((byte) 0);
+                mPosition++;
+            }
+        }
+
+        void flush() throws IOException {
+            mBuffer.flip();
+            while (mBuffer.hasRemaining()) {
+                mChannel.write(mBuffer);
+            }
+            mBuffer.clear();
+        }
+
+        private void ensureRemaining(int count) throws IOException {
+            if (mBuffer.remaining() < count) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Lets the string heap be written without copying its bytes into a new array.
+     */
+    private static class HeapStream extends ByteArrayOutputStream {
+        @NonNull
+        ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+    private static class ColumnBuffer {
+        @NonNull
+        final String mName;
+        @NonNull
+        final ColumnType mType;
+
+        // Only the one which fits the type is used.
+        int[] mInts;
+        long[] mLongs;
+        double[] mDoubles;
+        HeapStream mHeap;
+        int mSize;
+
+        ColumnBuffer(@NonNull String name, @NonNull ColumnType type) {
+            this.mName = name;
+            this.mType = type;
+
+            switch (type) {
+                case INT:
+                    mInts = new int[16];
+                    break;
+                case LONG:
+                    mLongs = new long[16];
+                    break;
+                case DOUBLE:
+                    mDoubles = new double[16];
+                    break;
+                case STRING:
+                    // The end offset of the row is stored, the first offset is always 0.
+                    mInts = new int[16];
+                    mHeap = new HeapStream();
+                    break;
+            }
+        }
+
+        void add(@Nullable Object value) {
+            switch (mType) {
+                case INT:
+                    ensureCapacity();
+                    mInts[mSize] = value != null ? ((Number) value).intValue() : 0;
+                    break;
+                case LONG:
+                    ensureCapacity();
+                    mLongs[mSize] = value != null ? ((Number) value).longValue() : 0L;
+                    break;
+                case DOUBLE:
+                    ensureCapacity();
+                    mDoubles[mSize] = value != null ? ((Number) value).doubleValue() : 0d;
+                    break;
+                case STRING:
+                    ensureCapacity();
+                    if (value != null) {
+                        byte[] bytes = value.toString().getBytes(BinaryTableFormat.CHARSET);
+                        mHeap.write(bytes, 0, bytes.length);
+                    }
+                    mInts[mSize] = mHeap.size();
+                    break;
+            }
+            mSize++;
+        }
+
+        long getDataSize(int rowCount) {
+            if (mType == ColumnType.STRING) {
+                return (long) (rowCount + 1) * mType.getWidth();
+            }
+            return (long) rowCount * mType.getWidth();
+        }
+
+        void writeTo(@NonNull ChannelWriter writer, int rowCount) throws IOException {
+            switch (mType) {
+                case INT:
+                    for (int i = 0; i < rowCount; i++) {
+                        writer.putInt(mInts[i]);
+                    }
+                    break;
+                case LONG:
+                    for (int i = 0; i < rowCount; i++) {
+                        writer.putLong(mLongs[i]);
+                    }
+                    break;
+                case DOUBLE:
+                    for (int i = 0; i < rowCount; i++) {
+                        writer.putDouble(mDoubles[i]);
+                    }
+                    break;
+                case STRING:
+                    writer.putInt(0);
+                    for (int i = 0; i < rowCount; i++) {
+                        writer.putInt(mInts[i]);
+                    }
+                    writer.put(mHeap.asByteBuffer());
+                    break;
+            }
+        }
+
+        private void ensureCapacity() {
+            int capacity = mType == ColumnType.LONG ? mLongs.length : mType == ColumnType.DOUBLE ?
+                    mDoubles.length : mInts.length;
+            if (mSize < capacity) {
+                return;
+            }
+
+            int newCapacity = capacity * 2;
+            if (mLongs != null) {
+                mLongs = Arrays.copyOf(mLongs, newCapacity);
+            } else if (mDoubles != null) {
+                mDoubles = Arrays.copyOf(mDoubles, newCapacity);
+            } else {
+                mInts = Arrays.copyOf(mInts, newCapacity);
+            }
+        }
+    }
+}
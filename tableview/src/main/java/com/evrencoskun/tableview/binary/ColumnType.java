@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.binary;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Types of the columns of a binary table file. They are also inferred for the columns of a
+ * loaded CSV file.
+ */
+public enum ColumnType {
+    INT(1, 4),
+    LONG(2, 8),
+    DOUBLE(3, 8),
+    STRING(4, 4);
+
+    private final int mId;
+    private final int mWidth;
+
+    ColumnType(int id, int width) {
+        this.mId = id;
+        this.mWidth = width;
+    }
+
+    /**
+     * Returns the identifier which is stored in the file.
+     */
+    public int getId() {
+        return mId;
+    }
+
+    /**
+     * Returns the number of bytes that a single value takes in the data section. For strings,
+     * it is the size of an offset to the string heap.
+     */
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @NonNull
+    static ColumnType fromId(int id) {
+        for (ColumnType type : values()) {
+            if (type.mId == id) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column type: " + id);
+    }
+}
@@ -0,0 +1,620 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.csv;
+
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.binary.ColumnType;
+import com.evrencoskun.tableview.util.TableViewExecutors;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a CSV or TSV file into an {@link AbstractTableAdapter} while it is being read. The file
+ * is read and parsed on a background thread, the first line gives the column headers and the
+ * rows are added to the adapter in batches, so the first rows are displayed long before the
+ * whole file is read.
+ *
+ * <p>The type of each column is inferred from the first batch of rows. Cells of a numeric column
+ * get a Long or a Double value which can be used as the content for the sort engine, since a
+ * column must only have values of the same type to be sorted. If one of the first
+ * {@link #MAX_WIDENED_ROWS} rows has a value which doesn't fit the type of its column, the column
+ * is widened to a Double or a String column and its cells are created again. The types of the
+ * later rows are fixed, their values which don't fit get a null value.</p>
+ *
+ * <p>The rows are added with {@link AbstractTableAdapter#appendRows}, so the filter and the
+ * pagination get them too. The parser waits while the main thread is behind by a few batches.
+ * </p>
+ */
+public class CsvLoader<CH, RH, C> {
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // The parser waits while this many batches are waiting for the main thread.
+    private static final int MAX_PENDING_BATCHES = 4;
+    // The columns are widened while this many rows are loaded, whose texts are kept until then.
+    private static final int MAX_WIDENED_ROWS = 10000;
+
+    /**
+     * Creates the items of the TableView. It is called on the background thread.
+     */
+    public interface ItemFactory<CH, RH, C> {
+        @NonNull
+        CH createColumnHeader(int column, @NonNull String name, @NonNull ColumnType type);
+
+        @NonNull
+        RH createRowHeader(int row);
+
+        /**
+         * @param text  The text of the cell as it is in the file.
+         * @param value A Long or a Double for numeric columns, or the text for string columns.
+         *              It is null if the cell is empty or its text can't be parsed.
+         */
+        @NonNull
+        C createCell(int column, int row, @NonNull String text, @Nullable Object value);
+    }
+
+    /**
+     * Receives the progress of the loading on the main thread.
+     */
+    public interface LoadListener {
+        /**
+         * @param totalBytes The size of the file, or -1 if it isn't known.
+         */
+        void onProgress(int rowCount, long bytesRead, long totalBytes);
+
+        void onLoadFinished(int rowCount);
+
+        void onLoadFailed(@NonNull IOException exception);
+    }
+
+    @NonNull
+    private final AbstractTableAdapter<CH, RH, C> mAdapter;
+    @NonNull
+    private final ItemFactory<CH, RH, C> mItemFactory;
+    @Nullable
+    private LoadListener mLoadListener;
+
+    private char mDelimiter = CsvParser.COMMA;
+    @NonNull
+    private Charset mCharset = Charset.forName("UTF-8");
+    private int mBatchSize = DEFAULT_BATCH_SIZE;
+
+    // Incremented by every load and cancel, so the batches of an old load are ignored.
+    private volatile int mGeneration;
+    @NonNull
+    private final Semaphore mPendingBatches = new Semaphore(MAX_PENDING_BATCHES);
+
+    public CsvLoader(@NonNull AbstractTableAdapter<CH, RH, C> adapter, @NonNull ItemFactory<CH,
+            RH, C> itemFactory) {
+        this.mAdapter = adapter;
+        this.mItemFactory = itemFactory;
+    }
+
+    /**
+     * Sets the delimiter of the fields. It is {@link CsvParser#COMMA} by default, use
+     * {@link CsvParser#TAB} for TSV files.
+     */
+    public void setDelimiter(char delimiter) {
+        this.mDelimiter = delimiter;
+    }
+
+    public void setCharset(@NonNull Charset charset) {
+        this.mCharset = charset;
+    }
+
+    /**
+     * Sets the number of rows which are added to the adapter at once.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.mBatchSize = batchSize;
+    }
+
+    public void setLoadListener(@Nullable LoadListener loadListener) {
+        this.mLoadListener = loadListener;
+    }
+
+    /**
+     * Starts loading the given file. A load which is still running is cancelled.
+     */
+    public void load(@NonNull final File file) {
+        final int generation = ++mGeneration;
+        startThread(() -> {
+            FileInputStream stream = null;
+            try {
+                stream = new FileInputStream(file);
+                read(stream.getChannel(), file.length(), generation);
+            } catch (IOException e) {
+                postFailure(e, generation);
+            } finally {
+                closeQuietly(stream);
+            }
+        });
+    }
+
+    /**
+     * Starts loading from the given channel, which is closed when the loading ends. A load
+     * which is still running is cancelled.
+     *
+     * @param totalBytes The number of bytes of the channel, or -1 if it isn't known.
+     */
+    public void load(@NonNull final ReadableByteChannel channel, final long totalBytes) {
+        final int generation = ++mGeneration;
+        startThread(() -> {
+            try {
+                read(channel, totalBytes, generation);
+            } catch (IOException e) {
+                postFailure(e, generation);
+            } finally {
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    /**
+     * Stops the running load. The rows which have already been added stay in the adapter.
+     */
+    public void cancel() {
+        mGeneration++;
+    }
+
+    private void startThread(@NonNull Runnable runnable) {
+        // Reading a large file takes long, so it doesn't occupy the shared background threads.
+        Thread thread = new Thread(runnable, "TableView-CsvLoader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @WorkerThread
+    private void read(@NonNull ReadableByteChannel channel, long totalBytes, int generation)
+            throws IOException {
+        CsvParser parser = new CsvParser(mDelimiter);
+        CharsetDecoder decoder = mCharset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        List<String[]> records = new ArrayList<>();
+
+        Batch batch = new Batch(null);
+        long bytesRead = 0;
+        boolean firstChunk = true;
+        boolean endOfInput = false;
+
+        while (!endOfInput) {
+            if (generation != mGeneration) {
+                return;
+            }
+
+            int count = channel.read(bytes);
+            if (count < 0) {
+                endOfInput = true;
+            } else {
+                bytesRead += count;
+            }
+
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+            }
+            // Keep the bytes of an incomplete character for the next read.
+            bytes.compact();
+
+            chars.flip();
+            if (firstChunk && chars.hasRemaining()) {
+                firstChunk = false;
+                // Skip the byte order mark.
+                if (chars.get(chars.position()) == '\uFEFF') {
+                    chars.get();
+                }
+            }
+            parser.parse(chars, records);
+            chars.clear();
+
+            if (endOfInput) {
+                parser.finish(records);
+            }
+
+            for (int i = 0; i < records.size(); i++) {
+                batch = batch.add(records.get(i), bytesRead, totalBytes, generation);
+            }
+            records.clear();
+        }
+
+        batch.post(bytesRead, totalBytes, generation, true);
+    }
+
+    /**
+     * Collects the rows until they are posted to the main thread.
+     */
+    private class Batch {
+        @Nullable
+        private final Columns mColumns;
+        @NonNull
+        private final List<String[]> mRecords = new ArrayList<>();
+        @Nullable
+        private String[] mHeader;
+
+        Batch(@Nullable Columns columns) {
+            this.mColumns = columns;
+        }
+
+        @NonNull
+        Batch add(@NonNull String[] record, long bytesRead, long totalBytes, int generation) {
+            if (mColumns == null && mHeader == null) {
+                mHeader = record;
+                return this;
+            }
+
+            mRecords.add(record);
+            if (mRecords.size() < mBatchSize) {
+                return this;
+            }
+            return post(bytesRead, totalBytes, generation, false);
+        }
+
+        @NonNull
+        Batch post(long bytesRead, long totalBytes, int generation, boolean last) {
+            Columns columns = mColumns;
+            if (columns == null) {
+                if (mHeader == null) {
+                    // The file is empty.
+                    mHeader = new String[0];
+                }
+                columns = new Columns(mHeader, mRecords);
+            }
+
+            final boolean first = mColumns == null;
+            final List<CH> columnHeaderItems = first ? columns.createColumnHeaders() : null;
+            // The columns whose values of this batch don't fit their type, with their rows
+            // created again.
+            final SparseArray<CH> widenedHeaders = new SparseArray<>();
+            final SparseArray<List<C>> widenedCells = new SparseArray<>();
+            if (!first && columns.isWidening()) {
+                columns.widen(mRecords, widenedHeaders, widenedCells);
+            }
+
+            final int startRow = columns.mRowCount;
+            final List<RH> rowHeaderItems = new ArrayList<>(mRecords.size());
+            final List<List<C>> cellItems = new ArrayList<>(mRecords.size());
+
+            for (int i = 0; i < mRecords.size(); i++) {
+                int row = startRow + i;
+                rowHeaderItems.add(mItemFactory.createRowHeader(row));
+                cellItems.add(columns.createRow(mRecords.get(i), row));
+            }
+            columns.mRowCount += mRecords.size();
+
+            // The rows to replace the widened cells in, which the parser keeps appending to.
+            final List<List<C>> rows = widenedHeaders.size() > 0 ? new ArrayList<>(columns.mRows
+                    .subList(0, startRow)) : null;
+            if (columns.mRowCount >= MAX_WIDENED_ROWS) {
+                columns.stopWidening();
+            }
+            final int rowCount = columns.mRowCount;
+            final long read = bytesRead;
+
+            // Wait while the main thread is behind, so the batches don't pile up in memory.
+            if (!acquireBatch(generation)) {
+                return new Batch(columns);
+            }
+            TableViewExecutors.main().post(() -> {
+                try {
+                    if (generation != mGeneration) {
+                        return;
+                    }
+
+                    if (rows != null) {
+                        replaceColumns(rows, widenedHeaders, widenedCells);
+                    }
+
+                    if (first) {
+                        mAdapter.setAllItems(columnHeaderItems, rowHeaderItems, cellItems);
+                    } else if (!cellItems.isEmpty()) {
+                        // The filter and the pagination get the rows as well.
+                        mAdapter.appendRows(rowHeaderItems, cellItems);
+                    }
+
+                    if (mLoadListener != null) {
+                        mLoadListener.onProgress(rowCount, read, totalBytes);
+                        if (last) {
+                            mLoadListener.onLoadFinished(rowCount);
+                        }
+                    }
+                } finally {
+                    mPendingBatches.release();
+                }
+            });
+            return new Batch(columns);
+        }
+    }
+
+    /**
+     * Waits until fewer than {@link #MAX_PENDING_BATCHES} batches are waiting for the main
+     * thread. Returns false if the load has been cancelled in the meantime.
+     */
+    @WorkerThread
+    private boolean acquireBatch(int generation) {
+        try {
+            while (!mPendingBatches.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                if (generation != mGeneration) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the cells of the widened columns in the rows which have already been added, and
+     * their column headers.
+     */
+    private void replaceColumns(@NonNull List<List<C>> rows, @NonNull SparseArray<CH> headers,
+                                @NonNull SparseArray<List<C>> cells) {
+        for (int i = 0; i < headers.size(); i++) {
+            int column = headers.keyAt(i);
+            List<C> columnCells = cells.get(column);
+
+            // The rows are shared by the adapter, the filter and the pagination.
+            for (int row = 0; row < rows.size(); row++) {
+                rows.get(row).set(column, columnCells.get(row));
+            }
+            mAdapter.changeColumnHeader(column, headers.valueAt(i));
+        }
+        mAdapter.notifyDataSetChanged();
+    }
+
+    /**
+     * The names and the inferred types of the columns.
+     */
+    private class Columns {
+        @NonNull
+        private final String[] mNames;
+        @NonNull
+        private final ColumnType[] mTypes;
+        // The texts of the numeric columns, which let their cells be created again if the
+        // column is widened. A string column can't be widened, so it doesn't keep them. They
+        // are only kept for the first rows, it is null once the types are fixed.
+        @Nullable
+        private List<List<String>> mTexts = new ArrayList<>();
+        // The rows which have been created, whose cells are replaced when a column is widened.
+        @NonNull
+        final List<List<C>> mRows = new ArrayList<>();
+        int mRowCount;
+
+        Columns(@NonNull String[] names, @NonNull List<String[]> sample) {
+            this.mNames = names;
+            this.mTypes = new ColumnType[names.length];
+
+            for (int column = 0; column < names.length; column++) {
+                mTypes[column] = inferType(column, sample);
+                mTexts.add(mTypes[column] != ColumnType.STRING ? new ArrayList<String>() : null);
+            }
+        }
+
+        @NonNull
+        List<CH> createColumnHeaders() {
+            List<CH> items = new ArrayList<>(mNames.length);
+            for (int i = 0; i < mNames.length; i++) {
+                items.add(mItemFactory.createColumnHeader(i, mNames[i], mTypes[i]));
+            }
+            return items;
+        }
+
+        @NonNull
+        List<C> createRow(@NonNull String[] record, int row) {
+            List<C> items = new ArrayList<>(mNames.length);
+            for (int column = 0; column < mNames.length; column++) {
+                // Missing fields are empty, extra fields are dropped.
+                String text = column < record.length ? record[column] : "";
+                items.add(mItemFactory.createCell(column, row, text, parse(text, mTypes
+                        [column])));
+
+                List<String> texts = mTexts != null ? mTexts.get(column) : null;
+                if (texts != null) {
+                    texts.add(text);
+                }
+            }
+            if (mTexts != null) {
+                mRows.add(items);
+            }
+            return items;
+        }
+
+        boolean isWidening() {
+            return mTexts != null;
+        }
+
+        /**
+         * Fixes the types of the columns and lets the texts and the rows which have been kept
+         * for widening them go.
+         */
+        void stopWidening() {
+            mTexts = null;
+            mRows.clear();
+        }
+
+        /**
+         * Widens the type of each numeric column which has a value in the records that its
+         * type can't hold, like a long column which has a decimal or a text. The cells of the
+         * rows which have already been created are created again with the wider type.
+         */
+        void widen(@NonNull List<String[]> records, @NonNull SparseArray<CH> headers, @NonNull
+                SparseArray<List<C>> cells) {
+            List<List<String>> allTexts = mTexts;
+            if (allTexts == null) {
+                return;
+            }
+
+            for (int column = 0; column < mNames.length; column++) {
+                ColumnType type = mTypes[column];
+                if (type == ColumnType.STRING) {
+                    continue;
+                }
+
+                ColumnType widened = widenType(type, column, records);
+                if (widened == type) {
+                    continue;
+                }
+                mTypes[column] = widened;
+
+                List<String> texts = allTexts.get(column);
+                List<C> columnCells = new ArrayList<>(mRowCount);
+                for (int row = 0; row < mRowCount; row++) {
+                    String text = texts.get(row);
+                    columnCells.add(mItemFactory.createCell(column, row, text, parse(text,
+                            widened)));
+                }
+                if (widened == ColumnType.STRING) {
+                    allTexts.set(column, null);
+                }
+
+                headers.put(column, mItemFactory.createColumnHeader(column, mNames[column],
+                        widened));
+                cells.put(column, columnCells);
+            }
+        }
+    }
+
+    /**
+     * Returns the narrowest type which holds both the values of the given type and the values
+     * of the column in the records.
+     */
+    @NonNull
+    private static ColumnType widenType(@NonNull ColumnType type, int column, @NonNull
+            List<String[]> records) {
+        for (int i = 0; i < records.size(); i++) {
+            String[] record = records.get(i);
+            if (column >= record.length || record[column].isEmpty() || parse(record[column],
+                    type) != null) {
+                continue;
+            }
+
+            if (type == ColumnType.LONG && parse(record[column], ColumnType.DOUBLE) != null) {
+                type = ColumnType.DOUBLE;
+            } else {
+                return ColumnType.STRING;
+            }
+        }
+        return type;
+    }
+
+    @NonNull
+    private static ColumnType inferType(int column, @NonNull List<String[]> sample) {
+        ColumnType type = null;
+        for (int i = 0; i < sample.size(); i++) {
+            String[] record = sample.get(i);
+            if (column >= record.length || record[column].isEmpty()) {
+                continue;
+            }
+
+            String text = record[column];
+            if (type != ColumnType.DOUBLE && parse(text, ColumnType.LONG) != null) {
+                type = ColumnType.LONG;
+            } else if (parse(text, ColumnType.DOUBLE) != null) {
+                type = ColumnType.DOUBLE;
+            } else {
+                return ColumnType.STRING;
+            }
+        }
+        return type != null ? type : ColumnType.STRING;
+    }
+
+    @Nullable
+    private static Object parse(@NonNull String text, @NonNull ColumnType type) {
+        if (type == ColumnType.STRING) {
+            return text;
+        }
+        if (!isNumber(text)) {
+            return null;
+        }
+
+        try {
+            if (type == ColumnType.DOUBLE) {
+                return Double.parseDouble(text);
+            }
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rejects most of the non numeric texts without the cost of an exception.
+     */
+    private static boolean isNumber(@NonNull String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c !=
+                    'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void postFailure(@NonNull final IOException exception, final int generation) {
+        TableViewExecutors.main().post(() -> {
+            if (generation == mGeneration && mLoadListener != null) {
+                mLoadListener.onLoadFailed(exception);
+            }
+        });
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
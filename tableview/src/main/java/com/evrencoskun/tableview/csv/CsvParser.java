@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.csv;
+
+import androidx.annotation.NonNull;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits delimiter separated text into records. The text may be given in chunks of any size,
+ * a record that spans two chunks is completed by the next one. Fields may be quoted with double
+ * quotes, in which case they can contain delimiters, line breaks and doubled quotes. Empty lines
+ * are skipped.
+ */
+public class CsvParser {
+    public static final char COMMA = ',';
+    public static final char TAB = '\t';
+
+    private static final char QUOTE = '"';
+
+    private final char mDelimiter;
+
+    @NonNull
+    private final StringBuilder mField = new StringBuilder();
+    @NonNull
+    private final List<String> mFields = new ArrayList<>();
+    private boolean mQuoted;
+    private boolean mInQuotes;
+    private boolean mQuotePending;
+    private boolean mSkipLineFeed;
+
+    public CsvParser(char delimiter) {
+        if (delimiter == QUOTE || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        }
+        this.mDelimiter = delimiter;
+    }
+
+    /**
+     * Parses the remaining characters of the given buffer and adds the completed records to the
+     * given list.
+     */
+    public void parse(@NonNull CharBuffer chars, @NonNull List<String[]> records) {
+        while (chars.hasRemaining()) {
+            char c = chars.get();
+
+            if (mSkipLineFeed) {
+                mSkipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+
+            if (mInQuotes) {
+                if (mQuotePending) {
+                    mQuotePending = false;
+                    if (c == QUOTE) {
+                        // A doubled quote stands for a quote.
+                        mField.append(QUOTE);
+                        continue;
+                    }
+                    // The previous quote has closed the field.
+                    mInQuotes = false;
+                } else {
+                    if (c == QUOTE) {
+                        mQuotePending = true;
+                    } else {
+                        mField.append(c);
+                    }
+                    continue;
+                }
+            }
+
+            if (c == mDelimiter) {
+                endField();
+            } else if (c == '\r' || c == '\n') {
+                endRecord(records);
+                mSkipLineFeed = c == '\r';
+            } else if (c == QUOTE && !mQuoted && mField.length() == 0) {
+                mQuoted = true;
+                mInQuotes = true;
+            } else {
+                mField.append(c);
+            }
+        }
+    }
+
+    /**
+     * Completes the last record when the text doesn't end with a line break.
+     */
+    public void finish(@NonNull List<String[]> records) {
+        mInQuotes = false;
+        mQuotePending = false;
+        endRecord(records);
+    }
+
+    private void endField() {
+        mFields.add(mField.toString());
+        mField.setLength(0);
+        mQuoted = false;
+    }
+
+    private void endRecord(@NonNull List<String[]> records) {
+        if (mFields.isEmpty() && mField.length() == 0 && !mQuoted) {
+            // Empty line
+            return;
+        }
+
+        endField();
+        records.add(mFields.toArray(new String[mFields.size()]));
+        mFields.clear();
+    }
+}
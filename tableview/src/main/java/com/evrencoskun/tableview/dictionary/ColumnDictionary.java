@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.dictionary;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.evrencoskun.tableview.filter.IFilterableModel;
+import com.evrencoskun.tableview.sort.AbstractSortComparator;
+import com.evrencoskun.tableview.sort.SortState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Intern table of the distinct values of a column. Each distinct value gets a code, so a column
+ * with few distinct values, like statuses or country codes, keeps a single instance per value
+ * and is sorted and filtered by comparing codes.
+ *
+ * <p>The keyword of a value is the filterable keyword of a cell which holds it, so a value is
+ * filtered like the cells which aren't encoded. Values may be encoded from any thread.</p>
+ */
+public class ColumnDictionary {
+    @NonNull
+    private final Map<Object, Integer> mCodes = new HashMap<>();
+    @NonNull
+    private final List<Object> mValues = new ArrayList<>();
+
+    // Derived from the values, they are rebuilt after new values have been encoded.
+    @Nullable
+    private int[] mSortRanks;
+    // The keywords of the codes which have been filtered, taken from their cells.
+    @NonNull
+    private String[] mKeywords = new String[0];
+
+    /**
+     * Returns the code of the given value, adding it to the dictionary if it is new.
+     */
+    public synchronized int encode(@Nullable Object value) {
+        Integer code = mCodes.get(value);
+        if (code == null) {
+            code = mValues.size();
+            mCodes.put(value, code);
+            mValues.add(value);
+            mSortRanks = null;
+        }
+        return code;
+    }
+
+    /**
+     * Returns the single instance of the given value which is kept by the dictionary.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T intern(@Nullable T value) {
+        return (T) mValues.get(encode(value));
+    }
+
+    @Nullable
+    public synchronized Object decode(int code) {
+        return mValues.get(code);
+    }
+
+    /**
+     * Returns the number of distinct values.
+     */
+    public synchronized int size() {
+        return mValues.size();
+    }
+
+    /**
+     * Returns the ascending sort position of each code, so that comparing the ranks of two
+     * codes gives the same result as comparing their values. Equal values have equal ranks.
+     */
+    @NonNull
+    public synchronized int[] getSortRanks() {
+        if (mSortRanks == null) {
+            Integer[] codes = new Integer[mValues.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = i;
+            }
+
+            final ValueComparator comparator = new ValueComparator();
+            Arrays.sort(codes, (code1, code2) -> comparator.compare(mValues.get(code1), mValues
+                    .get(code2)));
+
+            int[] ranks = new int[codes.length];
+            int rank = 0;
+            for (int i = 0; i < codes.length; i++) {
+                if (i > 0 && comparator.compare(mValues.get(codes[i - 1]), mValues.get
+                        (codes[i])) != 0) {
+                    rank++;
+                }
+                ranks[codes[i]] = rank;
+            }
+            mSortRanks = ranks;
+        }
+        return mSortRanks;
+    }
+
+    /**
+     * Returns the lower case keyword of the code. It is the filterable keyword of the given
+     * cell, which holds the value of the code, the first time the keyword is needed.
+     */
+    @NonNull
+    public synchronized String getKeyword(int code, @NonNull IFilterableModel cell) {
+        if (mKeywords.length <= code) {
+            mKeywords = Arrays.copyOf(mKeywords, Math.max(code + 1, mValues.size()));
+        }
+
+        String keyword = mKeywords[code];
+        if (keyword == null) {
+            keyword = cell.getFilterableKeyword().toLowerCase();
+            mKeywords[code] = keyword;
+        }
+        return keyword;
+    }
+
+    private static class ValueComparator extends AbstractSortComparator implements
+            Comparator<Object> {
+
+        ValueComparator() {
+            this.mSortState = SortState.ASCENDING;
+        }
+
+        @Override
+        public int compare(Object o1, Object o2) {
+            return compareContent(o1, o2);
+        }
+    }
+}
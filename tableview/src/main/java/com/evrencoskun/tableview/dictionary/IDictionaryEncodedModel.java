@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.dictionary;
+
+/**
+ * A cell whose content is encoded in the {@link ColumnDictionary} of its column. Sorting and
+ * filtering compare the codes of such cells instead of their contents.
+ */
+public interface IDictionaryEncodedModel {
+
+    /**
+     * Returns the code which {@link ColumnDictionary#encode(Object)} has given to the content
+     * of this cell.
+     */
+    int getCode();
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.dictionary;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the {@link ColumnDictionary} of each column. Setting it to the adapter using
+ * {@link com.evrencoskun.tableview.adapter.AbstractTableAdapter#setValueDictionary} lets the
+ * sort and the filter handlers work on the codes of the cells which implement
+ * {@link IDictionaryEncodedModel}.
+ */
+public class ValueDictionary {
+    @NonNull
+    private final List<ColumnDictionary> mColumns = new ArrayList<>();
+
+    /**
+     * Returns the dictionary of the given column, creating it if needed.
+     */
+    @NonNull
+    public synchronized ColumnDictionary getColumn(int column) {
+        while (mColumns.size() <= column) {
+            mColumns.add(null);
+        }
+
+        ColumnDictionary dictionary = mColumns.get(column);
+        if (dictionary == null) {
+            dictionary = new ColumnDictionary();
+            mColumns.set(column, dictionary);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns the dictionary of the given column, or null if nothing has been encoded for it.
+     */
+    @Nullable
+    public synchronized ColumnDictionary findColumn(int column) {
+        return column < mColumns.size() ? mColumns.get(column) : null;
+    }
+
+    /**
+     * Removes all dictionaries, for example before completely different items are set.
+     */
+    public synchronized void clear() {
+        mColumns.clear();
+    }
+}
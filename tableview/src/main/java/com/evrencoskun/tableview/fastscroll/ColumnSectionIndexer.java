@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.fastscroll;
+
+import android.widget.SectionIndexer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.sort.ISortableModel;
+import com.evrencoskun.tableview.util.TableViewExecutors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Divides the rows into sections by the first letter of the cells of a column, which is meant
+ * to be the sorted one. The sections follow the current order of the rows. Whenever the rows
+ * change, the sections are found again on a background thread the next time they are asked
+ * for, and the old ones are returned until then.
+ */
+public class ColumnSectionIndexer implements SectionIndexer {
+    private static final String OTHER_SECTION = "#";
+
+    @NonNull
+    private final ITableView mTableView;
+    private final int mColumn;
+
+    // The rows the sections have been found for, and whether they have changed since.
+    @Nullable
+    private List<?> mRows;
+    private boolean mDirty = true;
+    // Incremented by every change, so the sections of old rows are dropped.
+    private int mGeneration;
+    private boolean mUpdating;
+    @Nullable
+    private RecyclerView.Adapter<?> mObservedAdapter;
+
+    @NonNull
+    private String[] mSections = new String[0];
+    @NonNull
+    private int[] mSectionStarts = new int[0];
+
+    @NonNull
+    private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView
+            .AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            invalidate();
+        }
+    };
+
+    public ColumnSectionIndexer(@NonNull ITableView tableView, int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column: " + column);
+        }
+        this.mTableView = tableView;
+        this.mColumn = column;
+    }
+
+    @NonNull
+    @Override
+    public Object[] getSections() {
+        updateSections();
+        return mSections;
+    }
+
+    @Override
+    public int getPositionForSection(int sectionIndex) {
+        updateSections();
+        if (mSectionStarts.length == 0) {
+            return 0;
+        }
+        return mSectionStarts[Math.max(0, Math.min(sectionIndex, mSectionStarts.length - 1))];
+    }
+
+    @Override
+    public int getSectionForPosition(int position) {
+        updateSections();
+        int index = Arrays.binarySearch(mSectionStarts, position);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    /**
+     * Lets the sections be found again, after the rows have been changed in place.
+     */
+    @MainThread
+    public void invalidate() {
+        mDirty = true;
+        mGeneration++;
+    }
+
+    /**
+     * Starts finding the sections on a background thread if the rows have changed.
+     */
+    @MainThread
+    private void updateSections() {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        observe(adapter != null ? adapter.getCellRecyclerViewAdapter() : null);
+
+        List<?> rows = adapter != null ? adapter.getCellRecyclerViewAdapter().getItems() : null;
+        if (rows != mRows) {
+            mRows = rows;
+            invalidate();
+        }
+        if (!mDirty || mUpdating) {
+            return;
+        }
+
+        mDirty = false;
+        if (rows == null || rows.isEmpty()) {
+            mSections = new String[0];
+            mSectionStarts = new int[0];
+            return;
+        }
+
+        // The wrapped rows are read only, the others are copied since they may change while
+        // the sections are found. Only the references are copied, no cell is read.
+        final List<?> snapshot = adapter.isItemsWrapped() ? rows : new ArrayList<>(rows);
+        final int generation = mGeneration;
+        final int column = mColumn;
+        mUpdating = true;
+        TableViewExecutors.background().execute(() -> {
+            final List<String> sections = new ArrayList<>();
+            final int[] starts = findSections(snapshot, column, sections);
+            TableViewExecutors.main().post(() -> {
+                mUpdating = false;
+                if (generation != mGeneration) {
+                    // The rows have changed in the meantime.
+                    return;
+                }
+
+                mSections = sections.toArray(new String[0]);
+                mSectionStarts = starts;
+                mTableView.getCellRecyclerView().invalidate();
+            });
+        });
+    }
+
+    @MainThread
+    private void observe(@Nullable RecyclerView.Adapter<?> adapter) {
+        if (adapter == mObservedAdapter) {
+            return;
+        }
+
+        if (mObservedAdapter != null) {
+            mObservedAdapter.unregisterAdapterDataObserver(mDataObserver);
+        }
+        mObservedAdapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(mDataObserver);
+        }
+    }
+
+    /**
+     * Adds the sections of the rows to the list and returns the row each of them starts at.
+     */
+    @WorkerThread
+    @NonNull
+    private static int[] findSections(@NonNull List<?> rows, int column, @NonNull List<String>
+            sections) {
+        int[] starts = new int[16];
+        String last = null;
+        for (int row = 0; row < rows.size(); row++) {
+            String section = getSection(rows.get(row), column);
+            if (!section.equals(last)) {
+                if (sections.size() == starts.length) {
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                }
+                starts[sections.size()] = row;
+                sections.add(section);
+                last = section;
+            }
+        }
+        return Arrays.copyOf(starts, sections.size());
+    }
+
+    @NonNull
+    private static String getSection(@Nullable Object row, int column) {
+        if (!(row instanceof List) || column >= ((List<?>) row).size()) {
+            return OTHER_SECTION;
+        }
+
+        Object cell = ((List<?>) row).get(column);
+        Object content = cell instanceof ISortableModel ? ((ISortableModel) cell).getContent() :
+                cell;
+        String text = content != null ? content.toString() : "";
+        if (text.isEmpty() || !Character.isLetter(text.codePointAt(0))) {
+            return OTHER_SECTION;
+        }
+        return new String(Character.toChars(Character.toUpperCase(text.codePointAt(0))));
+    }
+}
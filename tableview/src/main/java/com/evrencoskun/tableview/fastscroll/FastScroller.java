@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.fastscroll;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.util.DisplayMetrics;
+import android.view.MotionEvent;
+import android.widget.SectionIndexer;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+
+/**
+ * Draws a draggable thumb on the right edge of the cells, which jumps to the row at the same
+ * fraction of the rows as the thumb is of the track. A row is found from the position of the
+ * thumb by a multiplication and only the rows at the end of a jump are laid out, so the rows in
+ * between are never bound. While the thumb is dragged, a popup shows the section of the row
+ * if there is a {@link SectionIndexer}.
+ */
+public class FastScroller extends RecyclerView.ItemDecoration implements RecyclerView
+        .OnItemTouchListener {
+    private static final int THUMB_WIDTH_DP = 8;
+    private static final int THUMB_HEIGHT_DP = 48;
+    private static final int TOUCH_WIDTH_DP = 32;
+    private static final int POPUP_SIZE_DP = 72;
+    private static final int POPUP_MARGIN_DP = 16;
+    private static final int POPUP_TEXT_SIZE_SP = 32;
+    // The thumb is only shown if there are this many screens of rows.
+    private static final int MIN_PAGE_COUNT = 4;
+
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final RecyclerView mRecyclerView;
+
+    private final int mThumbWidth;
+    private final int mThumbHeight;
+    private final int mTouchWidth;
+    private final int mPopupSize;
+    private final int mPopupMargin;
+
+    @NonNull
+    private final Paint mThumbPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    @NonNull
+    private final Paint mPopupPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    @NonNull
+    private final Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    @NonNull
+    private final RectF mRect = new RectF();
+
+    @Nullable
+    private SectionIndexer mSectionIndexer;
+
+    private boolean mDragging;
+    // The top of the thumb as a fraction of the track while it is dragged.
+    private float mDragFraction;
+    private int mDragRow = RecyclerView.NO_POSITION;
+
+    public FastScroller(@NonNull ITableView tableView) {
+        this.mTableView = tableView;
+        this.mRecyclerView = tableView.getCellRecyclerView();
+
+        DisplayMetrics metrics = mRecyclerView.getResources().getDisplayMetrics();
+        mThumbWidth = (int) (THUMB_WIDTH_DP * metrics.density);
+        mThumbHeight = (int) (THUMB_HEIGHT_DP * metrics.density);
+        mTouchWidth = (int) (TOUCH_WIDTH_DP * metrics.density);
+        mPopupSize = (int) (POPUP_SIZE_DP * metrics.density);
+        mPopupMargin = (int) (POPUP_MARGIN_DP * metrics.density);
+
+        setColor(Color.GRAY);
+        mTextPaint.setColor(Color.WHITE);
+        mTextPaint.setTextAlign(Paint.Align.CENTER);
+        mTextPaint.setTextSize(POPUP_TEXT_SIZE_SP * metrics.scaledDensity);
+    }
+
+    /**
+     * Shows the thumb on the cells.
+     */
+    public void attach() {
+        mRecyclerView.addItemDecoration(this);
+        mRecyclerView.addOnItemTouchListener(this);
+    }
+
+    public void detach() {
+        mRecyclerView.removeItemDecoration(this);
+        mRecyclerView.removeOnItemTouchListener(this);
+    }
+
+    public void setColor(@ColorInt int color) {
+        mThumbPaint.setColor(color);
+        mPopupPaint.setColor(color);
+        mRecyclerView.invalidate();
+    }
+
+    /**
+     * Sets the sections of the rows whose labels are shown while the thumb is dragged, or null
+     * to show no label.
+     *
+     * @see ColumnSectionIndexer
+     */
+    public void setSectionIndexer(@Nullable SectionIndexer sectionIndexer) {
+        mSectionIndexer = sectionIndexer;
+    }
+
+    public boolean isDragging() {
+        return mDragging;
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull
+            RecyclerView.State state) {
+        if (!isShown()) {
+            return;
+        }
+
+        int thumbTop = getThumbTop();
+        int right = parent.getWidth() - parent.getPaddingRight();
+        mRect.set(right - mThumbWidth, thumbTop, right, thumbTop + mThumbHeight);
+        canvas.drawRoundRect(mRect, mThumbWidth / 2f, mThumbWidth / 2f, mThumbPaint);
+
+        if (mDragging && mSectionIndexer != null && mDragRow != RecyclerView.NO_POSITION) {
+            Object[] sections = mSectionIndexer.getSections();
+            int section = mSectionIndexer.getSectionForPosition(mDragRow);
+            if (section >= 0 && section < sections.length) {
+                drawPopup(canvas, sections[section].toString(), right, thumbTop);
+            }
+        }
+    }
+
+    private void drawPopup(@NonNull Canvas canvas, @NonNull String label, int right, int
+            thumbTop) {
+        int popupRight = right - mThumbWidth - mPopupMargin;
+        int popupTop = Math.max(0, Math.min(thumbTop + mThumbHeight / 2 - mPopupSize / 2,
+                getTrackHeight() + mThumbHeight - mPopupSize));
+        mRect.set(popupRight - mPopupSize, popupTop, popupRight, popupTop + mPopupSize);
+        canvas.drawRoundRect(mRect, mPopupSize / 4f, mPopupSize / 4f, mPopupPaint);
+
+        float baseline = mRect.centerY() - (mTextPaint.descent() + mTextPaint.ascent()) / 2;
+        canvas.drawText(label, mRect.centerX(), baseline, mTextPaint);
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull RecyclerView recyclerView, @NonNull
+            MotionEvent event) {
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN && isShown() && isOnThumb(event
+                .getX(), event.getY())) {
+            mDragging = true;
+            recyclerView.stopScroll();
+            recyclerView.getParent().requestDisallowInterceptTouchEvent(true);
+            drag(event.getY());
+            return true;
+        }
+        return mDragging;
+    }
+
+    @Override
+    public void onTouchEvent(@NonNull RecyclerView recyclerView, @NonNull MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                drag(event.getY());
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                mDragging = false;
+                mDragRow = RecyclerView.NO_POSITION;
+                mRecyclerView.invalidate();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+    }
+
+    private void drag(float y) {
+        mDragFraction = Math.max(0, Math.min((y - mRecyclerView.getPaddingTop() -
+                mThumbHeight / 2f) / Math.max
+                (getTrackHeight(), 1), 1));
+
+        int rowCount = getRowCount();
+        int row = Math.round(mDragFraction * Math.max(rowCount - getVisibleRowCount(), 0));
+        if (row != mDragRow && row < rowCount) {
+            mDragRow = row;
+            mTableView.getScrollHandler().scrollToRowPosition(row, 0);
+        }
+        mRecyclerView.invalidate();
+    }
+
+    private boolean isOnThumb(float x, float y) {
+        int thumbTop = getThumbTop();
+        return x >= mRecyclerView.getWidth() - mRecyclerView.getPaddingRight() - mTouchWidth &&
+                y >= thumbTop && y <= thumbTop + mThumbHeight;
+    }
+
+    private boolean isShown() {
+        int visibleRowCount = getVisibleRowCount();
+        return visibleRowCount > 0 && getRowCount() >= visibleRowCount * MIN_PAGE_COUNT;
+    }
+
+    private int getThumbTop() {
+        int top = mRecyclerView.getPaddingTop();
+        if (mDragging) {
+            return top + Math.round(mDragFraction * getTrackHeight());
+        }
+
+        // The thumb follows the first visible row, which doesn't need the rows above it.
+        int scrollableRowCount = getRowCount() - getVisibleRowCount();
+        int first = getFirstVisibleRow();
+        float fraction = scrollableRowCount > 0 ? Math.min((float) first / scrollableRowCount,
+                1f) : 0f;
+        return top + Math.round(fraction * getTrackHeight());
+    }
+
+    private int getTrackHeight() {
+        return mRecyclerView.getHeight() - mRecyclerView.getPaddingTop() - mRecyclerView
+                .getPaddingBottom() - mThumbHeight;
+    }
+
+    private int getRowCount() {
+        return mTableView.getRowHeaderRecyclerView().getAdapter() != null ? mTableView
+                .getRowHeaderRecyclerView().getAdapter().getItemCount() : 0;
+    }
+
+    private int getFirstVisibleRow() {
+        return Math.max(mTableView.getRowHeaderLayoutManager().findFirstVisibleItemPosition(),
+                0);
+    }
+
+    private int getVisibleRowCount() {
+        LinearLayoutManager layoutManager = mTableView.getRowHeaderLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        return first == RecyclerView.NO_POSITION ? 0 : layoutManager
+                .findLastVisibleItemPosition() - first + 1;
+    }
+}
@@ -22,9 +22,14 @@ import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.DiffUtil;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.ColumnHeaderRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.RowHeaderRecyclerViewAdapter;
+import com.evrencoskun.tableview.dictionary.ColumnDictionary;
+import com.evrencoskun.tableview.dictionary.IDictionaryEncodedModel;
+import com.evrencoskun.tableview.dictionary.ValueDictionary;
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
 import com.evrencoskun.tableview.sort.ColumnForRowHeaderSortComparator;
 import com.evrencoskun.tableview.sort.ColumnSortCallback;
 import com.evrencoskun.tableview.sort.ColumnSortComparator;
@@ -33,9 +38,12 @@ import com.evrencoskun.tableview.sort.ISortableModel;
 import com.evrencoskun.tableview.sort.RowHeaderForCellSortComparator;
 import com.evrencoskun.tableview.sort.RowHeaderSortCallback;
 import com.evrencoskun.tableview.sort.RowHeaderSortComparator;
+import com.evrencoskun.tableview.sort.RowIndexSortComparator;
 import com.evrencoskun.tableview.sort.SortState;
+import com.evrencoskun.tableview.util.IndexedList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -51,6 +59,8 @@ public class ColumnSortHandler {
 
     private List<ColumnSortStateChangedListener> columnSortStateChangedListeners = new ArrayList<>();
     private boolean mEnableAnimation = true;
+    @NonNull
+    private final ITableView mTableView;
 
     public boolean isEnableAnimation() {
         return mEnableAnimation;
@@ -61,8 +71,9 @@ public class ColumnSortHandler {
     }
 
     public ColumnSortHandler(@NonNull ITableView tableView) {
-        this.mCellRecyclerViewAdapter = (CellRecyclerViewAdapter<List<ISortableModel>>) tableView.getCellRecyclerView()
-                .getAdapter();
+        this.mTableView = tableView;
+        this.mCellRecyclerViewAdapter = (CellRecyclerViewAdapter<List<ISortableModel>>) tableView.getAdapter()
+                .getCellRecyclerViewAdapter();
 
         this.mRowHeaderRecyclerViewAdapter = (RowHeaderRecyclerViewAdapter<ISortableModel>) tableView
                 .getRowHeaderRecyclerView().getAdapter();
@@ -72,6 +83,19 @@ public class ColumnSortHandler {
     }
 
     public void sortByRowHeader(@NonNull final SortState sortState) {
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+
+        if (isSortedByIndices()) {
+            sortByIndices(-1, sortState);
+            mRowHeaderRecyclerViewAdapter.getRowHeaderSortHelper().setSortingStatus(sortState);
+            for (ColumnSortStateChangedListener listener : columnSortStateChangedListeners) {
+                listener.onRowHeaderSortStatusChanged(sortState);
+            }
+            metrics.end(TableViewMetrics.SORT, start);
+            return;
+        }
+
         List<ISortableModel> originalRowHeaderList = mRowHeaderRecyclerViewAdapter.getItems();
         List<ISortableModel> sortedRowHeaderList = new ArrayList<>(originalRowHeaderList);
 
@@ -96,9 +120,24 @@ public class ColumnSortHandler {
 
         // Set sorted data list
         swapItems(originalRowHeaderList, sortedRowHeaderList, sortedList, sortState);
+        metrics.end(TableViewMetrics.SORT, start);
     }
 
     public void sort(int column, @NonNull SortState sortState) {
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+
+        if (isSortedByIndices()) {
+            sortByIndices(column, sortState);
+            mColumnHeaderRecyclerViewAdapter.getColumnSortHelper().setSortingStatus(column,
+                    sortState);
+            for (ColumnSortStateChangedListener listener : columnSortStateChangedListeners) {
+                listener.onColumnSortStatusChanged(column, sortState);
+            }
+            metrics.end(TableViewMetrics.SORT, start);
+            return;
+        }
+
         List<List<ISortableModel>> originalList = mCellRecyclerViewAdapter.getItems();
         List<List<ISortableModel>> sortedList = new ArrayList<>(originalList);
 
@@ -107,7 +146,9 @@ public class ColumnSortHandler {
         List<ISortableModel> sortedRowHeaderList
                 = new ArrayList<>(originalRowHeaderList);
 
-        if (sortState != SortState.UNSORTED) {
+        // An encoded column is sorted by its codes, otherwise by the contents of its cells.
+        if (sortState != SortState.UNSORTED && !sortByCodes(column, sortState, originalList,
+                originalRowHeaderList, sortedList, sortedRowHeaderList)) {
             // Do descending / ascending sort
             Collections.sort(sortedList, new ColumnSortComparator(column, sortState));
 
@@ -127,6 +168,120 @@ public class ColumnSortHandler {
 
         // Set sorted data list
         swapItems(originalList, sortedList, column, sortedRowHeaderList, sortState);
+        metrics.end(TableViewMetrics.SORT, start);
+    }
+
+    /**
+     * Returns whether the rows have been wrapped by the adapter, so they may be loaded lazily.
+     * They are sorted by their indices instead of being copied.
+     */
+    private boolean isSortedByIndices() {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        return adapter != null && adapter.isItemsWrapped() && mRowHeaderRecyclerViewAdapter
+                .getItemCount() == mCellRecyclerViewAdapter.getItemCount();
+    }
+
+    /**
+     * Sorts the rows by the given column, or by the row headers if the column is -1, and lets
+     * the adapters show views of the rows in the sorted order. The sort key of each row is read
+     * once and no row is kept.
+     */
+    private void sortByIndices(int column, @NonNull SortState sortState) {
+        if (sortState == SortState.UNSORTED) {
+            // The rows keep their current order.
+            return;
+        }
+
+        List<List<ISortableModel>> originalList = mCellRecyclerViewAdapter.getItems();
+        List<ISortableModel> originalRowHeaderList = mRowHeaderRecyclerViewAdapter.getItems();
+
+        int[] order = column >= 0 ? getCodeOrder(column, sortState, originalList) : null;
+        if (order == null) {
+            Object[] keys = new Object[originalList.size()];
+            for (int i = 0; i < keys.length; i++) {
+                ISortableModel item = column >= 0 ? originalList.get(i).get(column) :
+                        originalRowHeaderList.get(i);
+                keys[i] = item != null ? item.getContent() : null;
+            }
+            order = RowIndexSortComparator.sort(keys, sortState);
+        }
+
+        // Diffing would read every row, so the rows are changed at once.
+        mRowHeaderRecyclerViewAdapter.wrapItems(IndexedList.of(originalRowHeaderList, order,
+                order.length), true);
+        mCellRecyclerViewAdapter.wrapItems(IndexedList.of(originalList, order, order.length),
+                true);
+    }
+
+    /**
+     * Sorts the rows by the sort ranks of the codes of the given column, if the column is
+     * encoded in the value dictionary of the adapter. Returns false if it isn't.
+     */
+    private boolean sortByCodes(int column, @NonNull SortState sortState,
+                                @NonNull List<List<ISortableModel>> originalList,
+                                @NonNull List<ISortableModel> originalRowHeaderList,
+                                @NonNull List<List<ISortableModel>> sortedList,
+                                @NonNull List<ISortableModel> sortedRowHeaderList) {
+        if (originalRowHeaderList.size() != originalList.size()) {
+            return false;
+        }
+
+        int[] order = getCodeOrder(column, sortState, originalList);
+        if (order == null) {
+            return false;
+        }
+
+        sortedList.clear();
+        sortedRowHeaderList.clear();
+        for (int row : order) {
+            sortedList.add(originalList.get(row));
+            sortedRowHeaderList.add(originalRowHeaderList.get(row));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the row indices ordered by the sort ranks of the codes of the given column, or
+     * null if the column isn't encoded in the value dictionary of the adapter.
+     */
+    @Nullable
+    private int[] getCodeOrder(int column, @NonNull SortState sortState, @NonNull
+            List<List<ISortableModel>> originalList) {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        ValueDictionary dictionary = adapter != null ? adapter.getValueDictionary() : null;
+        ColumnDictionary columnDictionary = dictionary != null ? dictionary.findColumn(column)
+                : null;
+        if (columnDictionary == null) {
+            return null;
+        }
+
+        int[] ranks = columnDictionary.getSortRanks();
+
+        // The rank is in the high bits and the row in the low bits, so sorting the keys sorts
+        // the rows by rank and keeps the order of the equal ones like a stable sort does.
+        long[] keys = new long[originalList.size()];
+        for (int i = 0; i < keys.length; i++) {
+            ISortableModel cell = originalList.get(i).get(column);
+            if (!(cell instanceof IDictionaryEncodedModel)) {
+                return null;
+            }
+
+            int code = ((IDictionaryEncodedModel) cell).getCode();
+            if (code < 0 || code >= ranks.length) {
+                return null;
+            }
+
+            int rank = sortState == SortState.DESCENDING ? ranks.length - 1 - ranks[code] :
+                    ranks[code];
+            keys[i] = ((long) rank << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
     }
 
     private void swapItems(@NonNull List<ISortableModel> oldRowHeader,
@@ -202,6 +357,61 @@ public class ColumnSortHandler {
         return mRowHeaderRecyclerViewAdapter.getRowHeaderSortHelper().getSortingStatus();
     }
 
+    /**
+     * Returns whether the rows are sorted by a column or by the row header.
+     */
+    public boolean isSorting() {
+        SortState rowHeaderState = getRowHeaderSortingStatus();
+        return (rowHeaderState != null && rowHeaderState != SortState.UNSORTED) ||
+                mColumnHeaderRecyclerViewAdapter.getColumnSortHelper().getSortingColumn() != -1;
+    }
+
+    /**
+     * Returns the position at which the row keeps the given rows sorted, after the rows which
+     * are equal to it. It is the end of the rows if they aren't sorted.
+     */
+    public int getSortedPosition(@NonNull List<ISortableModel> rowHeaderItems, @NonNull
+            List<List<ISortableModel>> cellItems, @Nullable ISortableModel rowHeaderItem,
+            @NonNull List<ISortableModel> cellItem) {
+        int low = 0;
+        int high = cellItems.size();
+
+        SortState rowHeaderState = getRowHeaderSortingStatus();
+        if (rowHeaderState != null && rowHeaderState != SortState.UNSORTED) {
+            if (rowHeaderItem == null || rowHeaderItems.size() != high) {
+                return high;
+            }
+
+            RowHeaderSortComparator comparator = new RowHeaderSortComparator(rowHeaderState);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(rowHeaderItems.get(middle), rowHeaderItem) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        int column = mColumnHeaderRecyclerViewAdapter.getColumnSortHelper().getSortingColumn();
+        if (column == -1) {
+            return high;
+        }
+
+        ColumnSortComparator comparator = new ColumnSortComparator(column, getSortingStatus
+                (column));
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(cellItems.get(middle), cellItem) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /**
      * Sets the listener for the changes in column sorting.
      *
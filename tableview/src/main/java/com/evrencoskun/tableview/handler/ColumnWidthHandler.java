@@ -18,8 +18,14 @@
 package com.evrencoskun.tableview.handler;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthModel;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthSpec;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by evrencoskun on 25.04.2018.
@@ -29,6 +35,11 @@ public class ColumnWidthHandler {
     @NonNull
     private ITableView mTableView;
 
+    @Nullable
+    private List<ColumnWidthSpec> mColumnWidthSpecs;
+    @NonNull
+    private ColumnWidthSpec mDefaultColumnWidthSpec = ColumnWidthSpec.weight(1);
+
     public ColumnWidthHandler(@NonNull ITableView tableView) {
         mTableView = tableView;
     }
@@ -42,4 +53,46 @@ public class ColumnWidthHandler {
         mTableView.getCellLayoutManager().setCacheWidth(columnPosition, width);
     }
 
+    /**
+     * Declares the widths of the columns by their positions. The columns are not measured to fit
+     * their contents while the specs are set. Null lets the columns be measured again.
+     */
+    public void setColumnWidthSpecs(@Nullable List<ColumnWidthSpec> columnWidthSpecs) {
+        mColumnWidthSpecs = columnWidthSpecs != null ? new ArrayList<>(columnWidthSpecs) : null;
+        if (mColumnWidthSpecs == null) {
+            getColumnWidthModel().setDeclaredWidths(null);
+        }
+    }
+
+    /**
+     * Sets the spec of the columns which have no spec. They share the remaining width equally
+     * by default.
+     */
+    public void setDefaultColumnWidthSpec(@NonNull ColumnWidthSpec defaultColumnWidthSpec) {
+        this.mDefaultColumnWidthSpec = defaultColumnWidthSpec;
+    }
+
+    public boolean hasColumnWidthSpecs() {
+        return mColumnWidthSpecs != null;
+    }
+
+    /**
+     * Resolves the declared widths for the given column count and the width which is available
+     * for the columns. It is called by the TableView before its children are measured.
+     */
+    public void resolveColumnWidthSpecs(int columnCount, int availableWidth) {
+        if (mColumnWidthSpecs == null) {
+            return;
+        }
+
+        // The model ignores the widths if they haven't changed.
+        getColumnWidthModel().setDeclaredWidths(ColumnWidthSpec.resolve(mColumnWidthSpecs,
+                mDefaultColumnWidthSpec, columnCount, availableWidth));
+    }
+
+    @NonNull
+    private ColumnWidthModel getColumnWidthModel() {
+        return mTableView.getColumnHeaderLayoutManager().getColumnWidthModel();
+    }
+
 }
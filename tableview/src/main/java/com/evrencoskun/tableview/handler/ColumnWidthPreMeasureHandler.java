@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.handler;
+
+import android.text.TextPaint;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.filter.IFilterableModel;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthModel;
+import com.evrencoskun.tableview.sort.ISortableModel;
+import com.evrencoskun.tableview.util.TableViewExecutors;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Estimates the widths of the columns on a background thread when new cell items are set, so
+ * the columns don't jump wider while the user scrolls into longer content. The texts of a
+ * sample of rows are measured with a {@link TextPaint}: the first and the last rows, some
+ * random rows and the rows with the longest texts of each column. The estimated widths seed the
+ * {@link ColumnWidthModel}, and the measurement of the views can still make a column wider.
+ */
+public class ColumnWidthPreMeasureHandler {
+
+    /**
+     * Returns the text which is displayed for a cell or a column header item.
+     */
+    public interface TextProvider {
+        @Nullable
+        CharSequence getText(@NonNull Object item);
+    }
+
+    private static final int DEFAULT_EDGE_ROW_COUNT = 50;
+    private static final int DEFAULT_RANDOM_ROW_COUNT = 100;
+    private static final int DEFAULT_LONGEST_ROW_COUNT = 10;
+
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final TextPaint mTextPaint;
+    @NonNull
+    private TextProvider mTextProvider = ColumnWidthPreMeasureHandler::getDefaultText;
+
+    private int mHorizontalPadding;
+    private int mEdgeRowCount = DEFAULT_EDGE_ROW_COUNT;
+    private int mRandomRowCount = DEFAULT_RANDOM_ROW_COUNT;
+    private int mLongestRowCount = DEFAULT_LONGEST_ROW_COUNT;
+
+    // Lets a measurement drop its result if newer items have been set in the meantime.
+    private int mGeneration;
+
+    /**
+     * @param textPaint The paint which the cells draw their texts with. It is copied.
+     */
+    public ColumnWidthPreMeasureHandler(@NonNull ITableView tableView, @NonNull TextPaint
+            textPaint) {
+        this.mTableView = tableView;
+        this.mTextPaint = new TextPaint(textPaint);
+    }
+
+    public void setTextProvider(@NonNull TextProvider textProvider) {
+        this.mTextProvider = textProvider;
+    }
+
+    /**
+     * Sets the sum of the left and the right paddings of a cell around its text.
+     */
+    public void setHorizontalPadding(int horizontalPadding) {
+        this.mHorizontalPadding = horizontalPadding;
+    }
+
+    /**
+     * Sets how many rows are sampled from the start, from the end, at random and by the
+     * longest text of each column. Finding the longest texts reads the text of every cell,
+     * so it can be disabled by setting 0.
+     */
+    public void setSampleSizes(int edgeRowCount, int randomRowCount, int longestRowCount) {
+        this.mEdgeRowCount = edgeRowCount;
+        this.mRandomRowCount = randomRowCount;
+        this.mLongestRowCount = longestRowCount;
+    }
+
+    /**
+     * Starts measuring the given items. It is called by the adapter when the cell items are set.
+     */
+    @MainThread
+    public void preMeasure(@Nullable List<?> columnHeaderItems, @NonNull List<? extends List<?>>
+            cellItems) {
+        if (mTableView.hasFixedWidth()) {
+            return;
+        }
+
+        final int generation = ++mGeneration;
+        // Take a snapshot, the lists may change while they are being measured.
+        final List<?> headers = columnHeaderItems != null ? new ArrayList<>(columnHeaderItems) :
+                new ArrayList<>();
+        final List<List<?>> rows = new ArrayList<>(cellItems);
+        final TextPaint paint = new TextPaint(mTextPaint);
+        final TextProvider textProvider = mTextProvider;
+        final int padding = mHorizontalPadding;
+        final int edgeRowCount = mEdgeRowCount;
+        final int randomRowCount = mRandomRowCount;
+        final int longestRowCount = mLongestRowCount;
+
+        TableViewExecutors.background().execute(() -> {
+            final int[] widths = measure(headers, rows, paint, textProvider, padding,
+                    edgeRowCount, randomRowCount, longestRowCount);
+            TableViewExecutors.main().post(() -> {
+                if (generation == mGeneration) {
+                    apply(widths);
+                }
+            });
+        });
+    }
+
+    /**
+     * Drops the result of a running measurement.
+     */
+    @MainThread
+    public void cancel() {
+        mGeneration++;
+    }
+
+    @MainThread
+    private void apply(@NonNull int[] widths) {
+        ColumnWidthModel model = mTableView.getColumnHeaderLayoutManager().getColumnWidthModel();
+        int version = model.getVersion();
+        for (int column = 0; column < widths.length; column++) {
+            // A column is never made narrower than it has already been measured.
+            if (widths[column] > model.get(column)) {
+                model.set(column, widths[column]);
+            }
+        }
+
+        if (model.getVersion() != version) {
+            mTableView.getColumnHeaderRecyclerView().requestLayout();
+            mTableView.getCellLayoutManager().remeasureAllChild();
+        }
+    }
+
+    @WorkerThread
+    @NonNull
+    private static int[] measure(@NonNull List<?> headers, @NonNull List<List<?>> rows,
+                                 @NonNull TextPaint paint, @NonNull TextProvider textProvider,
+                                 int padding, int edgeRowCount, int randomRowCount,
+                                 int longestRowCount) {
+        int columnCount = headers.size();
+        for (int i = 0; i < rows.size(); i++) {
+            List<?> row = rows.get(i);
+            if (row != null) {
+                columnCount = Math.max(columnCount, row.size());
+            }
+        }
+
+        int rowCount = rows.size();
+        BitSet sample = new BitSet(rowCount);
+        sample.set(0, Math.min(edgeRowCount, rowCount));
+        sample.set(Math.max(0, rowCount - edgeRowCount), rowCount);
+        if (rowCount > 0) {
+            // Same seed for the same items, so the widths don't change between runs.
+            Random random = new Random(rowCount);
+            for (int i = 0; i < randomRowCount; i++) {
+                sample.set(random.nextInt(rowCount));
+            }
+        }
+
+        int[] widths = new int[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            float width = column < headers.size() ? measureText(headers.get(column),
+                    textProvider, paint) : 0;
+
+            for (int row = sample.nextSetBit(0); row >= 0; row = sample.nextSetBit(row + 1)) {
+                width = Math.max(width, measureText(getCell(rows, row, column), textProvider,
+                        paint));
+            }
+
+            if (longestRowCount > 0) {
+                for (int row : findLongestRows(rows, column, textProvider, longestRowCount)) {
+                    if (!sample.get(row)) {
+                        width = Math.max(width, measureText(getCell(rows, row, column),
+                                textProvider, paint));
+                    }
+                }
+            }
+
+            widths[column] = width > 0 ? (int) Math.ceil(width) + padding : ColumnWidthModel
+                    .UNKNOWN;
+        }
+        return widths;
+    }
+
+    /**
+     * Returns the rows which have the longest texts in the given column, by the number of
+     * characters.
+     */
+    @NonNull
+    private static int[] findLongestRows(@NonNull List<List<?>> rows, int column, @NonNull
+            TextProvider textProvider, int count) {
+        // The length is in the high bits and the row in the low bits, so the smallest of the
+        // kept rows is at the head of the queue.
+        PriorityQueue<Long> longest = new PriorityQueue<>(count + 1);
+        for (int row = 0; row < rows.size(); row++) {
+            Object cell = getCell(rows, row, column);
+            CharSequence text = cell != null ? textProvider.getText(cell) : null;
+            if (text == null) {
+                continue;
+            }
+
+            long key = ((long) text.length() << 32) | row;
+            if (longest.size() < count) {
+                longest.add(key);
+            } else if (key > longest.peek()) {
+                longest.poll();
+                longest.add(key);
+            }
+        }
+
+        int[] result = new int[longest.size()];
+        int index = 0;
+        for (long key : longest) {
+            result[index++] = (int) key;
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Object getCell(@NonNull List<List<?>> rows, int row, int column) {
+        List<?> cells = rows.get(row);
+        return cells != null && column < cells.size() ? cells.get(column) : null;
+    }
+
+    private static float measureText(@Nullable Object item, @NonNull TextProvider textProvider,
+                                     @NonNull TextPaint paint) {
+        CharSequence text = item != null ? textProvider.getText(item) : null;
+        if (text == null) {
+            return 0;
+        }
+
+        // The widest line gives the width of a multi line text.
+        float width = 0;
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == '\n') {
+                width = Math.max(width, paint.measureText(text, start, i));
+                start = i + 1;
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Returns the keyword of an {@link IFilterableModel}, the content of an
+     * {@link ISortableModel} or the string of any other item.
+     */
+    @Nullable
+    public static CharSequence getDefaultText(@NonNull Object item) {
+        if (item instanceof IFilterableModel) {
+            return ((IFilterableModel) item).getFilterableKeyword();
+        } else if (item instanceof ISortableModel) {
+            Object content = ((ISortableModel) item).getContent();
+            return content != null ? content.toString() : null;
+        }
+        return item.toString();
+    }
+}
@@ -17,34 +17,57 @@
 
 package com.evrencoskun.tableview.handler;
 
+import android.util.SparseArray;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.AdapterDataSetChangedListener;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.RowHeaderRecyclerViewAdapter;
+import com.evrencoskun.tableview.dictionary.ColumnDictionary;
+import com.evrencoskun.tableview.dictionary.IDictionaryEncodedModel;
+import com.evrencoskun.tableview.dictionary.ValueDictionary;
 import com.evrencoskun.tableview.filter.Filter;
 import com.evrencoskun.tableview.filter.FilterChangedListener;
 import com.evrencoskun.tableview.filter.FilterItem;
 import com.evrencoskun.tableview.filter.FilterType;
 import com.evrencoskun.tableview.filter.IFilterableModel;
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
+import com.evrencoskun.tableview.util.IndexedList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class FilterHandler<T extends IFilterableModel> {
+    // Whether the keyword of a code contains the filter, each code is checked only once.
+    private static final byte UNKNOWN = 0;
+    private static final byte MATCH = 1;
+    private static final byte NO_MATCH = 2;
 
     private CellRecyclerViewAdapter<List<T>> mCellRecyclerViewAdapter;
     private RowHeaderRecyclerViewAdapter<T> mRowHeaderRecyclerViewAdapter;
     private List<List<T>> originalCellDataStore;
     private List<T> originalRowDataStore;
+    // Whether the original data is a wrapped list which mustn't be copied.
+    private boolean mOriginalDataWrapped;
+    // The filter which is applied, or null if the rows aren't filtered.
+    @Nullable
+    private Filter mFilter;
 
     private List<FilterChangedListener<T>> filterChangedListeners;
 
+    @NonNull
+    private final ITableView mTableView;
+
     public FilterHandler(@NonNull ITableView tableView) {
+        this.mTableView = tableView;
         tableView.getAdapter().addAdapterDataSetChangedListener(adapterDataSetChangedListener);
         this.mCellRecyclerViewAdapter = (CellRecyclerViewAdapter<List<T>>) tableView
-                .getCellRecyclerView().getAdapter();
+                .getAdapter().getCellRecyclerViewAdapter();
 
         this.mRowHeaderRecyclerViewAdapter = (RowHeaderRecyclerViewAdapter<T>) tableView
                 .getRowHeaderRecyclerView().getAdapter();
@@ -55,65 +78,159 @@ public class FilterHandler<T extends IFilterableModel> {
             return;
         }
 
-        List<List<T>> originalCellData = new ArrayList<>(originalCellDataStore);
-        List<T> originalRowData = new ArrayList<>(originalRowDataStore);
-        List<List<T>> filteredCellList = new ArrayList<>();
-        List<T> filteredRowList = new ArrayList<>();
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+
+        List<List<T>> filteredCellList;
+        List<T> filteredRowList;
 
         if (filter.getFilterItems().isEmpty()) {
-            filteredCellList = new ArrayList<>(originalCellDataStore);
-            filteredRowList = new ArrayList<>(originalRowDataStore);
+            mFilter = null;
+            filteredCellList = originalCellDataStore;
+            filteredRowList = originalRowDataStore;
             dispatchFilterClearedToListeners(originalCellDataStore, originalRowDataStore);
         } else {
-            for (int x = 0; x < filter.getFilterItems().size(); ) {
-                final FilterItem filterItem = filter.getFilterItems().get(x);
-                if (filterItem.getFilterType().equals(FilterType.ALL)) {
-                    for (List<T> itemsList : originalCellData) {
-                        for (T item : itemsList) {
-                            if (item
-                                    .getFilterableKeyword()
-                                    .toLowerCase()
-                                    .contains(filterItem
-                                            .getFilter()
-                                            .toLowerCase())) {
-                                filteredCellList.add(itemsList);
-                                filteredRowList.add(originalRowData.get(filteredCellList.indexOf(itemsList)));
-                                break;
-                            }
-                        }
-                    }
-                } else {
-                    for (List<T> itemsList : originalCellData) {
-                        if (itemsList
-                                .get(filterItem
-                                        .getColumn())
-                                .getFilterableKeyword()
-                                .toLowerCase()
-                                .contains(filterItem
-                                        .getFilter()
-                                        .toLowerCase())) {
-                            filteredCellList.add(itemsList);
-                            filteredRowList.add(originalRowData.get(filteredCellList.indexOf(itemsList)));
-                        }
-                    }
-                }
+            mFilter = filter;
+            // The indices of the source rows which match every filter item, so the rows
+            // themselves are neither copied nor kept.
+            int[] rows = filterRows(originalCellDataStore, filter);
+            int count = rows.length;
 
-                // If this is the last filter to be processed, the filtered lists will not be cleared.
-                if (++x < filter.getFilterItems().size()) {
-                    originalCellData = new ArrayList<>(filteredCellList);
-                    originalRowData = new ArrayList<>(filteredRowList);
-                    filteredCellList.clear();
-                    filteredRowList.clear();
-                }
-            }
+            filteredCellList = getRows(originalCellDataStore, rows, count);
+            filteredRowList = getRows(originalRowDataStore, rows, count);
         }
 
         // Sets the filtered data to the TableView.
-        mRowHeaderRecyclerViewAdapter.setItems(filteredRowList, true);
-        mCellRecyclerViewAdapter.setItems(filteredCellList, true);
+        if (mOriginalDataWrapped) {
+            mRowHeaderRecyclerViewAdapter.wrapItems(filteredRowList, true);
+            mCellRecyclerViewAdapter.wrapItems(filteredCellList, true);
+        } else {
+            mRowHeaderRecyclerViewAdapter.setItems(filteredRowList, true);
+            mCellRecyclerViewAdapter.setItems(filteredCellList, true);
+        }
 
         // Tells the listeners that the TableView is filtered.
         dispatchFilterChangedToListeners(filteredCellList, filteredRowList);
+        metrics.end(TableViewMetrics.FILTER, start);
+    }
+
+    /**
+     * Returns whether the rows are filtered.
+     */
+    public boolean isFiltered() {
+        return mFilter != null;
+    }
+
+    /**
+     * Returns the indices of the given rows which match the filter which is applied, so rows
+     * which are appended are shown like the filtered ones. Every row matches if the rows
+     * aren't filtered.
+     */
+    @NonNull
+    public int[] getMatchingRows(@NonNull List<List<T>> cellItems) {
+        if (mFilter != null) {
+            return filterRows(cellItems, mFilter);
+        }
+
+        int[] rows = new int[cellItems.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    @NonNull
+    private int[] filterRows(@NonNull List<List<T>> cellItems, @NonNull Filter filter) {
+        int count = cellItems.size();
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = i;
+        }
+
+        ValueDictionary dictionary = getValueDictionary();
+        for (FilterItem filterItem : filter.getFilterItems()) {
+            // Lower the filter once, and each distinct value of an encoded column once.
+            final String filterText = filterItem.getFilter().toLowerCase();
+            final SparseArray<byte[]> codeMatches = new SparseArray<>();
+
+            int matched = 0;
+            for (int i = 0; i < count; i++) {
+                List<T> itemsList = cellItems.get(rows[i]);
+                if (matches(itemsList, filterItem, filterText, dictionary, codeMatches)) {
+                    rows[matched++] = rows[i];
+                }
+            }
+            count = matched;
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    private boolean matches(@NonNull List<T> itemsList, @NonNull FilterItem filterItem, @NonNull
+            String filterText, @Nullable ValueDictionary dictionary, @NonNull
+            SparseArray<byte[]> codeMatches) {
+        if (!filterItem.getFilterType().equals(FilterType.ALL)) {
+            return contains(itemsList.get(filterItem.getColumn()), filterItem.getColumn(),
+                    filterText, dictionary, codeMatches);
+        }
+
+        for (int column = 0; column < itemsList.size(); column++) {
+            if (contains(itemsList.get(column), column, filterText, dictionary, codeMatches)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the items of the source at the given row indices. A wrapped source may be loaded
+     * lazily, so a view of it is returned instead of a copy.
+     */
+    @NonNull
+    private <I> List<I> getRows(@NonNull List<I> source, @NonNull int[] rows, int count) {
+        if (mOriginalDataWrapped) {
+            return IndexedList.of(source, rows, count);
+        }
+
+        List<I> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(source.get(rows[i]));
+        }
+        return items;
+    }
+
+    private boolean contains(@NonNull T item, int column, @NonNull String filterText, @Nullable
+            ValueDictionary dictionary, @NonNull SparseArray<byte[]> codeMatches) {
+        ColumnDictionary columnDictionary = dictionary != null && item instanceof
+                IDictionaryEncodedModel ? dictionary.findColumn(column) : null;
+        if (columnDictionary != null) {
+            byte[] matches = codeMatches.get(column);
+            if (matches == null) {
+                matches = new byte[columnDictionary.size()];
+                codeMatches.put(column, matches);
+            }
+
+            int code = ((IDictionaryEncodedModel) item).getCode();
+            if (code >= 0 && code < matches.length) {
+                if (matches[code] == UNKNOWN) {
+                    matches[code] = columnDictionary.getKeyword(code, item).contains(filterText)
+                            ? MATCH : NO_MATCH;
+                }
+                return matches[code] == MATCH;
+            }
+            // The value has been encoded after the matches were created.
+        }
+        return item.getFilterableKeyword().toLowerCase().contains(filterText);
+    }
+
+    private boolean isItemsWrapped() {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        return adapter != null && adapter.isItemsWrapped();
+    }
+
+    @Nullable
+    private ValueDictionary getValueDictionary() {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        return adapter != null ? adapter.getValueDictionary() : null;
     }
 
     @NonNull
@@ -122,12 +239,29 @@ public class FilterHandler<T extends IFilterableModel> {
             new AdapterDataSetChangedListener() {
                 @Override
                 public void onRowHeaderItemsChanged(@NonNull List rowHeaderItems) {
-                    originalRowDataStore = new ArrayList<>(rowHeaderItems);
+                    // The wrapped lists are read only and may be loaded lazily.
+                    originalRowDataStore = isItemsWrapped() ? rowHeaderItems : new ArrayList<>
+                            (rowHeaderItems);
                 }
 
                 @Override
                 public void onCellItemsChanged(@NonNull List cellItems) {
-                    originalCellDataStore = new ArrayList<>(cellItems);
+                    mOriginalDataWrapped = isItemsWrapped();
+                    // The new rows are shown unfiltered.
+                    mFilter = null;
+                    originalCellDataStore = mOriginalDataWrapped ? cellItems : new ArrayList<>
+                            (cellItems);
+                }
+
+                @Override
+                public void onRowsAppended(@NonNull List rowHeaderItems, @NonNull List
+                        cellItems) {
+                    // The wrapped lists are read only, no row can be appended to them.
+                    if (originalCellDataStore != null && originalRowDataStore != null &&
+                            !mOriginalDataWrapped) {
+                        originalRowDataStore.addAll(rowHeaderItems);
+                        originalCellDataStore.addAll(cellItems);
+                    }
                 }
             };
 
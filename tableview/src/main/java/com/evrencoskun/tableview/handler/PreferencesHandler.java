@@ -27,12 +27,15 @@ import com.evrencoskun.tableview.preference.Preferences;
  */
 
 public class PreferencesHandler {
+    @NonNull
+    private TableView tableView;
     @NonNull
     private ScrollHandler scrollHandler;
     @NonNull
     private SelectionHandler selectionHandler;
 
     public PreferencesHandler(@NonNull TableView tableView) {
+        this.tableView = tableView;
         this.scrollHandler = tableView.getScrollHandler();
         this.selectionHandler = tableView.getSelectionHandler();
     }
@@ -46,10 +49,15 @@ public class PreferencesHandler {
         preferences.rowPositionOffset = scrollHandler.getRowPositionOffset();
         preferences.selectedColumnPosition = selectionHandler.getSelectedColumnPosition();
         preferences.selectedRowPosition = selectionHandler.getSelectedRowPosition();
+        preferences.columnWidths = tableView.getColumnWidthSnapshot();
         return preferences;
     }
 
     public void loadPreferences(@NonNull Preferences preferences) {
+        if (preferences.columnWidths != null) {
+            // The widths are restored first to let the columns be scrolled to their positions.
+            tableView.restoreColumnWidths(preferences.columnWidths);
+        }
         scrollHandler.scrollToColumnPosition(preferences.columnPosition, preferences.columnPositionOffset);
         scrollHandler.scrollToRowPosition(preferences.rowPosition, preferences.rowPositionOffset);
         selectionHandler.setSelectedColumnPosition(preferences.selectedColumnPosition);
@@ -17,22 +17,33 @@
 
 package com.evrencoskun.tableview.handler;
 
+import android.animation.ValueAnimator;
 import android.view.View;
+import android.view.animation.DecelerateInterpolator;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.layoutmanager.CellGridLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.CellLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
 import com.evrencoskun.tableview.layoutmanager.ColumnLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthModel;
+import com.evrencoskun.tableview.layoutmanager.RowHeightModel;
 
 /**
  * Created by evrencoskun on 13.01.2018.
  */
 
 public class ScrollHandler {
+    private static final int MIN_SMOOTH_SCROLL_DURATION = 250;
+    private static final int MAX_SMOOTH_SCROLL_DURATION = 600;
+    // A smooth scroll jumps close to a target which is further than this many screens.
+    private static final int MAX_SMOOTH_SCROLL_SCREENS = 2;
+
     @NonNull
     private ITableView mTableView;
     @NonNull
@@ -41,6 +52,8 @@ public class ScrollHandler {
     private LinearLayoutManager mRowHeaderLayoutManager;
     @NonNull
     private ColumnHeaderLayoutManager mColumnHeaderLayoutManager;
+    @Nullable
+    private ValueAnimator mSmoothScrollAnimator;
 
     public ScrollHandler(@NonNull ITableView tableView) {
         this.mTableView = tableView;
@@ -59,6 +72,8 @@ public class ScrollHandler {
         // Column Header should be scrolled firstly because of fitting column width process.
         scrollColumnHeader(columnPosition, 0);
         scrollCellHorizontally(columnPosition, 0);
+        // The rows which are laid out before the column header are placed again.
+        mTableView.getHorizontalRecyclerViewListener().getScrollCoordinator().relocateRows();
     }
 
     public void scrollToColumnPosition(int columnPosition, int offset) {
@@ -72,6 +87,37 @@ public class ScrollHandler {
         // Column Header should be scrolled firstly because of fitting column width process.
         scrollColumnHeader(columnPosition, offset);
         scrollCellHorizontally(columnPosition, offset);
+        // The rows which are laid out before the column header are placed again.
+        mTableView.getHorizontalRecyclerViewListener().getScrollCoordinator().relocateRows();
+    }
+
+    /**
+     * Scrolls the columns to the given offset from the left edge of the first column, which is
+     * resolved by the {@link ColumnWidthModel} without the columns in between being attached.
+     */
+    public void scrollToColumnOffset(long offset) {
+        ColumnWidthModel model = mColumnHeaderLayoutManager.getColumnWidthModel();
+        int column = model.getColumnAt(offset);
+        if (column < 0) {
+            return;
+        }
+        scrollToColumnPosition(column, (int) -(Math.max(offset, 0) - model.getLeft(column)));
+    }
+
+    /**
+     * Returns the column at the given offset from the left edge of the first column, or -1 if
+     * there isn't any column.
+     */
+    public int getColumnAtOffset(long offset) {
+        return mColumnHeaderLayoutManager.getColumnWidthModel().getColumnAt(offset);
+    }
+
+    /**
+     * Returns the offset of the left edge of the viewport from the left edge of the first
+     * column.
+     */
+    public int getColumnScrollOffset() {
+        return mTableView.getColumnHeaderRecyclerView().computeHorizontalScrollOffset();
     }
 
     public void scrollToRowPosition(int rowPosition) {
@@ -84,6 +130,165 @@ public class ScrollHandler {
         mCellLayoutManager.scrollToPositionWithOffset(rowPosition, offset);
     }
 
+    /**
+     * Scrolls the rows to the given offset from the top of the first row, which is resolved by
+     * the {@link RowHeightModel} without laying out the rows in between.
+     */
+    public void scrollToRowOffset(long offset) {
+        RowHeightModel model = mCellLayoutManager.getRowHeightModel();
+        int row = model.getRow(offset);
+        if (row < 0) {
+            return;
+        }
+        scrollToRowPosition(row, (int) -(Math.max(offset, 0) - model.getOffset(row)));
+    }
+
+    public void smoothScrollToCell(int columnPosition, int rowPosition) {
+        smoothScrollToCell(columnPosition, rowPosition, false);
+    }
+
+    /**
+     * Scrolls both axes to the given cell in one animation, which moves the cells and the
+     * headers together by the same interpolated distance on every frame. The target is found by
+     * the offset models, so the cell doesn't need to be laid out. A target which is further
+     * than a couple of screens is jumped close to first, so the rows in between aren't bound.
+     * If the offsets aren't known yet, it jumps to the cell instead.
+     *
+     * @param center whether the cell is centered in the viewport, otherwise it is shown at the
+     *               top left.
+     */
+    public void smoothScrollToCell(int columnPosition, int rowPosition, boolean center) {
+        stopSmoothScroll();
+
+        final RecyclerView cellRecyclerView = mTableView.getCellRecyclerView();
+        final boolean grid = cellRecyclerView.getLayoutManager() instanceof CellGridLayoutManager;
+        int[] target = new int[2];
+        if (grid) {
+            ((CellGridLayoutManager) cellRecyclerView.getLayoutManager()).getScrollOffsetsToCell
+                    (columnPosition, rowPosition, center, target);
+        } else if (!getScrollOffsetsToCell(columnPosition, rowPosition, center, target)) {
+            scrollToColumnPosition(columnPosition);
+            scrollToRowPosition(rowPosition);
+            return;
+        }
+
+        int startX = grid ? cellRecyclerView.computeHorizontalScrollOffset() :
+                getColumnScrollOffset();
+        int startY = cellRecyclerView.computeVerticalScrollOffset();
+
+        // Jump close to a far target, the grid doesn't bind the cells it scrolls over anyway.
+        boolean jumped = false;
+        if (!grid) {
+            int maxDistanceX = mTableView.getColumnHeaderRecyclerView().getWidth() *
+                    MAX_SMOOTH_SCROLL_SCREENS;
+            if (Math.abs(target[0] - startX) > maxDistanceX) {
+                startX = target[0] - Integer.signum(target[0] - startX) * maxDistanceX;
+                scrollToColumnOffset(startX);
+                jumped = true;
+            }
+            int maxDistanceY = cellRecyclerView.getHeight() * MAX_SMOOTH_SCROLL_SCREENS;
+            if (Math.abs(target[1] - startY) > maxDistanceY) {
+                startY = target[1] - Integer.signum(target[1] - startY) * maxDistanceY;
+                scrollToRowOffset(startY);
+                jumped = true;
+            }
+        }
+
+        final int distanceX = target[0] - startX;
+        final int distanceY = target[1] - startY;
+        if (distanceX == 0 && distanceY == 0) {
+            return;
+        }
+
+        final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+        animator.setInterpolator(new DecelerateInterpolator());
+        animator.setDuration((long) Math.min(MAX_SMOOTH_SCROLL_DURATION,
+                MIN_SMOOTH_SCROLL_DURATION + Math.hypot(distanceX, distanceY) / 4));
+        final int[] scrolled = new int[2];
+        animator.addUpdateListener(animation -> {
+            float fraction = (float) animation.getAnimatedValue();
+            int dx = Math.round(distanceX * fraction) - scrolled[0];
+            int dy = Math.round(distanceY * fraction) - scrolled[1];
+            scrolled[0] += dx;
+            scrolled[1] += dy;
+
+            if (grid) {
+                // The grid keeps the headers in sync.
+                cellRecyclerView.scrollBy(dx, dy);
+            } else {
+                scrollBy(dx, dy);
+            }
+        });
+        mSmoothScrollAnimator = animator;
+
+        if (jumped) {
+            // Start once the jump has been laid out, which would override the first frames.
+            cellRecyclerView.post(() -> {
+                if (mSmoothScrollAnimator == animator) {
+                    animator.start();
+                }
+            });
+        } else {
+            animator.start();
+        }
+    }
+
+    public void stopSmoothScroll() {
+        if (mSmoothScrollAnimator != null) {
+            mSmoothScrollAnimator.cancel();
+            mSmoothScrollAnimator = null;
+        }
+    }
+
+    /**
+     * Scrolls the cells and both headers by the given distances. The column header is scrolled
+     * and the rows catch up with it before the next frame, the row header follows the cells.
+     */
+    private void scrollBy(int dx, int dy) {
+        if (dx != 0) {
+            RecyclerView columnHeaderRecyclerView = mTableView.getColumnHeaderRecyclerView();
+            columnHeaderRecyclerView.scrollBy(dx, 0);
+            mTableView.getHorizontalRecyclerViewListener().getScrollCoordinator().onScrolled
+                    (columnHeaderRecyclerView, dx);
+        }
+        if (dy != 0) {
+            mTableView.getCellRecyclerView().scrollBy(0, dy);
+        }
+    }
+
+    /**
+     * Sets the scroll offsets which show the cell at the top left or the center to the array,
+     * or returns false if the widths or the heights aren't known yet.
+     */
+    private boolean getScrollOffsetsToCell(int columnPosition, int rowPosition, boolean center,
+                                           @NonNull int[] outOffsets) {
+        ColumnWidthModel columnWidthModel = mColumnHeaderLayoutManager.getColumnWidthModel();
+        RowHeightModel rowHeightModel = mCellLayoutManager.getRowHeightModel();
+        if (!columnWidthModel.hasLefts() || !rowHeightModel.hasHeights()) {
+            return false;
+        }
+
+        RecyclerView columnHeaderRecyclerView = mTableView.getColumnHeaderRecyclerView();
+        RecyclerView cellRecyclerView = mTableView.getCellRecyclerView();
+        int viewportWidth = columnHeaderRecyclerView.getWidth() - columnHeaderRecyclerView
+                .getPaddingLeft() - columnHeaderRecyclerView.getPaddingRight();
+        int viewportHeight = cellRecyclerView.getHeight() - cellRecyclerView.getPaddingTop() -
+                cellRecyclerView.getPaddingBottom();
+
+        long x = columnWidthModel.getLeft(columnPosition);
+        long y = rowHeightModel.getOffset(rowPosition);
+        if (center) {
+            x -= (viewportWidth - (columnWidthModel.getLeft(columnPosition + 1) - x)) / 2;
+            y -= (viewportHeight - rowHeightModel.getHeight(rowPosition)) / 2;
+        }
+
+        long maxX = Math.max(columnWidthModel.getTotalWidth() - viewportWidth, 0);
+        long maxY = Math.max(rowHeightModel.getTotalHeight() - viewportHeight, 0);
+        outOffsets[0] = (int) Math.max(0, Math.min(x, maxX));
+        outOffsets[1] = (int) Math.max(0, Math.min(y, maxY));
+        return true;
+    }
+
     private void scrollCellHorizontally(int columnPosition, int offset) {
         CellLayoutManager cellLayoutManager = mTableView.getCellLayoutManager();
 
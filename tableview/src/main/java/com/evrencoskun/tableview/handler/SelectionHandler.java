@@ -75,6 +75,7 @@ public class SelectionHandler {
         if (shadowEnabled) {
             selectedCellView();
         }
+        invalidateTextCellRows();
     }
 
     public void setSelectedColumnPosition(@Nullable AbstractViewHolder selectedViewHolder, int column) {
@@ -86,6 +87,7 @@ public class SelectionHandler {
 
         // Set unselected others
         mSelectedRowPosition = UNSELECTED_POSITION;
+        invalidateTextCellRows();
     }
 
     public int getSelectedColumnPosition() {
@@ -101,6 +103,7 @@ public class SelectionHandler {
 
         // Set unselected others
         mSelectedColumnPosition = UNSELECTED_POSITION;
+        invalidateTextCellRows();
     }
 
     public int getSelectedRowPosition() {
@@ -129,10 +132,13 @@ public class SelectionHandler {
 
         this.mPreviousSelectedViewHolder = viewHolder;
 
-        // Change color
-        mPreviousSelectedViewHolder.setBackgroundColor(mTableView.getSelectedColor());
-        // Change state
-        mPreviousSelectedViewHolder.setSelected(SelectionState.SELECTED);
+        // A text cell has no view holder, it is drawn by its row.
+        if (mPreviousSelectedViewHolder != null) {
+            // Change color
+            mPreviousSelectedViewHolder.setBackgroundColor(mTableView.getSelectedColor());
+            // Change state
+            mPreviousSelectedViewHolder.setSelected(SelectionState.SELECTED);
+        }
     }
 
     private void restorePreviousSelectedView() {
@@ -409,14 +415,27 @@ public class SelectionHandler {
         unselectedRowHeader();
         unselectedCellView();
         unselectedColumnHeader();
+        invalidateTextCellRows();
     }
 
     public void setSelectedRowPosition(int row) {
         this.mSelectedRowPosition = row;
+        invalidateTextCellRows();
     }
 
     public void setSelectedColumnPosition(int column) {
         this.mSelectedColumnPosition = column;
+        invalidateTextCellRows();
+    }
+
+    /**
+     * Lets the text cell rows draw the selection again, since their cells have no views to be
+     * changed.
+     */
+    private void invalidateTextCellRows() {
+        if (mTableView.getTextCellRenderer() != null) {
+            mCellLayoutManager.invalidateRows();
+        }
     }
 
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.handler;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.adapter.StableIdTable;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerViewAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.RowHeaderRecyclerViewAdapter;
+import com.evrencoskun.tableview.util.RingBufferList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helps to display rows that only ever append, like logs. The rows are stored in fixed capacity
+ * ring buffers, so the oldest rows are evicted when the capacity is reached. Appended rows are
+ * collected and dispatched to the adapters once per frame, and the TableView follows the last
+ * row unless the user has scrolled away from it.
+ */
+public class StreamingHandler<RH, C> {
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final RowHeaderRecyclerViewAdapter<RH> mRowHeaderRecyclerViewAdapter;
+    @NonNull
+    private final CellRecyclerViewAdapter<List<C>> mCellRecyclerViewAdapter;
+    @NonNull
+    private final RingBufferList<RH> mRowHeaderItems;
+    @NonNull
+    private final RingBufferList<List<C>> mCellItems;
+
+    // Appended rows waiting for the next frame. They may be appended from any thread.
+    @NonNull
+    private final Object mLock = new Object();
+    @NonNull
+    private List<RH> mPendingRowHeaderItems = new ArrayList<>();
+    @NonNull
+    private List<List<C>> mPendingCellItems = new ArrayList<>();
+    private boolean mFrameScheduled;
+
+    @Nullable
+    private Choreographer mChoreographer;
+    @Nullable
+    private Choreographer.FrameCallback mFrameCallback;
+    @NonNull
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    // A single instance, so a posted flush can be removed.
+    @NonNull
+    private final Runnable mFlushRunnable = this::flush;
+    private volatile boolean mDetached;
+
+    private boolean mFollowTail = true;
+
+    public StreamingHandler(@NonNull ITableView tableView,
+                            @NonNull RowHeaderRecyclerViewAdapter<RH> rowHeaderRecyclerViewAdapter,
+                            @NonNull CellRecyclerViewAdapter<List<C>> cellRecyclerViewAdapter,
+                            int capacity) {
+        this.mTableView = tableView;
+        this.mRowHeaderRecyclerViewAdapter = rowHeaderRecyclerViewAdapter;
+        this.mCellRecyclerViewAdapter = cellRecyclerViewAdapter;
+        this.mRowHeaderItems = new RingBufferList<>(capacity);
+        this.mCellItems = new RingBufferList<>(capacity);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            // It must be obtained on the main thread to post the callbacks to the main looper.
+            mChoreographer = Choreographer.getInstance();
+            mFrameCallback = frameTimeNanos -> flush();
+        }
+
+        attach();
+    }
+
+    /**
+     * Adds a row to the end of the table on the next frame. It is safe to call it from any
+     * thread.
+     */
+    public void append(@Nullable RH rowHeaderItem, @Nullable List<C> cellItems) {
+        synchronized (mLock) {
+            if (mDetached) {
+                return;
+            }
+            mPendingRowHeaderItems.add(rowHeaderItem);
+            mPendingCellItems.add(cellItems);
+
+            if (mFrameScheduled) {
+                return;
+            }
+            mFrameScheduled = true;
+        }
+
+        if (mChoreographer != null) {
+            mChoreographer.postFrameCallback(mFrameCallback);
+        } else {
+            mHandler.post(mFlushRunnable);
+        }
+    }
+
+    /**
+     * Inserts a row at the given position right away. If the capacity is reached, the oldest
+     * row is evicted to make room for it. It must be called on the main thread.
+     *
+     * @return The position which the row has been inserted at.
+     */
+    public int insert(int position, @Nullable RH rowHeaderItem, @Nullable List<C> cellItems) {
+        // The pending rows are appended first, so the position matches the displayed rows.
+        flush();
+
+        if (mCellItems.isFull()) {
+            evict(1);
+            position = Math.max(0, position - 1);
+        }
+        position = Math.min(position, mCellItems.size());
+
+        mRowHeaderItems.add(position, rowHeaderItem);
+        mCellItems.add(position, cellItems);
+        mRowHeaderRecyclerViewAdapter.notifyItemInserted(position);
+        mCellRecyclerViewAdapter.notifyItemInserted(position);
+        return position;
+    }
+
+    /**
+     * Dispatches the pending rows to the adapters. Evicted and inserted rows are notified as
+     * ranges instead of the whole data set.
+     */
+    public void flush() {
+        if (mDetached) {
+            return;
+        }
+
+        List<RH> rowHeaderItems;
+        List<List<C>> cellItems;
+        synchronized (mLock) {
+            rowHeaderItems = mPendingRowHeaderItems;
+            cellItems = mPendingCellItems;
+            mPendingRowHeaderItems = new ArrayList<>();
+            mPendingCellItems = new ArrayList<>();
+            mFrameScheduled = false;
+        }
+
+        if (cellItems.isEmpty()) {
+            return;
+        }
+
+        // Sorting or filtering may have replaced the lists of the adapters.
+        if (mCellRecyclerViewAdapter.getItems() != mCellItems || mRowHeaderRecyclerViewAdapter
+                .getItems() != mRowHeaderItems) {
+            attach();
+        }
+
+        boolean follow = isAtTail();
+        int capacity = mCellItems.capacity();
+
+        // The rows which would be evicted in the same frame are never displayed.
+        int skipped = Math.max(0, cellItems.size() - capacity);
+        int insertCount = cellItems.size() - skipped;
+
+        evict(mCellItems.size() + insertCount - capacity);
+
+        int insertStart = mCellItems.size();
+        for (int i = skipped; i < cellItems.size(); i++) {
+            mRowHeaderItems.add(rowHeaderItems.get(i));
+            mCellItems.add(cellItems.get(i));
+        }
+        mRowHeaderRecyclerViewAdapter.notifyItemRangeInserted(insertStart, insertCount);
+        mCellRecyclerViewAdapter.notifyItemRangeInserted(insertStart, insertCount);
+
+        if (follow) {
+            mTableView.getScrollHandler().scrollToRowPosition(mCellItems.size() - 1);
+        }
+    }
+
+    /**
+     * Stops the pending frame and returns the rows which are currently displayed.
+     */
+    @NonNull
+    public List<List<C>> detach() {
+        if (mChoreographer != null) {
+            mChoreographer.removeFrameCallback(mFrameCallback);
+        }
+        mHandler.removeCallbacks(mFlushRunnable);
+        flush();
+
+        // The rows appended afterwards would be flushed into the adapters of another mode.
+        synchronized (mLock) {
+            mDetached = true;
+            mPendingRowHeaderItems.clear();
+            mPendingCellItems.clear();
+        }
+        return mCellItems;
+    }
+
+    @NonNull
+    public List<RH> getRowHeaderItems() {
+        return mRowHeaderItems;
+    }
+
+    @NonNull
+    public List<List<C>> getCellItems() {
+        return mCellItems;
+    }
+
+    public int getCapacity() {
+        return mCellItems.capacity();
+    }
+
+    public boolean isFollowTail() {
+        return mFollowTail;
+    }
+
+    /**
+     * Allows to disable following the last row even if the user hasn't scrolled away.
+     */
+    public void setFollowTail(boolean followTail) {
+        this.mFollowTail = followTail;
+    }
+
+    private boolean isAtTail() {
+        if (!mFollowTail) {
+            return false;
+        }
+
+        // The user is interacting with the rows.
+        if (mTableView.getCellRecyclerView().getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            return false;
+        }
+
+        int lastVisible = mTableView.getCellLayoutManager().findLastVisibleItemPosition();
+        return lastVisible == RecyclerView.NO_POSITION || lastVisible >= mCellItems.size() - 1;
+    }
+
+    private void evict(int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        removeStableIds(mRowHeaderItems, 0, Math.min(count, mRowHeaderItems.size()));
+        mRowHeaderItems.removeFirst(count);
+        mCellItems.removeFirst(count);
+        mRowHeaderRecyclerViewAdapter.notifyItemRangeRemoved(0, count);
+        mCellRecyclerViewAdapter.notifyItemRangeRemoved(0, count);
+    }
+
+    /**
+     * Forgets the stable ids of the rows which leave the ring buffers.
+     */
+    private void removeStableIds(@NonNull List<RH> rowHeaderItems, int start, int count) {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        if (adapter == null || !adapter.isStableIdsEnabled()) {
+            return;
+        }
+
+        StableIdTable stableIdTable = adapter.getStableIdTable();
+        for (int i = start; i < start + count; i++) {
+            stableIdTable.remove(rowHeaderItems.get(i));
+        }
+    }
+
+    /**
+     * Moves the current items of the adapters into the ring buffers and lets the adapters use
+     * the ring buffers as their backing lists.
+     */
+    private void attach() {
+        List<RH> rowHeaderItems = new ArrayList<>(mRowHeaderRecyclerViewAdapter.getItems());
+        List<List<C>> cellItems = new ArrayList<>(mCellRecyclerViewAdapter.getItems());
+
+        mRowHeaderItems.clear();
+        mCellItems.clear();
+
+        // Only the latest rows fit in.
+        int overflow = Math.max(0, cellItems.size() - mCellItems.capacity());
+        removeStableIds(rowHeaderItems, 0, Math.min(overflow, rowHeaderItems.size()));
+        for (int i = overflow; i < cellItems.size(); i++) {
+            mRowHeaderItems.add(i < rowHeaderItems.size() ? rowHeaderItems.get(i) : null);
+            mCellItems.add(cellItems.get(i));
+        }
+
+        mRowHeaderRecyclerViewAdapter.wrapItems(mRowHeaderItems, false);
+        mCellRecyclerViewAdapter.wrapItems(mCellItems, false);
+
+        if (overflow > 0) {
+            mRowHeaderRecyclerViewAdapter.notifyItemRangeRemoved(0, overflow);
+            mCellRecyclerViewAdapter.notifyItemRangeRemoved(0, overflow);
+        }
+    }
+}
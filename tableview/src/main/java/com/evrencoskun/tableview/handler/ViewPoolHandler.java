@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.handler;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseIntArray;
+import android.view.ViewGroup;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerViewAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRowRecyclerViewAdapter;
+import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
+
+import java.util.ArrayDeque;
+
+/**
+ * Sizes the view pools of the cells, the row headers and the column headers by the visible
+ * grid, and creates their view holders while the main thread is idle. A page of cells is kept
+ * for each view type, so a vertical fling reuses the cells instead of inflating them.
+ * <p>
+ * The pools are sized from the first layout, or before it by
+ * {@link #setVisibleGridSize(int, int)}, which also fills them before the first layout.
+ */
+public class ViewPoolHandler implements MessageQueue.IdleHandler {
+    // The rows and the columns which are kept on top of the visible ones while they scroll.
+    private static final int EXTRA_ROW_COUNT = 2;
+    private static final int EXTRA_COLUMN_COUNT = 2;
+    // An idle pass stops creating view holders after this time, so the input isn't delayed.
+    private static final long IDLE_BUDGET_NANOS = 4_000_000L;
+
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final ArrayDeque<Target> mTargets = new ArrayDeque<>();
+
+    private boolean mEnabled = true;
+    private boolean mSized;
+    private boolean mScheduled;
+
+    public ViewPoolHandler(@NonNull ITableView tableView) {
+        this.mTableView = tableView;
+    }
+
+    /**
+     * Lets the pools be sized and filled. It is enabled by default.
+     */
+    public void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+        if (!enabled) {
+            cancel();
+        }
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Sizes the pools for the given number of visible columns and rows from the start of the
+     * table, and fills them while the main thread is idle. It can be called before the first
+     * layout, once the adapter and its items are set.
+     */
+    @MainThread
+    public void setVisibleGridSize(int columnCount, int rowCount) {
+        if (columnCount < 0 || rowCount < 0) {
+            throw new IllegalArgumentException("The grid size can't be negative.");
+        }
+
+        mSized = true;
+        prepare(0, columnCount, 0, rowCount, false);
+    }
+
+    /**
+     * Sizes the pools by the visible grid once the headers are laid out for the first time, if
+     * they haven't been sized by {@link #setVisibleGridSize(int, int)}.
+     */
+    @MainThread
+    public void onLayoutCompleted() {
+        if (mSized || !mEnabled) {
+            return;
+        }
+
+        LinearLayoutManager rowHeaderLayoutManager = mTableView.getRowHeaderLayoutManager();
+        ColumnHeaderLayoutManager columnHeaderLayoutManager = mTableView
+                .getColumnHeaderLayoutManager();
+        int firstRow = rowHeaderLayoutManager.findFirstVisibleItemPosition();
+        int firstColumn = columnHeaderLayoutManager.findFirstVisibleItemPosition();
+        if (firstRow == RecyclerView.NO_POSITION || firstColumn == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        mSized = true;
+        prepare(firstColumn, columnHeaderLayoutManager.findLastVisibleItemPosition() -
+                firstColumn + 1, firstRow, rowHeaderLayoutManager.findLastVisibleItemPosition() -
+                firstRow + 1, true);
+    }
+
+    /**
+     * Stops filling the pools, and lets them be sized again by the next layout.
+     */
+    @MainThread
+    public void cancel() {
+        mTargets.clear();
+        mSized = false;
+        if (mScheduled) {
+            Looper.myQueue().removeIdleHandler(this);
+            mScheduled = false;
+        }
+    }
+
+    private void prepare(int firstColumn, int columnCount, int firstRow, int rowCount,
+                         boolean laidOut) {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        if (!mEnabled || adapter == null) {
+            return;
+        }
+        mTargets.clear();
+
+        columnCount = Math.max(0, Math.min(columnCount, adapter
+                .getColumnHeaderRecyclerViewAdapter().getItemCount() - firstColumn));
+        rowCount = Math.max(0, Math.min(rowCount, adapter.getRowHeaderRecyclerViewAdapter()
+                .getItemCount() - firstRow));
+
+        SparseIntArray columnTypes = new SparseIntArray();
+        SparseIntArray cellTypes = new SparseIntArray();
+        for (int column = firstColumn; column < firstColumn + columnCount; column++) {
+            increment(columnTypes, adapter.getColumnHeaderItemViewType(column));
+            increment(cellTypes, adapter.getCellItemViewType(column));
+        }
+
+        SparseIntArray rowTypes = new SparseIntArray();
+        for (int row = firstRow; row < firstRow + rowCount; row++) {
+            increment(rowTypes, adapter.getRowHeaderItemViewType(row));
+        }
+
+        // The pool of the cells holds a page of each view type of cells. The rows share one
+        // pool, and the grid layout has its own.
+        RecyclerView.RecycledViewPool cellPool;
+        RecyclerView.Adapter<?> cellAdapter;
+        if (mTableView.isGridLayoutEnabled()) {
+            cellPool = mTableView.getCellRecyclerView().getRecycledViewPool();
+            cellAdapter = adapter.getCellGridRecyclerViewAdapter();
+        } else {
+            CellRecyclerViewAdapter cellRecyclerViewAdapter = adapter.getCellRecyclerViewAdapter();
+            cellPool = cellRecyclerViewAdapter.getRecycledViewPool();
+            cellAdapter = new CellRowRecyclerViewAdapter<>(mTableView.getContext(), mTableView);
+
+            // The rows themselves are only sized, they hold their own layout managers.
+            mTableView.getCellRecyclerView().getRecycledViewPool().setMaxRecycledViews
+                    (cellRecyclerViewAdapter.getItemViewType(0), rowCount + EXTRA_ROW_COUNT);
+        }
+
+        for (int i = 0; i < cellTypes.size(); i++) {
+            int columns = cellTypes.valueAt(i);
+            addTarget(cellPool, cellAdapter, mTableView.getCellRecyclerView(), cellTypes.keyAt
+                    (i), columns * (rowCount + EXTRA_ROW_COUNT), laidOut ? columns * rowCount : 0);
+        }
+
+        for (int i = 0; i < rowTypes.size(); i++) {
+            int rows = rowTypes.valueAt(i);
+            addTarget(mTableView.getRowHeaderRecyclerView().getRecycledViewPool(), adapter
+                    .getRowHeaderRecyclerViewAdapter(), mTableView.getRowHeaderRecyclerView(),
+                    rowTypes.keyAt(i), rows + EXTRA_ROW_COUNT, laidOut ? rows : 0);
+        }
+
+        for (int i = 0; i < columnTypes.size(); i++) {
+            int columns = columnTypes.valueAt(i);
+            addTarget(mTableView.getColumnHeaderRecyclerView().getRecycledViewPool(), adapter
+                    .getColumnHeaderRecyclerViewAdapter(), mTableView
+                    .getColumnHeaderRecyclerView(), columnTypes.keyAt(i), columns +
+                    EXTRA_COLUMN_COUNT, laidOut ? columns : 0);
+        }
+
+        if (!mTargets.isEmpty() && !mScheduled) {
+            Looper.myQueue().addIdleHandler(this);
+            mScheduled = true;
+        }
+    }
+
+    /**
+     * Sets the capacity of the pool for the view type, and queues the view holders which are
+     * missing from it. The attached view holders are out of the pool, but count to its size.
+     */
+    private void addTarget(@NonNull RecyclerView.RecycledViewPool pool, @NonNull RecyclerView
+            .Adapter<?> adapter, @NonNull ViewGroup parent, int viewType, int capacity, int
+            attachedCount) {
+        pool.setMaxRecycledViews(viewType, capacity);
+
+        int count = capacity - attachedCount - pool.getRecycledViewCount(viewType);
+        if (count > 0) {
+            mTargets.add(new Target(pool, adapter, parent, viewType, count));
+        }
+    }
+
+    private static void increment(@NonNull SparseIntArray counts, int key) {
+        counts.put(key, counts.get(key) + 1);
+    }
+
+    @Override
+    public boolean queueIdle() {
+        // View holders can only be created on the main thread, so they are created in short
+        // passes between the frames.
+        long start = System.nanoTime();
+        while (!mTargets.isEmpty() && System.nanoTime() - start < IDLE_BUDGET_NANOS) {
+            Target target = mTargets.peek();
+            target.pool.putRecycledView(target.adapter.createViewHolder(target.parent, target
+                    .viewType));
+            if (--target.count == 0) {
+                mTargets.poll();
+            }
+        }
+
+        mScheduled = !mTargets.isEmpty();
+        return mScheduled;
+    }
+
+    private static class Target {
+        @NonNull
+        final RecyclerView.RecycledViewPool pool;
+        @NonNull
+        final RecyclerView.Adapter<?> adapter;
+        @NonNull
+        final ViewGroup parent;
+        final int viewType;
+        int count;
+
+        Target(@NonNull RecyclerView.RecycledViewPool pool, @NonNull RecyclerView.Adapter<?>
+                adapter, @NonNull ViewGroup parent, int viewType, int count) {
+            this.pool = pool;
+            this.adapter = adapter;
+            this.parent = parent;
+            this.viewType = viewType;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,702 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import android.graphics.Rect;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.recyclerview.CellGridRecyclerViewAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Lays out every cell of the table in the cell RecyclerView itself, scrolling in both
+ * directions. It is used instead of the {@link CellLayoutManager} and its nested row
+ * RecyclerViews when the grid layout is enabled, so the cells are recycled directly from one
+ * pool and the horizontal scroll is a single offset instead of one per row.
+ *
+ * <p>The columns take their widths from the {@link ColumnWidthModel}. A visible column whose
+ * width is unknown is fitted to its header and to its cell in the first visible row before the
+ * cells are laid out, and the columns which haven't been visible count with the width the
+ * model estimates for them. The rows have the same height, which is the height of the row
+ * headers unless it is set.</p>
+ *
+ * <p>The leading columns can be frozen. Their cells are laid out at fixed positions next to the
+ * row header and drawn over the cells which scroll under them.</p>
+ *
+ * @see CellGridRecyclerViewAdapter
+ */
+public class CellGridLayoutManager extends RecyclerView.LayoutManager {
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final ColumnHeaderLayoutManager mColumnHeaderLayoutManager;
+    @NonNull
+    private final ColumnWidthModel mColumnWidthModel;
+
+    // The scroll offsets shared by all of the cells.
+    private int mScrollX;
+    private int mScrollY;
+
+    private int mRowCount;
+    private int mFrozenColumnCount;
+    private int mRowHeight;
+    private int mMeasuredRowHeight;
+
+    // The left edges of the columns, followed by the right edge of the last one.
+    @NonNull
+    private int[] mColumnLefts = new int[1];
+    // The columns which have been fitted to one of their cells.
+    @NonNull
+    private final BitSet mFittedColumns = new BitSet();
+
+    @NonNull
+    private final Rect mDecorationInsets = new Rect();
+    private int mDecorationWidth;
+    private int mDecorationHeight;
+
+    @NonNull
+    private final SparseArray<View> mAttachedCells = new SparseArray<>();
+
+    @NonNull
+    private int[] mDrawingOrder = new int[0];
+    @NonNull
+    private final RecyclerView.ChildDrawingOrderCallback mDrawingOrderCallback = new
+            RecyclerView.ChildDrawingOrderCallback() {
+        @Override
+        public int onGetChildDrawingOrder(int childCount, int i) {
+            if (i == 0) {
+                updateDrawingOrder(childCount);
+            }
+            return mDrawingOrder[i];
+        }
+    };
+
+    // Prevents the column header and the cells from scrolling each other back.
+    private boolean mSyncingScroll;
+    @NonNull
+    private final RecyclerView.OnScrollListener mColumnHeaderScrollListener = new RecyclerView
+            .OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            if (dx != 0 && !mSyncingScroll) {
+                mSyncingScroll = true;
+                mTableView.getCellRecyclerView().scrollBy(dx, 0);
+                mSyncingScroll = false;
+            }
+        }
+    };
+
+    public CellGridLayoutManager(@NonNull ITableView tableView) {
+        this.mTableView = tableView;
+        this.mColumnHeaderLayoutManager = tableView.getColumnHeaderLayoutManager();
+        this.mColumnWidthModel = mColumnHeaderLayoutManager.getColumnWidthModel();
+    }
+
+    /**
+     * Sets the height of the rows, or 0 to use the height of the row headers.
+     */
+    public void setRowHeight(int rowHeight) {
+        mRowHeight = rowHeight;
+        requestLayout();
+    }
+
+    public int getRowHeight() {
+        return mRowHeight > 0 ? mRowHeight : mMeasuredRowHeight;
+    }
+
+    /**
+     * Freezes the given number of leading columns, which don't scroll horizontally.
+     */
+    public void setFrozenColumnCount(int frozenColumnCount) {
+        if (frozenColumnCount < 0) {
+            throw new IllegalArgumentException("Frozen column count: " + frozenColumnCount);
+        }
+
+        mFrozenColumnCount = frozenColumnCount;
+        mTableView.getCellRecyclerView().setChildDrawingOrderCallback(frozenColumnCount > 0 ?
+                mDrawingOrderCallback : null);
+        requestLayout();
+    }
+
+    public int getFrozenColumnCount() {
+        return mFrozenColumnCount;
+    }
+
+    /**
+     * Returns the width of the frozen columns including their decorations.
+     */
+    public int getFrozenWidth() {
+        return mColumnLefts[Math.min(mFrozenColumnCount, mColumnLefts.length - 1)];
+    }
+
+    @Override
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+        return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup
+                .LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public boolean canScrollHorizontally() {
+        return true;
+    }
+
+    @Override
+    public boolean canScrollVertically() {
+        return true;
+    }
+
+    @Override
+    public void onAttachedToWindow(@NonNull RecyclerView view) {
+        super.onAttachedToWindow(view);
+        mTableView.getColumnHeaderRecyclerView().addOnScrollListener(mColumnHeaderScrollListener);
+    }
+
+    @Override
+    public void onDetachedFromWindow(@NonNull RecyclerView view, @NonNull RecyclerView.Recycler
+            recycler) {
+        super.onDetachedFromWindow(view, recycler);
+        mTableView.getColumnHeaderRecyclerView().removeOnScrollListener
+                (mColumnHeaderScrollListener);
+    }
+
+    @Override
+    public void onItemsChanged(@NonNull RecyclerView recyclerView) {
+        // The new cells may need wider columns and the row headers may have another height.
+        mFittedColumns.clear();
+        mMeasuredRowHeight = 0;
+    }
+
+    @Override
+    public void onLayoutChildren(@NonNull RecyclerView.Recycler recycler, @NonNull RecyclerView
+            .State state) {
+        if (state.getItemCount() == 0) {
+            removeAndRecycleAllViews(recycler);
+            mRowCount = 0;
+            mScrollX = 0;
+            mScrollY = 0;
+            return;
+        }
+
+        if (state.isPreLayout()) {
+            return;
+        }
+
+        fill(recycler, state, true);
+    }
+
+    @Override
+    public int scrollHorizontallyBy(int dx, @NonNull RecyclerView.Recycler recycler, @NonNull
+            RecyclerView.State state) {
+        if (getChildCount() == 0) {
+            return 0;
+        }
+
+        int scrollX = Math.max(0, Math.min(mScrollX + dx, getMaxScrollX()));
+        int delta = scrollX - mScrollX;
+        if (delta == 0) {
+            return 0;
+        }
+
+        mScrollX = scrollX;
+        offsetChildrenHorizontal(-delta);
+
+        if (mFrozenColumnCount > 0) {
+            // The frozen cells stay where they are.
+            for (int i = 0; i < getChildCount(); i++) {
+                View child = getChildAt(i);
+                if (isFrozen(child)) {
+                    child.offsetLeftAndRight(delta);
+                }
+            }
+        }
+
+        if (!mSyncingScroll) {
+            // The column header lays out the new columns first, which lets their cells be
+            // fitted to them.
+            mSyncingScroll = true;
+            mTableView.getColumnHeaderRecyclerView().scrollBy(delta, 0);
+            mSyncingScroll = false;
+        }
+
+        fill(recycler, state, false);
+        return delta;
+    }
+
+    @Override
+    public int scrollVerticallyBy(int dy, @NonNull RecyclerView.Recycler recycler, @NonNull
+            RecyclerView.State state) {
+        if (getChildCount() == 0) {
+            return 0;
+        }
+
+        int scrollY = Math.max(0, Math.min(mScrollY + dy, getMaxScrollY()));
+        int delta = scrollY - mScrollY;
+        if (delta == 0) {
+            return 0;
+        }
+
+        mScrollY = scrollY;
+        offsetChildrenVertical(-delta);
+
+        CellRecyclerView rowHeaderRecyclerView = mTableView.getRowHeaderRecyclerView();
+        if (rowHeaderRecyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE &&
+                !rowHeaderRecyclerView.isScrollOthers()) {
+            rowHeaderRecyclerView.scrollBy(0, delta);
+        }
+
+        fill(recycler, state, false);
+        return delta;
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        int columnCount = getColumnCount();
+        if (columnCount == 0 || position < 0 || position >= getItemCount()) {
+            return;
+        }
+
+        int[] offsets = new int[2];
+        getScrollOffsetsToCell(position % columnCount, position / columnCount, false, offsets);
+
+        // Scrolling keeps the column header and the row header in sync.
+        mTableView.getCellRecyclerView().scrollBy(offsets[0] - mScrollX, offsets[1] - mScrollY);
+    }
+
+    /**
+     * Sets the scroll offsets which show the given cell at the top left of the scrolling area,
+     * or at its center, to the given array. A frozen column keeps the horizontal offset.
+     */
+    public void getScrollOffsetsToCell(int column, int row, boolean center, @NonNull int[]
+            outOffsets) {
+        int frozenCount = Math.min(mFrozenColumnCount, getColumnCount());
+        int last = mColumnLefts.length - 1;
+        int scrollX = mScrollX;
+        if (column >= frozenCount) {
+            int left = mColumnLefts[Math.min(column, last)];
+            scrollX = left - mColumnLefts[frozenCount];
+            if (center) {
+                int width = mColumnLefts[Math.min(column + 1, last)] - left;
+                scrollX -= (getHorizontalSpace() - getFrozenWidth() - width) / 2;
+            }
+        }
+
+        int rowHeight = getRowHeight();
+        int scrollY = row * (rowHeight + mDecorationHeight);
+        if (center) {
+            scrollY -= (getVerticalSpace() - rowHeight) / 2;
+        }
+
+        outOffsets[0] = Math.max(0, Math.min(scrollX, getMaxScrollX()));
+        outOffsets[1] = Math.max(0, Math.min(scrollY, getMaxScrollY()));
+    }
+
+    @Override
+    public int computeHorizontalScrollOffset(@NonNull RecyclerView.State state) {
+        return mScrollX;
+    }
+
+    @Override
+    public int computeHorizontalScrollRange(@NonNull RecyclerView.State state) {
+        return mColumnLefts[mColumnLefts.length - 1];
+    }
+
+    @Override
+    public int computeHorizontalScrollExtent(@NonNull RecyclerView.State state) {
+        return getHorizontalSpace();
+    }
+
+    @Override
+    public int computeVerticalScrollOffset(@NonNull RecyclerView.State state) {
+        return mScrollY;
+    }
+
+    @Override
+    public int computeVerticalScrollRange(@NonNull RecyclerView.State state) {
+        return mRowCount * (getRowHeight() + mDecorationHeight);
+    }
+
+    @Override
+    public int computeVerticalScrollExtent(@NonNull RecyclerView.State state) {
+        return getVerticalSpace();
+    }
+
+    /**
+     * Lays out the visible cells. Unless everything is laid out again, the cells which are
+     * still visible stay where they are and only the missing ones are added. The visible
+     * columns are fitted before any cell is positioned, so every cell is laid out once.
+     */
+    private void fill(@NonNull RecyclerView.Recycler recycler, @NonNull RecyclerView.State state,
+                      boolean relayout) {
+        int columnCount = getColumnCount();
+        int rowCount = columnCount > 0 ? state.getItemCount() / columnCount : 0;
+        mRowCount = rowCount;
+        if (rowCount == 0) {
+            removeAndRecycleAllViews(recycler);
+            return;
+        }
+
+        if (updateDecorationSize(recycler)) {
+            relayout = true;
+        }
+        int rowHeight = resolveRowHeight(recycler);
+        int rowStride = rowHeight + mDecorationHeight;
+        mScrollY = Math.max(0, Math.min(mScrollY, getMaxScrollY()));
+        int firstRow = Math.min(mScrollY / Math.max(rowStride, 1), rowCount - 1);
+        int lastRow = Math.min((mScrollY + getVerticalSpace() - 1) / Math.max(rowStride, 1),
+                rowCount - 1);
+
+        // The scrolling columns start after the frozen ones.
+        int frozenCount = Math.min(mFrozenColumnCount, columnCount);
+        if (fitVisibleColumns(recycler, columnCount, frozenCount, firstRow, rowHeight)) {
+            // The cells after a fitted column have to move.
+            relayout = true;
+        }
+        if (relayout) {
+            detachAndScrapAttachedViews(recycler);
+        }
+
+        updateColumnLefts(columnCount);
+        mScrollX = Math.max(0, Math.min(mScrollX, getMaxScrollX()));
+        int frozenWidth = mColumnLefts[frozenCount];
+        int firstColumn = Math.max(frozenCount, findColumn(mScrollX + frozenWidth, columnCount));
+        int lastColumn = findColumn(mScrollX + getHorizontalSpace() - 1, columnCount);
+
+        // Recycle the cells which have left the screen.
+        mAttachedCells.clear();
+        for (int i = getChildCount() - 1; i >= 0; i--) {
+            View child = getChildAt(i);
+            int position = getPosition(child);
+            int row = position / columnCount;
+            int column = position % columnCount;
+            if (row < firstRow || row > lastRow || (column >= frozenCount && (column <
+                    firstColumn || column > lastColumn))) {
+                removeAndRecycleView(child, recycler);
+            } else {
+                mAttachedCells.put(position, child);
+            }
+        }
+
+        boolean widened = false;
+        for (int row = firstRow; row <= lastRow; row++) {
+            int top = getPaddingTop() + row * rowStride - mScrollY;
+
+            for (int column = 0; column < frozenCount; column++) {
+                widened |= addCell(recycler, row * columnCount + column, column, top,
+                        rowHeight, 0);
+            }
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                widened |= addCell(recycler, row * columnCount + column, column, top,
+                        rowHeight, mScrollX);
+            }
+        }
+        mAttachedCells.clear();
+
+        recycleScrap(recycler);
+        if (widened) {
+            // The cells after a widened column have to move. They have been measured, so
+            // they aren't widened again.
+            fill(recycler, state, true);
+            return;
+        }
+        updateFrozenColumnHeaderWidth(frozenWidth);
+    }
+
+    /**
+     * Adds the cell unless it is already attached. Returns whether its column has been widened
+     * because the cell has been bound to content which doesn't fit it.
+     */
+    private boolean addCell(@NonNull RecyclerView.Recycler recycler, int position, int column,
+                            int top, int rowHeight, int scrollX) {
+        if (mAttachedCells.get(position) != null) {
+            return false;
+        }
+
+        View cell = recycler.getViewForPosition(position);
+        addView(cell);
+
+        ViewGroup.LayoutParams layoutParams = cell.getLayoutParams();
+        boolean widened = false;
+        if (layoutParams.width == ViewGroup.LayoutParams.WRAP_CONTENT && !mColumnWidthModel
+                .isDeclared()) {
+            // The cell has been bound, so its content is measured.
+            layoutParams.height = rowHeight;
+            measureChild(cell, 0, 0);
+            if (cell.getMeasuredWidth() > getColumnWidth(column)) {
+                widened = setColumnWidth(column, cell.getMeasuredWidth());
+            }
+        }
+        layoutParams.width = getColumnWidth(column);
+        layoutParams.height = rowHeight;
+        measureChild(cell, 0, 0);
+
+        int left = getPaddingLeft() + mColumnLefts[column] - scrollX;
+        layoutDecorated(cell, left, top, left + getDecoratedMeasuredWidth(cell), top +
+                getDecoratedMeasuredHeight(cell));
+        return widened;
+    }
+
+    /**
+     * Fits the frozen columns and the scrolling columns from the first visible one until they
+     * fill the visible width, each to its cell in the first visible row. Returns whether the
+     * width of any column has changed.
+     */
+    private boolean fitVisibleColumns(@NonNull RecyclerView.Recycler recycler, int columnCount,
+                                      int frozenCount, int firstRow, int rowHeight) {
+        if (mColumnWidthModel.isDeclared()) {
+            return false;
+        }
+
+        boolean changed = false;
+        if (mColumnWidthModel.getEstimatedWidth() == 0) {
+            // The left edges can't be estimated before a column has been measured.
+            changed = fitColumn(recycler, firstRow * columnCount, 0, rowHeight);
+        }
+        for (int column = 0; column < frozenCount; column++) {
+            if (needsFitting(column)) {
+                changed |= fitColumn(recycler, firstRow * columnCount + column, column,
+                        rowHeight);
+            }
+        }
+
+        updateColumnLefts(columnCount);
+        int right = mScrollX + getHorizontalSpace();
+        int column = Math.max(frozenCount, findColumn(mScrollX + mColumnLefts[frozenCount],
+                columnCount));
+        for (; column < columnCount && mColumnLefts[column] < right; column++) {
+            if (needsFitting(column)) {
+                changed |= fitColumn(recycler, firstRow * columnCount + column, column,
+                        rowHeight);
+            }
+            // The next left edge follows from the width the column has now.
+            mColumnLefts[column + 1] = mColumnLefts[column] + getColumnWidth(column) +
+                    mDecorationWidth;
+        }
+        return changed;
+    }
+
+    private void updateFrozenColumnHeaderWidth(int frozenWidth) {
+        RecyclerView frozenColumnHeader = mTableView.getFrozenColumnHeaderRecyclerView();
+        if (frozenColumnHeader == null) {
+            return;
+        }
+
+        ViewGroup.LayoutParams layoutParams = frozenColumnHeader.getLayoutParams();
+        if (layoutParams.width != frozenWidth) {
+            layoutParams.width = frozenWidth;
+            frozenColumnHeader.setLayoutParams(layoutParams);
+        }
+    }
+
+    private boolean isFrozen(@NonNull View child) {
+        int columnCount = getColumnCount();
+        int position = mTableView.getCellRecyclerView().getChildLayoutPosition(child);
+        return columnCount > 0 && position != RecyclerView.NO_POSITION && position % columnCount
+                < mFrozenColumnCount;
+    }
+
+    private void updateDrawingOrder(int childCount) {
+        if (mDrawingOrder.length < childCount) {
+            mDrawingOrder = new int[childCount];
+        }
+
+        // The scrolling cells are drawn first, so the frozen ones cover them.
+        RecyclerView recyclerView = mTableView.getCellRecyclerView();
+        int index = 0;
+        for (int i = 0; i < childCount; i++) {
+            if (!isFrozen(recyclerView.getChildAt(i))) {
+                mDrawingOrder[index++] = i;
+            }
+        }
+        for (int i = 0; i < childCount; i++) {
+            if (isFrozen(recyclerView.getChildAt(i))) {
+                mDrawingOrder[index++] = i;
+            }
+        }
+    }
+
+    private void recycleScrap(@NonNull RecyclerView.Recycler recycler) {
+        List<RecyclerView.ViewHolder> scrapList = recycler.getScrapList();
+        for (int i = scrapList.size() - 1; i >= 0; i--) {
+            recycler.recycleView(scrapList.get(i).itemView);
+        }
+    }
+
+    private boolean needsFitting(int column) {
+        return !mColumnWidthModel.isDeclared() && (!mFittedColumns.get(column) ||
+                mColumnWidthModel.get(column) == ColumnWidthModel.UNKNOWN);
+    }
+
+    /**
+     * Widens the column to fit the cell at the given position and its header. An attached cell
+     * is measured in place, otherwise the cell is bound and kept in the cache of the recycler
+     * for the layout pass. Returns whether the width of the column has changed.
+     */
+    private boolean fitColumn(@NonNull RecyclerView.Recycler recycler, int position, int column,
+                              int rowHeight) {
+        mFittedColumns.set(column);
+
+        View cell = findViewByPosition(position);
+        boolean attached = cell != null;
+        if (!attached) {
+            cell = recycler.getViewForPosition(position);
+        }
+
+        ViewGroup.LayoutParams layoutParams = cell.getLayoutParams();
+        layoutParams.width = ViewGroup.LayoutParams.WRAP_CONTENT;
+        layoutParams.height = rowHeight;
+        measureChild(cell, 0, 0);
+        int width = Math.max(cell.getMeasuredWidth(), mColumnWidthModel.get(column));
+        if (!attached) {
+            recycler.recycleView(cell);
+        }
+        return setColumnWidth(column, width);
+    }
+
+    /**
+     * Sets the width of the column, which its header widens if it is wider. Returns whether
+     * the width of the column has changed.
+     */
+    private boolean setColumnWidth(int column, int width) {
+        View columnHeader = mColumnHeaderLayoutManager.findViewByPosition(column);
+        if (columnHeader != null) {
+            width = Math.max(width, columnHeader.getMeasuredWidth());
+            if (columnHeader.getMeasuredWidth() != width) {
+                mColumnHeaderLayoutManager.setColumnHeaderWidth(columnHeader, width);
+            }
+        }
+
+        if (width == mColumnWidthModel.get(column)) {
+            return false;
+        }
+
+        mColumnWidthModel.set(column, width);
+        return true;
+    }
+
+    /**
+     * Takes the size of the decorations from an attached cell, or from the first cell if none
+     * is attached. The decorations are expected to be the same for every cell. Returns whether
+     * the size has changed.
+     */
+    private boolean updateDecorationSize(@NonNull RecyclerView.Recycler recycler) {
+        View cell = getChildCount() > 0 ? getChildAt(0) : null;
+        if (cell != null) {
+            calculateItemDecorationsForChild(cell, mDecorationInsets);
+        } else {
+            cell = recycler.getViewForPosition(0);
+            calculateItemDecorationsForChild(cell, mDecorationInsets);
+            recycler.recycleView(cell);
+        }
+
+        int width = mDecorationInsets.left + mDecorationInsets.right;
+        int height = mDecorationInsets.top + mDecorationInsets.bottom;
+        if (width == mDecorationWidth && height == mDecorationHeight) {
+            return false;
+        }
+
+        mDecorationWidth = width;
+        mDecorationHeight = height;
+        return true;
+    }
+
+    private int resolveRowHeight(@NonNull RecyclerView.Recycler recycler) {
+        if (mRowHeight > 0) {
+            return mRowHeight;
+        }
+
+        if (mMeasuredRowHeight == 0) {
+            // The cells must be as high as the row headers to stay aligned with them.
+            View rowHeader = mTableView.getRowHeaderRecyclerView().getChildAt(0);
+            if (rowHeader != null && rowHeader.getMeasuredHeight() > 0) {
+                mMeasuredRowHeight = rowHeader.getMeasuredHeight();
+            } else {
+                View cell = recycler.getViewForPosition(0);
+                cell.getLayoutParams().width = ViewGroup.LayoutParams.WRAP_CONTENT;
+                cell.getLayoutParams().height = ViewGroup.LayoutParams.WRAP_CONTENT;
+                measureChild(cell, 0, 0);
+                mMeasuredRowHeight = Math.max(cell.getMeasuredHeight(), 1);
+                recycler.recycleView(cell);
+            }
+        }
+        return mMeasuredRowHeight;
+    }
+
+    private void updateColumnLefts(int columnCount) {
+        if (mColumnLefts.length != columnCount + 1) {
+            mColumnLefts = new int[columnCount + 1];
+        }
+
+        for (int i = 0; i < columnCount; i++) {
+            mColumnLefts[i + 1] = mColumnLefts[i] + getColumnWidth(i) + mDecorationWidth;
+        }
+    }
+
+    private int getColumnWidth(int column) {
+        int width = mColumnWidthModel.get(column);
+        return width != ColumnWidthModel.UNKNOWN ? width : mColumnWidthModel.getEstimatedWidth();
+    }
+
+    /**
+     * Returns the column which contains the given x coordinate of the content.
+     */
+    private int findColumn(int x, int columnCount) {
+        int low = 0;
+        int high = columnCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (mColumnLefts[middle] <= x) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int getMaxScrollX() {
+        return Math.max(0, mColumnLefts[mColumnLefts.length - 1] - getHorizontalSpace());
+    }
+
+    private int getMaxScrollY() {
+        return Math.max(0, mRowCount * (getRowHeight() + mDecorationHeight) -
+                getVerticalSpace());
+    }
+
+    private int getHorizontalSpace() {
+        return getWidth() - getPaddingLeft() - getPaddingRight();
+    }
+
+    private int getVerticalSpace() {
+        return getHeight() - getPaddingTop() - getPaddingBottom();
+    }
+
+    private int getColumnCount() {
+        RecyclerView.Adapter adapter = mTableView.getCellRecyclerView().getAdapter();
+        return adapter instanceof CellGridRecyclerViewAdapter ? ((CellGridRecyclerViewAdapter)
+                adapter).getColumnCount() : 0;
+    }
+}
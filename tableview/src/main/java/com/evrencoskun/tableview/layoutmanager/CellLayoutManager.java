@@ -33,8 +33,12 @@ import com.evrencoskun.tableview.ITableView;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
 import com.evrencoskun.tableview.listener.scroll.HorizontalRecyclerViewListener;
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
 import com.evrencoskun.tableview.util.TableViewUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
 
 /**
@@ -55,13 +59,30 @@ public class CellLayoutManager extends LinearLayoutManager {
     @NonNull
     private ITableView mTableView;
 
+    // The cells take the widths of the ColumnWidthModel. Widths per cell are only kept when
+    // they have been enabled.
+    @Nullable
+    private SparseArray<SparseIntArray> mCellWidthList;
+
+    // The rows whose cells have been resized during the fitting pass.
+    @NonNull
+    private final List<CellRecyclerView> mPendingLayoutRows = new ArrayList<>();
+    private boolean mPendingLayoutsPosted;
+    @NonNull
+    private final Runnable mRequestPendingLayouts = () -> {
+        mPendingLayoutsPosted = false;
+        requestPendingLayouts();
+    };
+
+    // The heights of the rows, shared with the row headers.
     @NonNull
-    private final SparseArray<SparseIntArray> mCachedWidthList = new SparseArray<>();
-    //TODO: Store a single instance for both cell and column cache width values.
+    private final RowHeightModel mRowHeightModel = new RowHeightModel();
 
     private int mLastDy = 0;
     private boolean mNeedSetLeft;
     private boolean mNeedFit;
+    // The number of the cells which have been checked by the last fitting pass.
+    private int mFitTouchedCellCount;
 
     public CellLayoutManager(@NonNull Context context, @NonNull ITableView tableView) {
         super(context);
@@ -87,6 +108,73 @@ public class CellLayoutManager extends LinearLayoutManager {
         }
     }
 
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (!state.isPreLayout()) {
+            mRowHeightModel.setRowCount(state.getItemCount());
+        }
+        super.onLayoutChildren(recycler, state);
+    }
+
+    @Override
+    public void onItemsAdded(@NonNull RecyclerView recyclerView, int positionStart, int
+            itemCount) {
+        mRowHeightModel.insertRows(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemsRemoved(@NonNull RecyclerView recyclerView, int positionStart, int
+            itemCount) {
+        mRowHeightModel.removeRows(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemsUpdated(@NonNull RecyclerView recyclerView, int positionStart, int
+            itemCount) {
+        mRowHeightModel.invalidateRows(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemsMoved(@NonNull RecyclerView recyclerView, int from, int to, int
+            itemCount) {
+        int start = Math.min(from, to);
+        mRowHeightModel.invalidateRows(start, Math.max(from, to) + itemCount - start);
+    }
+
+    @Override
+    public void onItemsChanged(@NonNull RecyclerView recyclerView) {
+        mRowHeightModel.clear();
+    }
+
+    @Override
+    public int computeVerticalScrollOffset(RecyclerView.State state) {
+        if (mRowHeightModel.canComputeScroll(this, state)) {
+            return mRowHeightModel.computeScrollOffset(this);
+        }
+        return super.computeVerticalScrollOffset(state);
+    }
+
+    @Override
+    public int computeVerticalScrollRange(RecyclerView.State state) {
+        if (mRowHeightModel.canComputeScroll(this, state)) {
+            return mRowHeightModel.computeScrollRange();
+        }
+        return super.computeVerticalScrollRange(state);
+    }
+
+    @Override
+    public int computeVerticalScrollExtent(RecyclerView.State state) {
+        if (mRowHeightModel.canComputeScroll(this, state)) {
+            return mRowHeightModel.computeScrollExtent(this);
+        }
+        return super.computeVerticalScrollExtent(state);
+    }
+
+    @NonNull
+    public RowHeightModel getRowHeightModel() {
+        return mRowHeightModel;
+    }
+
     @Override
     public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State
             state) {
@@ -110,21 +198,49 @@ public class CellLayoutManager extends LinearLayoutManager {
         if (state == RecyclerView.SCROLL_STATE_IDLE) {
             // It is important to set it 0 to be able to know which direction is being scrolled
             mLastDy = 0;
+            mTableView.getPrefetchPolicy().onScrollIdle(false);
         }
     }
 
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        // The faster the rows are scrolled, the more of them are prefetched.
+        mTableView.getPrefetchPolicy().collectAdjacentPrefetchPositions(this, dy, state,
+                layoutPrefetchRegistry);
+    }
+
     /**
      * This method helps to fit all columns which are displayed on screen.
      * Especially it will be called when TableView is scrolled on vertically.
      */
     public void fitWidthSize(boolean scrollingUp) {
+        if (isColumnWidthDeclared()) {
+            // The cells already have the declared widths.
+            return;
+        }
+
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+        mFitTouchedCellCount = 0;
+        ColumnWidthModel columnWidthModel = mColumnHeaderLayoutManager.getColumnWidthModel();
+
         int left = mColumnHeaderLayoutManager.getFirstItemLeft();
         for (int i = mColumnHeaderLayoutManager.findFirstVisibleItemPosition(); i <
                 mColumnHeaderLayoutManager.findLastVisibleItemPosition() + 1; i++) {
-            left = fitSize(i, left, scrollingUp);
+            if (columnWidthModel.isDirty(i) || mNeedSetLeft) {
+                left = fitSize(i, left, scrollingUp);
+            } else {
+                // The cells of the column already have its width, and none of the columns on
+                // its left has moved it.
+                left = skipSize(i);
+            }
         }
 
         mNeedSetLeft = false;
+        requestPendingLayouts();
+        metrics.end(TableViewMetrics.FIT_WIDTH, start);
+        metrics.count(TableViewMetrics.FIT_TOUCHED_CELL, mFitTouchedCellCount);
     }
 
     /**
@@ -132,7 +248,18 @@ public class CellLayoutManager extends LinearLayoutManager {
      * horizontally.
      */
     public void fitWidthSize(int position, boolean scrollingLeft) {
+        if (isColumnWidthDeclared()) {
+            // The cells already have the declared widths.
+            return;
+        }
+
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+        mFitTouchedCellCount = 0;
         fitSize(position, IGNORE_LEFT, false);
+        requestPendingLayouts();
+        metrics.end(TableViewMetrics.FIT_WIDTH, start);
+        metrics.count(TableViewMetrics.FIT_TOUCHED_CELL, mFitTouchedCellCount);
 
         if (mNeedSetLeft & scrollingLeft) {
             // Works just like invoke later of swing utils.
@@ -141,6 +268,14 @@ public class CellLayoutManager extends LinearLayoutManager {
         }
     }
 
+    private int skipSize(int position) {
+        View column = mColumnHeaderLayoutManager.findViewByPosition(position);
+        if (column == null) {
+            return -1;
+        }
+        return column.getLeft() + mColumnHeaderLayoutManager.getCacheWidth(position) + 1;
+    }
+
     private int fitSize(int position, int left, boolean scrollingUp) {
         int cellRight = -1;
 
@@ -164,6 +299,8 @@ public class CellLayoutManager extends LinearLayoutManager {
                     cellRight = fit(position, j, left, cellRight, columnCacheWidth);
                 }
             }
+            // The visible cells have the width of the column now.
+            mColumnHeaderLayoutManager.getColumnWidthModel().clearDirty(position);
         } else {
             Log.e(LOG_TAG, "Warning: column couldn't found for " + position);
         }
@@ -176,18 +313,19 @@ public class CellLayoutManager extends LinearLayoutManager {
         if (child != null) {
             ColumnLayoutManager childLayoutManager = (ColumnLayoutManager) child.getLayoutManager();
 
-            int cellCacheWidth = getCacheWidth(yPosition, xPosition);
             View cell = childLayoutManager.findViewByPosition(xPosition);
 
             // Control whether the cell needs to be fitted by column header or not.
             if (cell != null) {
+                mFitTouchedCellCount++;
+                int cellCacheWidth = getCacheWidth(yPosition, xPosition, cell);
 
                 if (cellCacheWidth != columnCachedWidth || mNeedSetLeft) {
 
                     // This is just for setting width value
                     if (cellCacheWidth != columnCachedWidth) {
                         cellCacheWidth = columnCachedWidth;
-                        TableViewUtils.setWidth(cell, cellCacheWidth);
+                        setCellWidth(child, cell, cellCacheWidth);
 
                         setCacheWidth(yPosition, xPosition, cellCacheWidth);
                     }
@@ -245,6 +383,14 @@ public class CellLayoutManager extends LinearLayoutManager {
      * The main difference is this method works after main thread draw the ui components.
      */
     public void fitWidthSize2(boolean scrollingLeft) {
+        if (isColumnWidthDeclared()) {
+            // The cells already have the declared widths.
+            return;
+        }
+
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+
         // The below line helps to change left & right value of the each column
         // header views
         // without using requestLayout().
@@ -256,6 +402,7 @@ public class CellLayoutManager extends LinearLayoutManager {
         int columnHeaderFirstItem = mColumnHeaderLayoutManager.findFirstVisibleItemPosition();
 
         // Fit all visible columns widths
+        mFitTouchedCellCount = 0;
         for (int i = mColumnHeaderLayoutManager.findFirstVisibleItemPosition(); i <
                 mColumnHeaderLayoutManager.findLastVisibleItemPosition() + 1; i++) {
 
@@ -264,6 +411,9 @@ public class CellLayoutManager extends LinearLayoutManager {
         }
 
         mNeedSetLeft = false;
+        requestPendingLayouts();
+        metrics.end(TableViewMetrics.FIT_WIDTH_2, start);
+        metrics.count(TableViewMetrics.FIT_TOUCHED_CELL, mFitTouchedCellCount);
     }
 
     /**
@@ -271,6 +421,14 @@ public class CellLayoutManager extends LinearLayoutManager {
      * The main difference is this method works after main thread draw the ui components.
      */
     public void fitWidthSize2(int position, boolean scrollingLeft) {
+        if (isColumnWidthDeclared()) {
+            // The cells already have the declared widths.
+            return;
+        }
+
+        TableViewMetrics metrics = mTableView.getMetrics();
+        long start = metrics.begin();
+
         // The below line helps to change left & right value of the each column
         // header views
         // without using requestLayout().
@@ -282,11 +440,14 @@ public class CellLayoutManager extends LinearLayoutManager {
         int columnHeaderFirstItem = mColumnHeaderLayoutManager.findFirstVisibleItemPosition();
 
         // Fit all visible columns widths
+        mFitTouchedCellCount = 0;
         fitSize2(position, scrollingLeft, columnHeaderScrollPosition, columnHeaderOffset,
                 columnHeaderFirstItem);
 
-
         mNeedSetLeft = false;
+        requestPendingLayouts();
+        metrics.end(TableViewMetrics.FIT_WIDTH_2, start);
+        metrics.count(TableViewMetrics.FIT_TOUCHED_CELL, mFitTouchedCellCount);
     }
 
     private void fitSize2(int position, boolean scrollingLeft, int columnHeaderScrollPosition,
@@ -317,27 +478,30 @@ public class CellLayoutManager extends LinearLayoutManager {
                     }
 
                     if (childLayoutManager != null) {
-                        fit2(position, j, columnCacheWidth, column, childLayoutManager);
+                        fit2(position, j, columnCacheWidth, column, child, childLayoutManager);
                     }
                 }
             }
+            mColumnHeaderLayoutManager.getColumnWidthModel().clearDirty(position);
         }
     }
 
     private void fit2(int xPosition, int yPosition, int columnCachedWidth, @NonNull View column,
+                      @NonNull CellRecyclerView child,
                       @NonNull ColumnLayoutManager childLayoutManager) {
-        int cellCacheWidth = getCacheWidth(yPosition, xPosition);
         View cell = childLayoutManager.findViewByPosition(xPosition);
 
         // Control whether the cell needs to be fitted by column header or not.
         if (cell != null) {
+            mFitTouchedCellCount++;
+            int cellCacheWidth = getCacheWidth(yPosition, xPosition, cell);
 
             if (cellCacheWidth != columnCachedWidth || mNeedSetLeft) {
 
                 // This is just for setting width value
                 if (cellCacheWidth != columnCachedWidth) {
                     cellCacheWidth = columnCachedWidth;
-                    TableViewUtils.setWidth(cell, cellCacheWidth);
+                    setCellWidth(child, cell, cellCacheWidth);
 
                     setCacheWidth(yPosition, xPosition, cellCacheWidth);
                 }
@@ -360,6 +524,56 @@ public class CellLayoutManager extends LinearLayoutManager {
         }
     }
 
+    /**
+     * Sets the width of a cell without requesting its layout. The row is collected instead, and
+     * its layout is requested once when the fitting pass ends.
+     */
+    private void setCellWidth(@NonNull CellRecyclerView row, @NonNull View cell, int width) {
+        TableViewUtils.setWidth(cell, width, false, mTableView.getMetrics());
+
+        if (!mPendingLayoutRows.contains(row)) {
+            mPendingLayoutRows.add(row);
+        }
+    }
+
+    private void requestPendingLayouts() {
+        if (mPendingLayoutRows.isEmpty()) {
+            return;
+        }
+
+        CellRecyclerView cellRecyclerView = mTableView.getCellRecyclerView();
+        if (cellRecyclerView.isComputingLayout()) {
+            // Requesting a layout in the middle of a layout pass would be deferred and repeated
+            // by the RecyclerView, so it is requested right after the pass.
+            if (!mPendingLayoutsPosted) {
+                mPendingLayoutsPosted = true;
+                cellRecyclerView.post(mRequestPendingLayouts);
+            }
+            return;
+        }
+
+        for (int i = 0; i < mPendingLayoutRows.size(); i++) {
+            CellRecyclerView row = mPendingLayoutRows.get(i);
+            if (!row.isLayoutRequested()) {
+                row.requestLayout();
+            }
+        }
+        mPendingLayoutRows.clear();
+    }
+
+    /**
+     * Returns the number of the cells which have been checked by the last fitting pass, to
+     * measure how much work the fitting takes while scrolling. The counts of all of the passes
+     * are also reported as {@link TableViewMetrics#FIT_TOUCHED_CELL}.
+     */
+    public int getFitTouchedCellCount() {
+        return mFitTouchedCellCount;
+    }
+
+    private boolean isColumnWidthDeclared() {
+        return mColumnHeaderLayoutManager.getColumnWidthModel().isDeclared();
+    }
+
     public boolean shouldFitColumns(int yPosition) {
 
         // Scrolling horizontally
@@ -383,10 +597,15 @@ public class CellLayoutManager extends LinearLayoutManager {
 
     @Override
     public void measureChildWithMargins(@NonNull View child, int widthUsed, int heightUsed) {
-        super.measureChildWithMargins(child, widthUsed, heightUsed);
+        if (mRowHeightModel.isUniform()) {
+            mRowHeightModel.measureUniformChild(this, child, widthUsed);
+        } else {
+            super.measureChildWithMargins(child, widthUsed, heightUsed);
+        }
+        mRowHeightModel.set(getPosition(child), RowHeightModel.getDecoratedHeight(this, child));
 
         // If has fixed width is true, than calculation of the column width is not necessary.
-        if (mTableView.hasFixedWidth()) {
+        if (mTableView.hasFixedWidth() || isColumnWidthDeclared()) {
             return;
         }
 
@@ -412,8 +631,12 @@ public class CellLayoutManager extends LinearLayoutManager {
                 childLayoutManager.clearNeedFit();
             }
 
-            // Set the right initialPrefetch size to improve performance
-            childLayoutManager.setInitialPrefetchItemCount(childLayoutManager.getChildCount());
+            // Set the right initialPrefetch size to improve performance. The columns which are
+            // about to appear by a horizontal fling are prefetched as well.
+            int columnWidth = childLayoutManager.getChildCount() > 0 ? childLayoutManager
+                    .getDecoratedMeasuredWidth(childLayoutManager.getChildAt(0)) : 0;
+            childLayoutManager.setInitialPrefetchItemCount(childLayoutManager.getChildCount() +
+                    mTableView.getPrefetchPolicy().getPrefetchItemCount(true, 0, columnWidth));
 
             // That means,populating for the first time like fetching all data to display.
             // It shouldn't be worked when it is scrolling horizontally ."getLastDx() == 0"
@@ -482,41 +705,102 @@ public class CellLayoutManager extends LinearLayoutManager {
     }
 
     /**
-     * Allows to set cache width value for single cell item.
+     * Enables keeping a width for each cell in addition to the column widths, for the cells that
+     * must be wider or narrower than their columns. It is disabled by default since it takes
+     * memory for every row of the table.
+     */
+    public void setCellWidthsEnabled(boolean enabled) {
+        mCellWidthList = enabled ? new SparseArray<>() : null;
+    }
+
+    public boolean isCellWidthsEnabled() {
+        return mCellWidthList != null;
+    }
+
+    /**
+     * Allows to set cache width value for single cell item. It is only kept if the widths of the
+     * cells are enabled, otherwise the cell takes the width of its column.
      */
     public void setCacheWidth(int row, int column, int width) {
-        SparseIntArray cellRowCache = mCachedWidthList.get(row);
+        if (mCellWidthList == null) {
+            return;
+        }
+
+        SparseIntArray cellRowCache = mCellWidthList.get(row);
         if (cellRowCache == null) {
             cellRowCache = new SparseIntArray();
         }
 
         cellRowCache.put(column, width);
-        mCachedWidthList.put(row, cellRowCache);
+        mCellWidthList.put(row, cellRowCache);
     }
 
     /**
      * Allows to set cache width value for all cell items that is located on column position.
      */
     public void setCacheWidth(int column, int width) {
+        if (mCellWidthList == null) {
+            // The cells take the width from the ColumnWidthModel.
+            return;
+        }
+
         for (int i = 0; i < mRowHeaderRecyclerView.getAdapter().getItemCount(); i++) {
             // set cache width for single cell item.
             setCacheWidth(i, column, width);
         }
     }
 
+    /**
+     * Returns the width of the cell if the widths of the cells are enabled, otherwise the width
+     * of its column.
+     */
     public int getCacheWidth(int row, int column) {
-        SparseIntArray cellRowCaches = mCachedWidthList.get(row);
+        if (mCellWidthList == null) {
+            return mColumnHeaderLayoutManager.getCacheWidth(column);
+        }
+
+        SparseIntArray cellRowCaches = mCellWidthList.get(row);
         if (cellRowCaches != null) {
-            return cellRowCaches.get(column, -1);
+            return cellRowCaches.get(column, ColumnWidthModel.UNKNOWN);
         }
-        return -1;
+        return ColumnWidthModel.UNKNOWN;
+    }
+
+    /**
+     * Returns the width which the given cell view has been fitted to, or
+     * {@link ColumnWidthModel#UNKNOWN} if it hasn't been fitted yet.
+     */
+    int getCacheWidth(int row, int column, @NonNull View cell) {
+        if (mCellWidthList != null) {
+            return getCacheWidth(row, column);
+        }
+
+        // The width is set to the layout params when the cell is fitted, and reset when it is
+        // bound again.
+        int width = cell.getLayoutParams().width;
+        return width >= 0 ? width : ColumnWidthModel.UNKNOWN;
     }
 
     /**
      * Clears the widths which have been calculated and reused.
      */
     public void clearCachedWidths() {
-        mCachedWidthList.clear();
+        if (mCellWidthList != null) {
+            mCellWidthList.clear();
+        }
+    }
+
+    /**
+     * Draws the attached rows again, which the rows drawing their own cells need when the
+     * column headers or the selection change.
+     */
+    public void invalidateRows() {
+        for (int i = 0; i < getChildCount(); i++) {
+            View row = getChildAt(i);
+            if (row != null) {
+                row.invalidate();
+            }
+        }
     }
 
     @NonNull
@@ -18,27 +18,33 @@
 package com.evrencoskun.tableview.layoutmanager;
 
 import android.content.Context;
-import android.util.SparseIntArray;
 import android.view.View;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
+import com.evrencoskun.tableview.preference.ColumnWidthSnapshot;
 import com.evrencoskun.tableview.util.TableViewUtils;
 
+import java.util.List;
+
 /**
  * Created by evrencoskun on 30/07/2017.
  */
 
 public class ColumnHeaderLayoutManager extends LinearLayoutManager {
-    //private SparseArray<Integer> mCachedWidthList;
     @NonNull
-    private SparseIntArray mCachedWidthList = new SparseIntArray();
+    private final ColumnWidthModel mColumnWidthModel = new ColumnWidthModel();
     @NonNull
     private ITableView mTableView;
+    // The widths to restore when the column headers are set.
+    @Nullable
+    private ColumnWidthSnapshot mRestoredWidths;
 
     public ColumnHeaderLayoutManager(@NonNull Context context, @NonNull ITableView tableView) {
         super(context);
@@ -49,6 +55,12 @@ public class ColumnHeaderLayoutManager extends LinearLayoutManager {
 
     @Override
     public void measureChildWithMargins(@NonNull View child, int widthUsed, int heightUsed) {
+        if (setDeclaredWidth(child)) {
+            // The width is known, so the child doesn't need to be fitted.
+            super.measureChildWithMargins(child, widthUsed, heightUsed);
+            return;
+        }
+
         super.measureChildWithMargins(child, widthUsed, heightUsed);
 
         // If has fixed width is true, than calculation of the column width is not necessary.
@@ -62,7 +74,7 @@ public class ColumnHeaderLayoutManager extends LinearLayoutManager {
     @Override
     public void measureChild(@NonNull View child, int widthUsed, int heightUsed) {
         // If has fixed width is true, than calculation of the column width is not necessary.
-        if (mTableView.hasFixedWidth()) {
+        if (mTableView.hasFixedWidth() || setDeclaredWidth(child)) {
             super.measureChild(child, widthUsed, heightUsed);
             return;
         }
@@ -72,18 +84,124 @@ public class ColumnHeaderLayoutManager extends LinearLayoutManager {
 
         // If the width value of the cell has already calculated, then set the value
         if (cacheWidth != -1) {
-            TableViewUtils.setWidth(child, cacheWidth);
+            // The child is being measured, so its layout doesn't need to be requested.
+            TableViewUtils.setWidth(child, cacheWidth, false, mTableView.getMetrics());
         } else {
             super.measureChild(child, widthUsed, heightUsed);
         }
     }
 
+    /**
+     * Sets the declared width of the column to the layout params of the child, which lets it be
+     * measured without fitting. Returns false if the widths aren't declared.
+     */
+    private boolean setDeclaredWidth(@NonNull View child) {
+        if (!mColumnWidthModel.isDeclared()) {
+            return false;
+        }
+
+        int width = mColumnWidthModel.get(getPosition(child));
+        if (width == ColumnWidthModel.UNKNOWN) {
+            // The column count has changed since the widths were resolved.
+            return false;
+        }
+
+        child.getLayoutParams().width = width;
+        return true;
+    }
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (!state.isPreLayout()) {
+            mColumnWidthModel.setColumnCount(state.getItemCount());
+        }
+        super.onLayoutChildren(recycler, state);
+
+        if (getChildCount() > 0) {
+            View child = getChildAt(0);
+            mColumnWidthModel.setColumnSpacing(getDecoratedMeasuredWidth(child) - child
+                    .getMeasuredWidth());
+        }
+
+        if (mTableView.getTextCellRenderer() != null) {
+            // The text cells are drawn on the bounds of the column headers.
+            mTableView.getCellLayoutManager().invalidateRows();
+        }
+    }
+
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        mTableView.getPrefetchPolicy().collectAdjacentPrefetchPositions(this, dx, state,
+                layoutPrefetchRegistry);
+    }
+
+    @Override
+    public void onScrollStateChanged(int state) {
+        super.onScrollStateChanged(state);
+        if (state == RecyclerView.SCROLL_STATE_IDLE) {
+            mTableView.getPrefetchPolicy().onScrollIdle(true);
+        }
+    }
+
+    @Override
+    public int computeHorizontalScrollOffset(@NonNull RecyclerView.State state) {
+        View first = getFirstChild(state);
+        if (first == null) {
+            return super.computeHorizontalScrollOffset(state);
+        }
+
+        // The offset is computed from the widths instead of being estimated.
+        return (int) Math.max(0, mColumnWidthModel.getLeft(getPosition(first)) +
+                getPaddingLeft() - getDecoratedLeft(first));
+    }
+
+    @Override
+    public int computeHorizontalScrollRange(@NonNull RecyclerView.State state) {
+        if (getFirstChild(state) == null) {
+            return super.computeHorizontalScrollRange(state);
+        }
+        return (int) Math.min(mColumnWidthModel.getTotalWidth() + getPaddingLeft() +
+                getPaddingRight(), Integer.MAX_VALUE);
+    }
+
+    @Nullable
+    private View getFirstChild(@NonNull RecyclerView.State state) {
+        if (!mColumnWidthModel.hasLefts() || mColumnWidthModel.getColumnCount() != state
+                .getItemCount() || getChildCount() == 0) {
+            return null;
+        }
+        return findViewByPosition(findFirstVisibleItemPosition());
+    }
+
+    /**
+     * Sets the width of a column header while the cells are being fitted. The layout of the
+     * column header RecyclerView is requested once per layout pass, however many of its
+     * children change.
+     */
+    public void setColumnHeaderWidth(@NonNull View columnHeader, int width) {
+        TableViewUtils.setWidth(columnHeader, width, false, mTableView.getMetrics());
+
+        RecyclerView columnHeaderRecyclerView = mTableView.getColumnHeaderRecyclerView();
+        if (!columnHeaderRecyclerView.isLayoutRequested()) {
+            columnHeaderRecyclerView.requestLayout();
+        }
+    }
+
     public void setCacheWidth(int position, int width) {
-        mCachedWidthList.put(position, width);
+        mColumnWidthModel.set(position, width);
     }
 
     public int getCacheWidth(int position) {
-        return mCachedWidthList.get(position, -1);
+        return mColumnWidthModel.get(position);
+    }
+
+    /**
+     * Returns the widths of the columns, which are shared with the cells.
+     */
+    @NonNull
+    public ColumnWidthModel getColumnWidthModel() {
+        return mColumnWidthModel;
     }
 
     public int getFirstItemLeft() {
@@ -95,14 +213,39 @@ public class ColumnHeaderLayoutManager extends LinearLayoutManager {
      * Helps to recalculate the width value of the cell that is located in given position.
      */
     public void removeCachedWidth(int position) {
-        mCachedWidthList.removeAt(position);
+        mColumnWidthModel.remove(position);
     }
 
     /**
      * Clears the widths which have been calculated and reused.
      */
     public void clearCachedWidths() {
-        mCachedWidthList.clear();
+        mColumnWidthModel.clear();
+    }
+
+    /**
+     * Restores the widths of the snapshot into the current column headers, or keeps them until
+     * the column headers are set. The widths are restored once.
+     */
+    public void setRestoredWidths(@Nullable ColumnWidthSnapshot snapshot) {
+        mRestoredWidths = snapshot;
+
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        if (adapter != null) {
+            restoreWidths(adapter.getColumnHeaderRecyclerViewAdapter().getItems());
+        }
+    }
+
+    /**
+     * Sets the widths which are waiting to be restored to the matching columns, which lets them
+     * be laid out at their widths on the first layout pass.
+     */
+    public void restoreWidths(@Nullable List<?> columnHeaderItems) {
+        if (mRestoredWidths != null && mRestoredWidths.restore(columnHeaderItems,
+                mColumnWidthModel) > 0) {
+            mRestoredWidths = null;
+            requestLayout();
+        }
     }
 
     public void customRequestLayout() {
@@ -143,6 +286,15 @@ public class ColumnHeaderLayoutManager extends LinearLayoutManager {
 
     @Nullable
     public AbstractViewHolder getViewHolder(int xPosition) {
+        RecyclerView frozenColumnHeaderRecyclerView = mTableView
+                .getFrozenColumnHeaderRecyclerView();
+        if (frozenColumnHeaderRecyclerView != null && xPosition < mTableView
+                .getFrozenColumnCount()) {
+            // The header of a frozen column is shown over the scrolling one.
+            return (AbstractViewHolder) frozenColumnHeaderRecyclerView
+                    .findViewHolderForAdapterPosition(xPosition);
+        }
+
         return (AbstractViewHolder) mTableView.getColumnHeaderRecyclerView()
                 .findViewHolderForAdapterPosition(xPosition);
     }
@@ -75,6 +75,12 @@ public class ColumnLayoutManager extends LinearLayoutManager {
 
     @Override
     public void measureChildWithMargins(@NonNull View child, int widthUsed, int heightUsed) {
+        if (setDeclaredWidth(child)) {
+            // The width is known, so the cell doesn't need to be fitted.
+            super.measureChildWithMargins(child, widthUsed, heightUsed);
+            return;
+        }
+
         super.measureChildWithMargins(child, widthUsed, heightUsed);
 
         // If has fixed width is true, than calculation of the column width is not necessary.
@@ -87,18 +93,23 @@ public class ColumnLayoutManager extends LinearLayoutManager {
 
     @Override
     public void measureChild(@NonNull View child, int widthUsed, int heightUsed) {
+        if (setDeclaredWidth(child)) {
+            super.measureChild(child, widthUsed, heightUsed);
+            return;
+        }
 
         int columnPosition = getPosition(child);
 
         // Get cached width size of column and cell
-        int cacheWidth = mCellLayoutManager.getCacheWidth(mYPosition, columnPosition);
+        int cacheWidth = mCellLayoutManager.getCacheWidth(mYPosition, columnPosition, child);
         int columnCacheWidth = mColumnHeaderLayoutManager.getCacheWidth(columnPosition);
 
         // Already each of them is same width size.
         if (cacheWidth != -1 && cacheWidth == columnCacheWidth) {
             // Control whether we need to set width or not.
             if (child.getMeasuredWidth() != cacheWidth) {
-                TableViewUtils.setWidth(child, cacheWidth);
+                // The child is being measured, so its layout doesn't need to be requested.
+                TableViewUtils.setWidth(child, cacheWidth, false, mTableView.getMetrics());
             }
         } else {
             View columnHeaderChild = mColumnHeaderLayoutManager.findViewByPosition(columnPosition);
@@ -106,6 +117,15 @@ public class ColumnLayoutManager extends LinearLayoutManager {
                 return;
             }
 
+            if (!mCellLayoutManager.isCellWidthsEnabled() && cacheWidth != ColumnWidthModel
+                    .UNKNOWN) {
+                // The cell still has a width which its column has had before, so its content
+                // is measured again. A rebound cell already wraps its content.
+                child.getLayoutParams().width = RecyclerView.LayoutParams.WRAP_CONTENT;
+                super.measureChildWithMargins(child, widthUsed, heightUsed);
+                cacheWidth = ColumnWidthModel.UNKNOWN;
+            }
+
             // Need to calculate which one has the broadest width ?
             fitWidthSize(child, mYPosition, columnPosition, cacheWidth, columnCacheWidth,
                     columnHeaderChild);
@@ -129,6 +149,26 @@ public class ColumnLayoutManager extends LinearLayoutManager {
         mNeedFitForHorizontalScroll = false;
     }
 
+    /**
+     * Sets the declared width of the column to the layout params of the cell, which lets it be
+     * measured without fitting. Returns false if the widths aren't declared.
+     */
+    private boolean setDeclaredWidth(@NonNull View child) {
+        ColumnWidthModel columnWidthModel = mColumnHeaderLayoutManager.getColumnWidthModel();
+        if (!columnWidthModel.isDeclared()) {
+            return false;
+        }
+
+        int width = columnWidthModel.get(getPosition(child));
+        if (width == ColumnWidthModel.UNKNOWN) {
+            // The column count has changed since the widths were resolved.
+            return false;
+        }
+
+        child.getLayoutParams().width = width;
+        return true;
+    }
+
     private void fitWidthSize(@NonNull View child, int row, int column, int cellWidth, int
             columnHeaderWidth, @NonNull View columnHeaderChild) {
 
@@ -153,7 +193,8 @@ public class ColumnLayoutManager extends LinearLayoutManager {
 
             // Control whether column header needs to be change interns of width
             if (columnHeaderWidth != columnHeaderChild.getWidth()) {
-                TableViewUtils.setWidth(columnHeaderChild, columnHeaderWidth);
+                mColumnHeaderLayoutManager.setColumnHeaderWidth(columnHeaderChild,
+                        columnHeaderWidth);
                 mNeedFitForVerticalScroll = true;
                 mNeedFitForHorizontalScroll = true;
             }
@@ -164,7 +205,7 @@ public class ColumnLayoutManager extends LinearLayoutManager {
 
 
         // Set the width value to cache it for cell .
-        TableViewUtils.setWidth(child, cellWidth);
+        TableViewUtils.setWidth(child, cellWidth, false, mTableView.getMetrics());
         mCellLayoutManager.setCacheWidth(row, column, cellWidth);
     }
 
@@ -208,6 +249,22 @@ public class ColumnLayoutManager extends LinearLayoutManager {
         return super.scrollHorizontallyBy(dx, recycler, state);
     }
 
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        // The faster the row is scrolled, the more columns are prefetched.
+        mTableView.getPrefetchPolicy().collectAdjacentPrefetchPositions(this, dx, state,
+                layoutPrefetchRegistry);
+    }
+
+    @Override
+    public void onScrollStateChanged(int state) {
+        super.onScrollStateChanged(state);
+        if (state == RecyclerView.SCROLL_STATE_IDLE) {
+            mTableView.getPrefetchPolicy().onScrollIdle(true);
+        }
+    }
+
     private int getRowPosition() {
         return mCellLayoutManager.getPosition(mCellRowRecyclerView);
     }
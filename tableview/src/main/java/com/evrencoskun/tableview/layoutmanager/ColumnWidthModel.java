@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import androidx.annotation.Nullable;
+
+import com.evrencoskun.tableview.util.FenwickTree;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Holds the width of each column, shared by the column headers and the cells. The widths are
+ * kept in a single int array, so its size only depends on the column count. The version is
+ * incremented on every change, which lets a pass check cheaply whether any width has changed
+ * since it last looked. The changed columns are also marked dirty until the cells have been
+ * fitted to them, to let a fitting pass skip the columns which haven't changed.
+ *
+ * <p>When the widths are declared by {@link ColumnWidthSpec}s, the declared widths take
+ * precedence over the measured ones.</p>
+ *
+ * <p>The left edges of the columns are also kept in a {@link FenwickTree}, which maps an
+ * offset to a column and a column to its offset in O(log n) without any view being attached.
+ * A column which hasn't been measured yet counts with the width of the first measured
+ * column.</p>
+ */
+public class ColumnWidthModel {
+    public static final int UNKNOWN = -1;
+
+    private int[] mWidths = new int[0];
+    private int mVersion;
+
+    private final BitSet mDirtyColumns = new BitSet();
+    private boolean mAllDirty;
+    // The columns which have been fitted since all of them were marked dirty.
+    private final BitSet mCleanColumns = new BitSet();
+
+    @Nullable
+    private int[] mDeclaredWidths;
+
+    // The widths of the columns plus the spacing between them.
+    private final FenwickTree mLefts = new FenwickTree();
+    private int mColumnCount;
+    private int mSpacing;
+    private int mEstimatedWidth;
+
+    /**
+     * Returns the width of the given column or {@link #UNKNOWN} if it hasn't been measured.
+     */
+    public int get(int column) {
+        if (mDeclaredWidths != null) {
+            return column >= 0 && column < mDeclaredWidths.length ? mDeclaredWidths[column] :
+                    UNKNOWN;
+        }
+        return column >= 0 && column < mWidths.length ? mWidths[column] : UNKNOWN;
+    }
+
+    public void set(int column, int width) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column: " + column);
+        }
+
+        if (column >= mWidths.length) {
+            if (width == UNKNOWN) {
+                return;
+            }
+
+            int oldLength = mWidths.length;
+            mWidths = Arrays.copyOf(mWidths, Math.max(column + 1, oldLength * 2));
+            Arrays.fill(mWidths, oldLength, mWidths.length, UNKNOWN);
+        }
+
+        if (mWidths[column] != width) {
+            mWidths[column] = width;
+            mDirtyColumns.set(column);
+            mCleanColumns.clear(column);
+            mVersion++;
+            updateLeft(column);
+        }
+    }
+
+    /**
+     * Forgets the width of the given column to let it be measured again.
+     */
+    public void remove(int column) {
+        set(column, UNKNOWN);
+    }
+
+    public void clear() {
+        Arrays.fill(mWidths, UNKNOWN);
+        setAllDirty();
+        mVersion++;
+        mEstimatedWidth = 0;
+        rebuildLefts();
+    }
+
+    /**
+     * Returns the number of columns the model has room for. The widths of the columns beyond it
+     * are unknown.
+     */
+    public int size() {
+        return mWidths.length;
+    }
+
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * Returns whether the width of the column has changed since the dirty columns were cleared.
+     */
+    public boolean isDirty(int column) {
+        return mAllDirty ? !mCleanColumns.get(column) : mDirtyColumns.get(column);
+    }
+
+    /**
+     * Marks the column clean, once the cells have been fitted to its width.
+     */
+    public void clearDirty(int column) {
+        mDirtyColumns.clear(column);
+        if (mAllDirty) {
+            mCleanColumns.set(column);
+        }
+    }
+
+    /**
+     * Sets the widths which have been resolved from the {@link ColumnWidthSpec}s, or null to
+     * let the columns be measured again.
+     */
+    public void setDeclaredWidths(@Nullable int[] widths) {
+        if (Arrays.equals(mDeclaredWidths, widths)) {
+            return;
+        }
+
+        mDeclaredWidths = widths != null ? widths.clone() : null;
+        setAllDirty();
+        mVersion++;
+        rebuildLefts();
+    }
+
+    /**
+     * Returns whether the widths are declared, in which case the views don't need to be measured
+     * to fit the columns.
+     */
+    public boolean isDeclared() {
+        return mDeclaredWidths != null;
+    }
+
+    public int getColumnCount() {
+        return mColumnCount;
+    }
+
+    /**
+     * Sets the number of the columns the left edges are kept for.
+     */
+    public void setColumnCount(int columnCount) {
+        if (mColumnCount != columnCount) {
+            mColumnCount = columnCount;
+            rebuildLefts();
+        }
+    }
+
+    /**
+     * Sets the spacing between two columns, such as the width of a divider.
+     */
+    public void setColumnSpacing(int spacing) {
+        if (mSpacing != spacing) {
+            mSpacing = spacing;
+            rebuildLefts();
+        }
+    }
+
+    /**
+     * Returns whether the left edges can be computed, which needs at least one known width.
+     */
+    public boolean hasLefts() {
+        return mColumnCount > 0 && mEstimatedWidth > 0;
+    }
+
+    /**
+     * Returns the offset of the left edge of the column from the left edge of the first column.
+     */
+    public long getLeft(int column) {
+        return mLefts.sum(Math.max(0, Math.min(column, mColumnCount)));
+    }
+
+    /**
+     * Returns the column which contains the given offset from the left edge of the first
+     * column, or -1 if there isn't any column.
+     */
+    public int getColumnAt(long offset) {
+        return mLefts.indexOf(Math.max(offset, 0));
+    }
+
+    /**
+     * Returns the width of all of the columns including the spacing.
+     */
+    public long getTotalWidth() {
+        return mLefts.sum();
+    }
+
+    /**
+     * Returns the width the columns which haven't been measured count with, which is the first
+     * measured width, or 0 if no column has been measured.
+     */
+    public int getEstimatedWidth() {
+        return mEstimatedWidth;
+    }
+
+    private void setAllDirty() {
+        mAllDirty = true;
+        mCleanColumns.clear();
+    }
+
+    private int getSpacedWidth(int column) {
+        int width = get(column);
+        return (width != UNKNOWN ? width : mEstimatedWidth) + mSpacing;
+    }
+
+    private void updateLeft(int column) {
+        if (mEstimatedWidth == 0 && get(column) > 0) {
+            // The unknown columns count with the first width.
+            mEstimatedWidth = get(column);
+            rebuildLefts();
+        } else if (column < mColumnCount) {
+            mLefts.set(column, getSpacedWidth(column));
+        }
+    }
+
+    private void rebuildLefts() {
+        if (mEstimatedWidth == 0) {
+            for (int i = 0; i < mColumnCount && mEstimatedWidth == 0; i++) {
+                mEstimatedWidth = Math.max(get(i), 0);
+            }
+        }
+
+        int[] widths = new int[mColumnCount];
+        for (int i = 0; i < mColumnCount; i++) {
+            widths[i] = getSpacedWidth(i);
+        }
+        mLefts.setAll(widths, mColumnCount);
+    }
+}
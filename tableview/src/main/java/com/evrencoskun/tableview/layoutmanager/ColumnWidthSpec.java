@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Declares the width of a column ahead of time. A column either has a fixed width, or takes a
+ * share of the remaining width of the TableView by its weight, kept between a minimum and a
+ * maximum width. When the widths of the columns are declared, the views are not measured to fit
+ * the columns.
+ */
+public final class ColumnWidthSpec {
+    private final int mWidth;
+    private final float mWeight;
+    private final int mMinWidth;
+    private final int mMaxWidth;
+
+    private ColumnWidthSpec(int width, float weight, int minWidth, int maxWidth) {
+        this.mWidth = width;
+        this.mWeight = weight;
+        this.mMinWidth = minWidth;
+        this.mMaxWidth = maxWidth;
+    }
+
+    /**
+     * Returns a spec for a column which is always the given width in pixels.
+     */
+    @NonNull
+    public static ColumnWidthSpec fixed(int width) {
+        if (width < 0) {
+            throw new IllegalArgumentException("Width must not be negative");
+        }
+        return new ColumnWidthSpec(width, 0, width, width);
+    }
+
+    /**
+     * Returns a spec for a column which shares the remaining width equally with the other
+     * flexible columns, but is kept between the given widths in pixels.
+     */
+    @NonNull
+    public static ColumnWidthSpec range(int minWidth, int maxWidth) {
+        return weight(1, minWidth, maxWidth);
+    }
+
+    /**
+     * Returns a spec for a column which takes a share of the remaining width by its weight.
+     */
+    @NonNull
+    public static ColumnWidthSpec weight(float weight) {
+        return weight(weight, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a spec for a column which takes a share of the remaining width by its weight, but
+     * is kept between the given widths in pixels.
+     */
+    @NonNull
+    public static ColumnWidthSpec weight(float weight, int minWidth, int maxWidth) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+        if (minWidth < 0 || maxWidth < minWidth) {
+            throw new IllegalArgumentException("Invalid width range: " + minWidth + " - " +
+                    maxWidth);
+        }
+        return new ColumnWidthSpec(-1, weight, minWidth, maxWidth);
+    }
+
+    public boolean isFixed() {
+        return mWeight == 0;
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public float getWeight() {
+        return mWeight;
+    }
+
+    public int getMinWidth() {
+        return mMinWidth;
+    }
+
+    public int getMaxWidth() {
+        return mMaxWidth;
+    }
+
+    /**
+     * Resolves the widths of the columns. The fixed columns take their widths, and the rest of
+     * the available width is shared by the weights of the flexible columns. A flexible column
+     * whose share is out of its range takes the nearest bound, and the remaining width is shared
+     * again by the others.
+     *
+     * @param specs       The specs by column position, null elements or the columns beyond the
+     *                    list use the default spec.
+     * @param defaultSpec The spec of the columns which have no spec.
+     */
+    @NonNull
+    public static int[] resolve(@NonNull List<ColumnWidthSpec> specs, @NonNull ColumnWidthSpec
+            defaultSpec, int columnCount, int availableWidth) {
+        int[] widths = new int[columnCount];
+        boolean[] resolved = new boolean[columnCount];
+        long remaining = availableWidth;
+        float totalWeight = 0;
+
+        for (int i = 0; i < columnCount; i++) {
+            ColumnWidthSpec spec = getSpec(specs, defaultSpec, i);
+            if (spec.isFixed()) {
+                widths[i] = spec.mWidth;
+                resolved[i] = true;
+                remaining -= spec.mWidth;
+            } else {
+                totalWeight += spec.mWeight;
+            }
+        }
+
+        // Each round either clamps at least one flexible column or shares the width among all
+        // of the remaining ones.
+        while (totalWeight > 0) {
+            long share = Math.max(remaining, 0);
+            float weight = totalWeight;
+            boolean clamped = false;
+
+            for (int i = 0; i < columnCount; i++) {
+                if (resolved[i]) {
+                    continue;
+                }
+
+                ColumnWidthSpec spec = getSpec(specs, defaultSpec, i);
+                long width = (long) (share * spec.mWeight / weight);
+                if (width < spec.mMinWidth || width > spec.mMaxWidth) {
+                    widths[i] = width < spec.mMinWidth ? spec.mMinWidth : spec.mMaxWidth;
+                    resolved[i] = true;
+                    remaining -= widths[i];
+                    totalWeight -= spec.mWeight;
+                    clamped = true;
+                } else {
+                    widths[i] = (int) width;
+                }
+            }
+
+            if (!clamped) {
+                break;
+            }
+        }
+        return widths;
+    }
+
+    @NonNull
+    private static ColumnWidthSpec getSpec(@NonNull List<ColumnWidthSpec> specs, @NonNull
+            ColumnWidthSpec defaultSpec, int column) {
+        ColumnWidthSpec spec = column < specs.size() ? specs.get(column) : null;
+        return spec != null ? spec : defaultSpec;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (!(obj instanceof ColumnWidthSpec)) {
+            return false;
+        }
+
+        ColumnWidthSpec other = (ColumnWidthSpec) obj;
+        return mWidth == other.mWidth && mWeight == other.mWeight && mMinWidth == other
+                .mMinWidth && mMaxWidth == other.mMaxWidth;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mWidth;
+        result = 31 * result + Float.floatToIntBits(mWeight);
+        result = 31 * result + mMinWidth;
+        result = 31 * result + mMaxWidth;
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+
+import com.evrencoskun.tableview.ITableView;
+
+/**
+ * Lays out the headers of the frozen columns, which don't scroll. They take their widths from
+ * the {@link ColumnWidthModel} of the scrolling column headers.
+ */
+public class FrozenColumnHeaderLayoutManager extends LinearLayoutManager {
+    @NonNull
+    private final ColumnWidthModel mColumnWidthModel;
+
+    public FrozenColumnHeaderLayoutManager(@NonNull Context context, @NonNull ITableView
+            tableView) {
+        super(context, HORIZONTAL, false);
+        this.mColumnWidthModel = tableView.getColumnHeaderLayoutManager().getColumnWidthModel();
+    }
+
+    @Override
+    public boolean canScrollHorizontally() {
+        return false;
+    }
+
+    @Override
+    public void measureChildWithMargins(@NonNull View child, int widthUsed, int heightUsed) {
+        int width = mColumnWidthModel.get(getPosition(child));
+        if (width != ColumnWidthModel.UNKNOWN) {
+            child.getLayoutParams().width = width;
+        }
+        super.measureChildWithMargins(child, widthUsed, heightUsed);
+    }
+}
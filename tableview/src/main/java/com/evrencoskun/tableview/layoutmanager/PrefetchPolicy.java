@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Decides how many rows and columns are prefetched ahead of a scroll. The faster the table is
+ * scrolled or flung on an axis, the more items of that axis are bound before they appear, up
+ * to a limit. The velocities are taken from the flings of the recyclerViews it is set to as
+ * their {@link RecyclerView.OnFlingListener}.
+ *
+ * <p>It also measures the time the cells take to be bound, and reports it once per frame to
+ * the {@link BindCostListener}, if there is one. Before Jelly Bean, which has no
+ * {@link Choreographer}, it is reported once the main thread is idle instead.</p>
+ */
+public class PrefetchPolicy extends RecyclerView.OnFlingListener {
+
+    /**
+     * Receives the number of the views bound in a frame and the time they took.
+     */
+    public interface BindCostListener {
+        void onFrameBindCost(int bindCount, long bindNanos);
+    }
+
+    /**
+     * Receives the range of the rows or the columns which have been registered to be
+     * prefetched, so the work of their cells can be started ahead as well.
+     */
+    public interface PrefetchListener {
+        void onPrefetch(boolean horizontal, int fromPosition, int toPosition);
+    }
+
+    private static final int FRAME_MILLIS = 16;
+    private static final int DEFAULT_LOOK_AHEAD_MILLIS = 100;
+    private static final int DEFAULT_MAX_PREFETCH_ITEM_COUNT = 8;
+
+    private int mLookAheadMillis = DEFAULT_LOOK_AHEAD_MILLIS;
+    private int mMaxPrefetchItemCount = DEFAULT_MAX_PREFETCH_ITEM_COUNT;
+
+    private int mVelocityX;
+    private int mVelocityY;
+
+    @Nullable
+    private BindCostListener mBindCostListener;
+    @Nullable
+    private PrefetchListener mPrefetchListener;
+    private int mFrameBindCount;
+    private long mFrameBindNanos;
+    private boolean mFrameCallbackPosted;
+    // Created on the main thread by the first bind which is measured.
+    @Nullable
+    private Choreographer.FrameCallback mFrameCallback;
+    @Nullable
+    private Handler mHandler;
+    // A single instance, so it can be posted again.
+    @NonNull
+    private final Runnable mReportRunnable = this::reportBindCost;
+
+    /**
+     * Sets how far ahead the items are prefetched, as the time it takes to scroll to them.
+     */
+    public void setLookAheadMillis(int lookAheadMillis) {
+        if (lookAheadMillis < 0) {
+            throw new IllegalArgumentException("Look ahead: " + lookAheadMillis);
+        }
+        mLookAheadMillis = lookAheadMillis;
+    }
+
+    public void setMaxPrefetchItemCount(int maxPrefetchItemCount) {
+        if (maxPrefetchItemCount < 1) {
+            throw new IllegalArgumentException("Max prefetch item count: " +
+                    maxPrefetchItemCount);
+        }
+        mMaxPrefetchItemCount = maxPrefetchItemCount;
+    }
+
+    public void setBindCostListener(@Nullable BindCostListener listener) {
+        mBindCostListener = listener;
+    }
+
+    public void setPrefetchListener(@Nullable PrefetchListener listener) {
+        mPrefetchListener = listener;
+    }
+
+    @Override
+    public boolean onFling(int velocityX, int velocityY) {
+        if (velocityX != 0) {
+            mVelocityX = velocityX;
+        }
+        if (velocityY != 0) {
+            mVelocityY = velocityY;
+        }
+        // Let the recyclerView fling as usual.
+        return false;
+    }
+
+    /**
+     * Forgets the fling velocity of the axis, once its scroll has stopped.
+     */
+    public void onScrollIdle(boolean horizontal) {
+        if (horizontal) {
+            mVelocityX = 0;
+        } else {
+            mVelocityY = 0;
+        }
+    }
+
+    /**
+     * Returns the number of the items which will appear within the look ahead time, when the
+     * table is scrolled by the delta in a frame or flung on the axis.
+     */
+    public int getPrefetchItemCount(boolean horizontal, int delta, int itemExtent) {
+        int velocity = horizontal ? mVelocityX : mVelocityY;
+        long distance = Math.max((long) Math.abs(delta) * mLookAheadMillis / FRAME_MILLIS,
+                (long) Math.abs(velocity) * mLookAheadMillis / 1000);
+        long count = (distance + Math.max(itemExtent, 1) - 1) / Math.max(itemExtent, 1);
+        return (int) Math.min(count, mMaxPrefetchItemCount);
+    }
+
+    /**
+     * Registers the items which are about to appear on the side the layout manager is being
+     * scrolled to, with their distances to the viewport.
+     */
+    public void collectAdjacentPrefetchPositions(@NonNull RecyclerView.LayoutManager
+            layoutManager, int delta, @NonNull RecyclerView.State state, @NonNull RecyclerView
+            .LayoutManager.LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        int childCount = layoutManager.getChildCount();
+        if (childCount == 0 || delta == 0) {
+            return;
+        }
+
+        boolean horizontal = layoutManager.canScrollHorizontally();
+        boolean forward = delta > 0;
+        View edge = layoutManager.getChildAt(forward ? childCount - 1 : 0);
+
+        int extent;
+        int distance;
+        if (horizontal) {
+            extent = layoutManager.getDecoratedMeasuredWidth(edge);
+            distance = forward ? layoutManager.getDecoratedRight(edge) - layoutManager
+                    .getWidth() + layoutManager.getPaddingRight() : layoutManager
+                    .getPaddingLeft() - layoutManager.getDecoratedLeft(edge);
+        } else {
+            extent = layoutManager.getDecoratedMeasuredHeight(edge);
+            distance = forward ? layoutManager.getDecoratedBottom(edge) - layoutManager
+                    .getHeight() + layoutManager.getPaddingBottom() : layoutManager
+                    .getPaddingTop() - layoutManager.getDecoratedTop(edge);
+        }
+
+        int count = Math.max(getPrefetchItemCount(horizontal, delta, extent), 1);
+        int first = layoutManager.getPosition(edge) + (forward ? 1 : -1);
+        int position = first;
+        for (int i = 0; i < count && position >= 0 && position < state.getItemCount(); i++) {
+            layoutPrefetchRegistry.addPosition(position, Math.max(distance, 0));
+            distance += extent;
+            position += forward ? 1 : -1;
+        }
+
+        if (mPrefetchListener != null && position != first) {
+            int last = position - (forward ? 1 : -1);
+            mPrefetchListener.onPrefetch(horizontal, Math.min(first, last), Math.max(first,
+                    last));
+        }
+    }
+
+    /**
+     * Returns the start time of a bind, which is only measured if there is a listener.
+     */
+    public long startBind() {
+        return mBindCostListener != null ? System.nanoTime() : 0;
+    }
+
+    public void finishBind(long startNanos) {
+        if (mBindCostListener == null || startNanos == 0) {
+            return;
+        }
+
+        mFrameBindCount++;
+        mFrameBindNanos += System.nanoTime() - startNanos;
+        if (!mFrameCallbackPosted) {
+            mFrameCallbackPosted = true;
+            postReport();
+        }
+    }
+
+    private void postReport() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (mFrameCallback == null) {
+                mFrameCallback = frameTimeNanos -> reportBindCost();
+            }
+            Choreographer.getInstance().postFrameCallback(mFrameCallback);
+        } else {
+            if (mHandler == null) {
+                mHandler = new Handler(Looper.getMainLooper());
+            }
+            mHandler.post(mReportRunnable);
+        }
+    }
+
+    private void reportBindCost() {
+        mFrameCallbackPosted = false;
+        if (mBindCostListener != null) {
+            mBindCostListener.onFrameBindCost(mFrameBindCount, mFrameBindNanos);
+        }
+        mFrameBindCount = 0;
+        mFrameBindNanos = 0;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+
+/**
+ * Lays out the row headers with the {@link RowHeightModel} of the cells. The model is only
+ * written by the cells, the row headers read the uniform height and the scroll position from
+ * it.
+ */
+public class RowHeaderLayoutManager extends LinearLayoutManager {
+    @NonNull
+    private final ITableView mTableView;
+
+    public RowHeaderLayoutManager(@NonNull Context context, @NonNull ITableView tableView) {
+        super(context, VERTICAL, false);
+        this.mTableView = tableView;
+    }
+
+    /**
+     * Returns the model of the cells, which are created after the row headers, or null if the
+     * cells are laid out by the grid layout.
+     */
+    @Nullable
+    private RowHeightModel getRowHeightModel() {
+        if (mTableView.isGridLayoutEnabled()) {
+            return null;
+        }
+        return mTableView.getCellLayoutManager().getRowHeightModel();
+    }
+
+    @Override
+    public void measureChildWithMargins(@NonNull View child, int widthUsed, int heightUsed) {
+        RowHeightModel model = getRowHeightModel();
+        if (model != null && model.isUniform()) {
+            model.measureUniformChild(this, child, widthUsed);
+        } else {
+            super.measureChildWithMargins(child, widthUsed, heightUsed);
+        }
+    }
+
+    @Override
+    public void onLayoutCompleted(RecyclerView.State state) {
+        super.onLayoutCompleted(state);
+        mTableView.getViewPoolHandler().onLayoutCompleted();
+    }
+
+    @Override
+    public int computeVerticalScrollOffset(RecyclerView.State state) {
+        RowHeightModel model = getRowHeightModel();
+        if (model != null && model.canComputeScroll(this, state)) {
+            return model.computeScrollOffset(this);
+        }
+        return super.computeVerticalScrollOffset(state);
+    }
+
+    @Override
+    public int computeVerticalScrollRange(RecyclerView.State state) {
+        RowHeightModel model = getRowHeightModel();
+        if (model != null && model.canComputeScroll(this, state)) {
+            return model.computeScrollRange();
+        }
+        return super.computeVerticalScrollRange(state);
+    }
+
+    @Override
+    public int computeVerticalScrollExtent(RecyclerView.State state) {
+        RowHeightModel model = getRowHeightModel();
+        if (model != null && model.canComputeScroll(this, state)) {
+            return model.computeScrollExtent(this);
+        }
+        return super.computeVerticalScrollExtent(state);
+    }
+}
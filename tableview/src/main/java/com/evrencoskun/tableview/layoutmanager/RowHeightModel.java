@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.layoutmanager;
+
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.util.FenwickTree;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the heights of the rows, shared by the cells and the row headers, to compute exact
+ * scroll offsets and ranges instead of estimating them from the visible rows.
+ *
+ * <p>In the uniform mode every row has the same height, so the rows don't need to be measured
+ * to fit their contents and an offset is a multiplication. Otherwise, the measured heights are
+ * cached in a {@link FenwickTree}. A row which hasn't been measured yet counts with the height
+ * of the first measured row.</p>
+ *
+ * <p>The heights include the decorations of the rows.</p>
+ */
+public class RowHeightModel {
+    public static final int UNKNOWN = -1;
+
+    private int mUniformHeight;
+    private int mUniformExtent;
+
+    private int mRowCount;
+    @NonNull
+    private int[] mHeights = new int[0];
+    @NonNull
+    private final FenwickTree mTree = new FenwickTree();
+    private int mEstimatedHeight;
+    private int mVersion;
+
+    /**
+     * Gives every row the given height, or measures the rows again if it is 0.
+     */
+    public void setUniformHeight(int height) {
+        if (height < 0) {
+            throw new IllegalArgumentException("Height: " + height);
+        }
+        if (mUniformHeight == height) {
+            return;
+        }
+
+        mUniformHeight = height;
+        mUniformExtent = 0;
+        clear();
+    }
+
+    /**
+     * Returns the height which the rows are laid out with, or 0 if they are measured.
+     */
+    public int getUniformHeight() {
+        return mUniformHeight;
+    }
+
+    public boolean isUniform() {
+        return mUniformHeight > 0;
+    }
+
+    /**
+     * Returns whether the offsets can be computed, which needs at least one row height.
+     */
+    public boolean hasHeights() {
+        return mRowCount > 0 && (isUniform() || mEstimatedHeight > 0);
+    }
+
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    public void setRowCount(int rowCount) {
+        if (rowCount == mRowCount) {
+            return;
+        }
+
+        if (rowCount > mRowCount) {
+            insertRows(mRowCount, rowCount - mRowCount);
+        } else {
+            removeRows(rowCount, mRowCount - rowCount);
+        }
+    }
+
+    /**
+     * Returns the measured height of the row including its decorations, or {@link #UNKNOWN}.
+     */
+    public int get(int row) {
+        if (isUniform()) {
+            return mUniformExtent > 0 ? mUniformExtent : UNKNOWN;
+        }
+        return row >= 0 && row < mRowCount ? mHeights[row] : UNKNOWN;
+    }
+
+    /**
+     * Stores the measured height of the row including its decorations. In the uniform mode,
+     * it is the height of all of the rows.
+     */
+    public void set(int row, int height) {
+        if (isUniform()) {
+            if (mUniformExtent != height) {
+                mUniformExtent = height;
+                mVersion++;
+            }
+            return;
+        }
+
+        if (row < 0 || row >= mRowCount || mHeights[row] == height) {
+            return;
+        }
+
+        mHeights[row] = height;
+        if (mEstimatedHeight == 0) {
+            // The unknown rows count with the first height.
+            mEstimatedHeight = height;
+            rebuild();
+        } else {
+            mTree.set(row, getHeight(row));
+        }
+        mVersion++;
+    }
+
+    /**
+     * Returns the height the row counts with, which is estimated if it hasn't been measured.
+     */
+    public int getHeight(int row) {
+        int height = get(row);
+        if (height != UNKNOWN) {
+            return height;
+        }
+        return isUniform() ? mUniformHeight : mEstimatedHeight;
+    }
+
+    /**
+     * Returns the offset of the top of the row from the top of the first row.
+     */
+    public long getOffset(int row) {
+        if (isUniform()) {
+            return (long) row * getHeight(0);
+        }
+        return mTree.sum(row);
+    }
+
+    /**
+     * Returns the row which contains the given offset from the top of the first row.
+     */
+    public int getRow(long offset) {
+        if (mRowCount == 0) {
+            return -1;
+        }
+        if (isUniform()) {
+            return (int) Math.max(0, Math.min(offset / Math.max(getHeight(0), 1), mRowCount - 1));
+        }
+        return mTree.indexOf(Math.max(offset, 0));
+    }
+
+    public long getTotalHeight() {
+        return getOffset(mRowCount);
+    }
+
+    public void insertRows(int positionStart, int itemCount) {
+        ensureCapacity(mRowCount + itemCount);
+        System.arraycopy(mHeights, positionStart, mHeights, positionStart + itemCount,
+                mRowCount - positionStart);
+        Arrays.fill(mHeights, positionStart, positionStart + itemCount, UNKNOWN);
+        mRowCount += itemCount;
+        if (!isUniform()) {
+            // The tree is shifted, the new rows count with the estimated height.
+            mTree.insert(positionStart, itemCount, mEstimatedHeight);
+        }
+        mVersion++;
+    }
+
+    public void removeRows(int positionStart, int itemCount) {
+        int count = Math.min(itemCount, mRowCount - positionStart);
+        if (count <= 0) {
+            return;
+        }
+
+        System.arraycopy(mHeights, positionStart + count, mHeights, positionStart, mRowCount -
+                positionStart - count);
+        mRowCount -= count;
+        if (!isUniform()) {
+            mTree.remove(positionStart, count);
+        }
+        mVersion++;
+    }
+
+    /**
+     * Forgets the heights of the given rows to let them be measured again.
+     */
+    public void invalidateRows(int positionStart, int itemCount) {
+        int end = Math.min(positionStart + itemCount, mRowCount);
+        for (int i = Math.max(positionStart, 0); i < end; i++) {
+            mHeights[i] = UNKNOWN;
+            if (!isUniform()) {
+                mTree.set(i, mEstimatedHeight);
+            }
+        }
+        mVersion++;
+    }
+
+    /**
+     * Forgets all of the heights.
+     */
+    public void clear() {
+        Arrays.fill(mHeights, 0, mRowCount, UNKNOWN);
+        mEstimatedHeight = 0;
+        rebuild();
+    }
+
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * Measures the row with the uniform height without letting it wrap its contents.
+     */
+    void measureUniformChild(@NonNull RecyclerView.LayoutManager layoutManager, @NonNull View
+            child, int widthUsed) {
+        RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+        Rect insets = new Rect();
+        layoutManager.calculateItemDecorationsForChild(child, insets);
+
+        int widthSpec = RecyclerView.LayoutManager.getChildMeasureSpec(layoutManager.getWidth(),
+                layoutManager.getWidthMode(), layoutManager.getPaddingLeft() + layoutManager
+                        .getPaddingRight() + lp.leftMargin + lp.rightMargin + insets.left +
+                        insets.right + widthUsed, lp.width, layoutManager
+                        .canScrollHorizontally());
+        int height = Math.max(mUniformHeight - insets.top - insets.bottom - lp.topMargin - lp
+                .bottomMargin, 0);
+        child.measure(widthSpec, View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec
+                .EXACTLY));
+    }
+
+    /**
+     * Returns the height the child takes in the column including its decorations and margins.
+     */
+    static int getDecoratedHeight(@NonNull RecyclerView.LayoutManager layoutManager, @NonNull
+            View child) {
+        RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) child.getLayoutParams();
+        return layoutManager.getDecoratedMeasuredHeight(child) + lp.topMargin + lp.bottomMargin;
+    }
+
+    /**
+     * Returns whether the scroll position of the layout manager can be computed exactly.
+     */
+    boolean canComputeScroll(@NonNull RecyclerView.LayoutManager layoutManager, @NonNull
+            RecyclerView.State state) {
+        return hasHeights() && mRowCount == state.getItemCount() && layoutManager
+                .getChildCount() > 0;
+    }
+
+    int computeScrollOffset(@NonNull RecyclerView.LayoutManager layoutManager) {
+        View first = null;
+        int firstPosition = Integer.MAX_VALUE;
+        for (int i = 0; i < layoutManager.getChildCount(); i++) {
+            View child = layoutManager.getChildAt(i);
+            int position = layoutManager.getPosition(child);
+            if (position >= 0 && position < firstPosition) {
+                first = child;
+                firstPosition = position;
+            }
+        }
+        if (first == null) {
+            return 0;
+        }
+
+        RecyclerView.LayoutParams lp = (RecyclerView.LayoutParams) first.getLayoutParams();
+        int top = layoutManager.getDecoratedTop(first) - lp.topMargin - layoutManager
+                .getPaddingTop();
+        return (int) Math.max(0, Math.min(getOffset(firstPosition) - top, Integer.MAX_VALUE));
+    }
+
+    int computeScrollRange() {
+        return (int) Math.min(getTotalHeight(), Integer.MAX_VALUE);
+    }
+
+    int computeScrollExtent(@NonNull RecyclerView.LayoutManager layoutManager) {
+        return Math.max(layoutManager.getHeight() - layoutManager.getPaddingTop() - layoutManager
+                .getPaddingBottom(), 0);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mHeights.length < capacity) {
+            mHeights = Arrays.copyOf(mHeights, Math.max(capacity, mHeights.length * 2));
+        }
+    }
+
+    /**
+     * Builds the tree again, which is needed when the estimated height changes or the rows stop
+     * being uniform, since the tree isn't kept up to date in the uniform mode.
+     */
+    private void rebuild() {
+        if (!isUniform()) {
+            int[] heights = new int[mRowCount];
+            for (int i = 0; i < mRowCount; i++) {
+                heights[i] = getHeight(i);
+            }
+            mTree.setAll(heights, mRowCount);
+        }
+        mVersion++;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.listener.itemclick;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.recyclerview.CellGridRecyclerViewAdapter;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
+import com.evrencoskun.tableview.adapter.recyclerview.holder.AbstractViewHolder;
+
+/**
+ * Handles the clicks on the cells when the grid layout is enabled. The cells are the items of
+ * the cell RecyclerView, so their positions are taken from the
+ * {@link CellGridRecyclerViewAdapter}.
+ */
+public class CellGridRecyclerViewItemClickListener extends AbstractItemClickListener {
+
+    public CellGridRecyclerViewItemClickListener(@NonNull CellRecyclerView recyclerView, @NonNull
+            ITableView tableView) {
+        super(recyclerView, tableView);
+    }
+
+    @Override
+    protected boolean clickAction(@NonNull RecyclerView view, @NonNull MotionEvent e) {
+        AbstractViewHolder holder = findViewHolder(e);
+        if (holder == null) {
+            return false;
+        }
+
+        CellGridRecyclerViewAdapter adapter = (CellGridRecyclerViewAdapter) mRecyclerView
+                .getAdapter();
+        int column = adapter.getColumnPosition(holder.getAdapterPosition());
+        int row = adapter.getRowPosition(holder.getAdapterPosition());
+
+        // Control to ignore selection color
+        if (!mTableView.isIgnoreSelectionColors()) {
+            mSelectionHandler.setSelectedCellPositions(holder, column, row);
+        }
+
+        // Call ITableView listener for item click
+        getTableViewListener().onCellClicked(holder, column, row);
+        return true;
+    }
+
+    @Override
+    protected void longPressAction(@NonNull MotionEvent e) {
+        // Consume the action for the time when the cell recyclerView is scrolling.
+        if (mRecyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            return;
+        }
+
+        AbstractViewHolder holder = findViewHolder(e);
+        if (holder == null) {
+            return;
+        }
+
+        CellGridRecyclerViewAdapter adapter = (CellGridRecyclerViewAdapter) mRecyclerView
+                .getAdapter();
+
+        // Call ITableView listener for long click
+        getTableViewListener().onCellLongPressed(holder, adapter.getColumnPosition(holder
+                .getAdapterPosition()), adapter.getRowPosition(holder.getAdapterPosition()));
+    }
+
+    @Override
+    protected boolean doubleClickAction(@NonNull MotionEvent e) {
+        AbstractViewHolder holder = findViewHolder(e);
+        if (holder == null) {
+            return false;
+        }
+
+        CellGridRecyclerViewAdapter adapter = (CellGridRecyclerViewAdapter) mRecyclerView
+                .getAdapter();
+        int column = adapter.getColumnPosition(holder.getAdapterPosition());
+        int row = adapter.getRowPosition(holder.getAdapterPosition());
+
+        // Control to ignore selection color
+        if (!mTableView.isIgnoreSelectionColors()) {
+            mSelectionHandler.setSelectedCellPositions(holder, column, row);
+        }
+
+        // Call ITableView listener for item click
+        getTableViewListener().onCellDoubleClicked(holder, column, row);
+        return true;
+    }
+
+    @Nullable
+    private AbstractViewHolder findViewHolder(@NonNull MotionEvent e) {
+        // Get interacted view from x,y coordinate.
+        View childView = mRecyclerView.findChildViewUnder(e.getX(), e.getY());
+        if (childView == null) {
+            return null;
+        }
+
+        AbstractViewHolder holder = (AbstractViewHolder) mRecyclerView.getChildViewHolder
+                (childView);
+        return holder.getAdapterPosition() != RecyclerView.NO_POSITION ? holder : null;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.listener.itemclick;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.textcell.TextCellRowView;
+
+/**
+ * Finds the clicked cell of a {@link TextCellRowView} by the x of the touch, since its cells
+ * have no views. The listener is given the view holder of the row.
+ */
+public class TextCellRowItemClickListener extends AbstractItemClickListener {
+    @NonNull
+    private final TextCellRowView mTextCellRowView;
+
+    public TextCellRowItemClickListener(@NonNull TextCellRowView recyclerView, @NonNull
+            ITableView tableView) {
+        super(recyclerView, tableView);
+        this.mTextCellRowView = recyclerView;
+    }
+
+    @Override
+    protected boolean clickAction(@NonNull RecyclerView view, @NonNull MotionEvent e) {
+        int column = mTextCellRowView.getColumnAt(e.getX());
+        RecyclerView.ViewHolder holder = getRowViewHolder();
+        if (column == RecyclerView.NO_POSITION || holder == null) {
+            return false;
+        }
+
+        int row = mTextCellRowView.getRowPosition();
+
+        // Control to ignore selection color
+        if (!mTableView.isIgnoreSelectionColors()) {
+            mSelectionHandler.setSelectedCellPositions(null, column, row);
+        }
+
+        getTableViewListener().onCellClicked(holder, column, row);
+        return true;
+    }
+
+    @Override
+    protected void longPressAction(@NonNull MotionEvent e) {
+        // Consume the action for the time when the cell recyclerView is scrolling.
+        if (mTableView.getCellRecyclerView().getScrollState() != RecyclerView
+                .SCROLL_STATE_IDLE) {
+            return;
+        }
+
+        int column = mTextCellRowView.getColumnAt(e.getX());
+        RecyclerView.ViewHolder holder = getRowViewHolder();
+        if (column != RecyclerView.NO_POSITION && holder != null) {
+            getTableViewListener().onCellLongPressed(holder, column, mTextCellRowView
+                    .getRowPosition());
+        }
+    }
+
+    @Override
+    protected boolean doubleClickAction(@NonNull MotionEvent e) {
+        int column = mTextCellRowView.getColumnAt(e.getX());
+        RecyclerView.ViewHolder holder = getRowViewHolder();
+        if (column == RecyclerView.NO_POSITION || holder == null) {
+            return false;
+        }
+
+        int row = mTextCellRowView.getRowPosition();
+
+        // Control to ignore selection color
+        if (!mTableView.isIgnoreSelectionColors()) {
+            mSelectionHandler.setSelectedCellPositions(null, column, row);
+        }
+
+        getTableViewListener().onCellDoubleClicked(holder, column, row);
+        return true;
+    }
+
+    @Nullable
+    private RecyclerView.ViewHolder getRowViewHolder() {
+        return mTableView.getCellRecyclerView().findContainingViewHolder(mTextCellRowView);
+    }
+}
@@ -56,11 +56,14 @@ public class HorizontalRecyclerViewListener extends RecyclerView.OnScrollListene
 
     @NonNull
     private VerticalRecyclerViewListener mVerticalRecyclerViewListener;
+    @NonNull
+    private HorizontalScrollCoordinator mScrollCoordinator;
 
     public HorizontalRecyclerViewListener(@NonNull ITableView tableView) {
         this.mColumnHeaderRecyclerView = tableView.getColumnHeaderRecyclerView();
         this.mCellLayoutManager = tableView.getCellRecyclerView().getLayoutManager();
         this.mVerticalRecyclerViewListener = tableView.getVerticalRecyclerViewListener();
+        this.mScrollCoordinator = new HorizontalScrollCoordinator(tableView);
     }
 
     @Override
@@ -172,33 +175,11 @@ public class HorizontalRecyclerViewListener extends RecyclerView.OnScrollListene
 
     @Override
     public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-        // Column Header should be scrolled firstly. Because it is the compared recyclerView to
-        // make column width fit.
-
-        if (recyclerView == mColumnHeaderRecyclerView) {
-            super.onScrolled(recyclerView, dx, dy);
+        super.onScrolled(recyclerView, dx, dy);
 
-            // Scroll each cell recyclerViews
-            for (int i = 0; i < mCellLayoutManager.getChildCount(); i++) {
-                CellRecyclerView child = (CellRecyclerView) mCellLayoutManager.getChildAt(i);
-                // Scroll horizontally
-                child.scrollBy(dx, 0);
-            }
-        } else {
-            // Scroll column header recycler view as well
-            //mColumnHeaderRecyclerView.scrollBy(dx, 0);
-
-            super.onScrolled(recyclerView, dx, dy);
-
-            // Scroll each cell recyclerViews except the current touched one
-            for (int i = 0; i < mCellLayoutManager.getChildCount(); i++) {
-                CellRecyclerView child = (CellRecyclerView) mCellLayoutManager.getChildAt(i);
-                if (child != recyclerView) {
-                    // Scroll horizontally
-                    child.scrollBy(dx, 0);
-                }
-            }
-        }
+        // The other rows are scrolled by the coordinator once per frame, instead of each of
+        // them being scrolled on every scroll event.
+        mScrollCoordinator.onScrolled(recyclerView, dx);
     }
 
     @Override
@@ -293,4 +274,9 @@ public class HorizontalRecyclerViewListener extends RecyclerView.OnScrollListene
     public void setScrollPosition(int position) {
         this.mScrollPosition = position;
     }
+
+    @NonNull
+    public HorizontalScrollCoordinator getScrollCoordinator() {
+        return mScrollCoordinator;
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.listener.scroll;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
+import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.ColumnLayoutManager;
+
+/**
+ * Keeps the horizontal scroll position of the rows in sync with the column header. It owns a
+ * single x offset which is moved by the recyclerView being scrolled. Each row catches up with
+ * the offset lazily, when the cell recyclerView draws it, however many scroll events the frame
+ * has had. A newly attached row takes the position of the column header directly.
+ */
+public class HorizontalScrollCoordinator {
+
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final RecyclerView mCellRecyclerView;
+
+    // The sum of the horizontal scroll distances. The rows keep the value they have been
+    // scrolled to, so only the difference matters.
+    private int mScrollX;
+    // Incremented whenever the rows have to take the position of the column header again.
+    private int mRelocation;
+
+    public HorizontalScrollCoordinator(@NonNull ITableView tableView) {
+        this.mTableView = tableView;
+        this.mCellRecyclerView = tableView.getCellRecyclerView();
+        if (mCellRecyclerView instanceof CellRecyclerView) {
+            ((CellRecyclerView) mCellRecyclerView).setScrollCoordinator(this);
+        }
+    }
+
+    /**
+     * Returns the x offset which the rows are scrolled to.
+     */
+    public int getScrollX() {
+        return mScrollX;
+    }
+
+    /**
+     * Moves the offset by the distance the given recyclerView has been scrolled. If it is a
+     * row, it has already been scrolled and so has the column header.
+     */
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx) {
+        if (dx == 0) {
+            return;
+        }
+
+        mScrollX += dx;
+        if (recyclerView instanceof CellRecyclerView && recyclerView != mTableView
+                .getColumnHeaderRecyclerView()) {
+            CellRecyclerView row = (CellRecyclerView) recyclerView;
+            row.setSyncedScrollX(row.getSyncedScrollX() + dx);
+        }
+
+        // The rows are synced when they are drawn again.
+        mCellRecyclerView.invalidate();
+    }
+
+    /**
+     * Lets all of the rows take the position of the column header again when they are drawn,
+     * after the column header has been moved to a position without being scrolled.
+     */
+    public void relocateRows() {
+        mRelocation++;
+        mCellRecyclerView.invalidate();
+    }
+
+    /**
+     * Places the newly attached row at the position of the column header.
+     */
+    public void attachRow(@NonNull CellRecyclerView row) {
+        ColumnHeaderLayoutManager columnHeaderLayoutManager = mTableView
+                .getColumnHeaderLayoutManager();
+        int position = columnHeaderLayoutManager.findFirstVisibleItemPosition();
+        if (position != RecyclerView.NO_POSITION) {
+            View first = columnHeaderLayoutManager.findViewByPosition(position);
+            int left = first != null ? first.getLeft() : 0;
+            ((ColumnLayoutManager) row.getLayoutManager()).scrollToPositionWithOffset(position,
+                    left);
+        }
+        row.setSyncedScrollX(mScrollX);
+        row.setSyncedRelocation(mRelocation);
+    }
+
+    /**
+     * Scrolls the row to the offset, or places it at the position of the column header if the
+     * rows have been relocated. It is called just before the row is drawn, so only the rows
+     * which are drawn are scrolled, once per frame.
+     */
+    public void syncRow(@NonNull CellRecyclerView row) {
+        if (mTableView.isGridLayoutEnabled()) {
+            return;
+        }
+
+        if (row.getSyncedRelocation() != mRelocation) {
+            attachRow(row);
+            return;
+        }
+
+        int dx = mScrollX - row.getSyncedScrollX();
+        if (dx != 0) {
+            row.setSyncedScrollX(mScrollX);
+            row.scrollBy(dx, 0);
+        }
+    }
+}
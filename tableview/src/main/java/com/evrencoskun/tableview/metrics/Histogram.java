@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Counts durations in microseconds in logarithmic buckets, 8 for each power of two, which keeps
+ * the error of a percentile under 12.5% in a fixed amount of memory.
+ */
+public class Histogram {
+    private static final int LINEAR_BUCKET_COUNT = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (63 - 4) * SUB_BUCKET_COUNT;
+
+    @NonNull
+    private final long[] mCounts;
+    private long mCount;
+    private long mTotalMicros;
+    private long mMaxMicros;
+
+    public Histogram() {
+        mCounts = new long[BUCKET_COUNT];
+    }
+
+    private Histogram(@NonNull Histogram histogram) {
+        mCounts = histogram.mCounts.clone();
+        mCount = histogram.mCount;
+        mTotalMicros = histogram.mTotalMicros;
+        mMaxMicros = histogram.mMaxMicros;
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1000, 0);
+        mCounts[getBucket(micros)]++;
+        mCount++;
+        mTotalMicros += micros;
+        mMaxMicros = Math.max(mMaxMicros, micros);
+    }
+
+    public long getCount() {
+        return mCount;
+    }
+
+    public long getTotalMicros() {
+        return mTotalMicros;
+    }
+
+    public long getMaxMicros() {
+        return mMaxMicros;
+    }
+
+    /**
+     * Returns the duration which the given percentage of the recorded durations don't exceed,
+     * such as 50 for the median, or 0 if nothing has been recorded.
+     */
+    public long getPercentileMicros(double percentile) {
+        if (mCount == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(Math.max(0, Math.min(percentile, 100)) / 100 * mCount);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += mCounts[i];
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(getBucketMax(i), mMaxMicros);
+            }
+        }
+        return mMaxMicros;
+    }
+
+    public void reset() {
+        Arrays.fill(mCounts, 0);
+        mCount = 0;
+        mTotalMicros = 0;
+        mMaxMicros = 0;
+    }
+
+    @NonNull
+    public Histogram copy() {
+        return new Histogram(this);
+    }
+
+    private static int getBucket(long micros) {
+        if (micros < LINEAR_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_BUCKET_COUNT + (exponent - 4) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getBucketMax(int bucket) {
+        if (bucket < LINEAR_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 4;
+        int subBucket = (bucket - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.metrics;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Collects the durations of the frames and of the work the TableView does in them, to find out
+ * why a table janks. It is disabled by default, when timing a section costs a single check.
+ *
+ * <p>Once enabled, it follows every frame with {@link Choreographer}, and reports the
+ * histograms of the durations and the counters to the {@link MetricsListener} at every report
+ * interval, after which they start over. Before Jelly Bean, which has no Choreographer, the
+ * frames are approximated by a message posted to the main thread every frame interval.</p>
+ */
+public class TableViewMetrics {
+
+    /**
+     * Receives the metrics which have been collected during a report interval.
+     */
+    public interface MetricsListener {
+        void onMetricsReported(@NonNull Snapshot snapshot);
+    }
+
+    // The timed sections.
+    public static final int FRAME = 0;
+    public static final int BIND_CELL = 1;
+    public static final int FIT_WIDTH = 2;
+    public static final int FIT_WIDTH_2 = 3;
+    public static final int SET_WIDTH = 4;
+    public static final int SORT = 5;
+    public static final int FILTER = 6;
+    private static final int SECTION_COUNT = 7;
+
+    // The counters.
+    public static final int VIEW_HOLDER_CREATED = 0;
+    public static final int VIEW_HOLDER_BOUND = 1;
+    public static final int JANKY_FRAME = 2;
+    // The cells checked by the fitting passes, whose number is the count of FIT_WIDTH and
+    // FIT_WIDTH_2.
+    public static final int FIT_TOUCHED_CELL = 3;
+    private static final int COUNTER_COUNT = 4;
+
+    private static final long DEFAULT_REPORT_INTERVAL_MILLIS = 10000;
+    private static final long DEFAULT_FRAME_NANOS = 16666667;
+    // A frame which takes longer than this many frame intervals has missed a vsync.
+    private static final float JANK_FACTOR = 1.5f;
+
+    @NonNull
+    private final Histogram[] mHistograms = new Histogram[SECTION_COUNT];
+    @NonNull
+    private final long[] mCounters = new long[COUNTER_COUNT];
+
+    private boolean mEnabled;
+    @Nullable
+    private MetricsListener mListener;
+    private long mReportIntervalMillis = DEFAULT_REPORT_INTERVAL_MILLIS;
+    private long mFrameIntervalNanos = DEFAULT_FRAME_NANOS;
+    private long mLastFrameNanos;
+    private long mLastReportMillis;
+
+    // Created on the main thread when it is enabled.
+    @Nullable
+    private Choreographer.FrameCallback mFrameCallback;
+    @Nullable
+    private Handler mHandler;
+    // A single instance, so a posted frame can be removed.
+    @NonNull
+    private final Runnable mFrameRunnable = () -> onFrame(System.nanoTime());
+
+    public TableViewMetrics() {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            mHistograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Starts or stops collecting. The collected metrics are cleared when it starts.
+     */
+    public void setEnabled(boolean enabled) {
+        if (mEnabled == enabled) {
+            return;
+        }
+
+        mEnabled = enabled;
+        if (enabled) {
+            reset();
+            mLastFrameNanos = 0;
+            mLastReportMillis = SystemClock.uptimeMillis();
+            postFrame();
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (mFrameCallback != null) {
+                Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+            }
+        } else if (mHandler != null) {
+            mHandler.removeCallbacks(mFrameRunnable);
+        }
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    public void setMetricsListener(@Nullable MetricsListener listener) {
+        mListener = listener;
+    }
+
+    public void setReportIntervalMillis(long reportIntervalMillis) {
+        if (reportIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Report interval: " + reportIntervalMillis);
+        }
+        mReportIntervalMillis = reportIntervalMillis;
+    }
+
+    /**
+     * Sets the interval of the frames of the display, which a janky frame exceeds.
+     */
+    public void setRefreshRate(float refreshRate) {
+        if (refreshRate <= 0) {
+            throw new IllegalArgumentException("Refresh rate: " + refreshRate);
+        }
+        mFrameIntervalNanos = (long) (1000000000L / refreshRate);
+    }
+
+    /**
+     * Returns the start time of a section, which is only measured if it is enabled.
+     */
+    public long begin() {
+        return mEnabled ? System.nanoTime() : 0;
+    }
+
+    public void end(int section, long startNanos) {
+        if (mEnabled && startNanos != 0) {
+            mHistograms[section].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public void count(int counter) {
+        count(counter, 1);
+    }
+
+    public void count(int counter, long amount) {
+        if (mEnabled) {
+            mCounters[counter] += amount;
+        }
+    }
+
+    private void postFrame() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (mFrameCallback == null) {
+                mFrameCallback = this::onFrame;
+            }
+            Choreographer.getInstance().postFrameCallback(mFrameCallback);
+        } else {
+            if (mHandler == null) {
+                mHandler = new Handler(Looper.getMainLooper());
+            }
+            mHandler.postDelayed(mFrameRunnable, mFrameIntervalNanos / 1000000);
+        }
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        if (!mEnabled) {
+            return;
+        }
+
+        if (mLastFrameNanos != 0) {
+            long duration = frameTimeNanos - mLastFrameNanos;
+            mHistograms[FRAME].record(duration);
+            if (duration > mFrameIntervalNanos * JANK_FACTOR) {
+                mCounters[JANKY_FRAME]++;
+            }
+        }
+        mLastFrameNanos = frameTimeNanos;
+
+        long now = SystemClock.uptimeMillis();
+        if (now - mLastReportMillis >= mReportIntervalMillis) {
+            mLastReportMillis = now;
+            if (mListener != null) {
+                mListener.onMetricsReported(getSnapshot());
+            }
+            reset();
+        }
+
+        postFrame();
+    }
+
+    /**
+     * Returns a copy of the metrics collected since the last report.
+     */
+    @NonNull
+    public Snapshot getSnapshot() {
+        Histogram[] histograms = new Histogram[SECTION_COUNT];
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            histograms[i] = mHistograms[i].copy();
+        }
+        return new Snapshot(histograms, mCounters.clone());
+    }
+
+    private void reset() {
+        for (Histogram histogram : mHistograms) {
+            histogram.reset();
+        }
+        for (int i = 0; i < COUNTER_COUNT; i++) {
+            mCounters[i] = 0;
+        }
+    }
+
+    /**
+     * The metrics of a report interval.
+     */
+    public static class Snapshot {
+        @NonNull
+        private final Histogram[] mHistograms;
+        @NonNull
+        private final long[] mCounters;
+
+        Snapshot(@NonNull Histogram[] histograms, @NonNull long[] counters) {
+            this.mHistograms = histograms;
+            this.mCounters = counters;
+        }
+
+        /**
+         * Returns the durations of a section such as {@link #FRAME} or {@link #BIND_CELL}.
+         */
+        @NonNull
+        public Histogram getHistogram(int section) {
+            return mHistograms[section];
+        }
+
+        /**
+         * Returns a counter such as {@link #VIEW_HOLDER_CREATED} or {@link #JANKY_FRAME}.
+         */
+        public long getCount(int counter) {
+            return mCounters[counter];
+        }
+    }
+}
@@ -25,13 +25,17 @@ import com.evrencoskun.tableview.adapter.AdapterDataSetChangedListener;
 import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerViewAdapter;
 import com.evrencoskun.tableview.adapter.recyclerview.RowHeaderRecyclerViewAdapter;
 import com.evrencoskun.tableview.filter.FilterChangedListener;
+import com.evrencoskun.tableview.handler.ColumnSortHandler;
+import com.evrencoskun.tableview.handler.FilterHandler;
 import com.evrencoskun.tableview.sort.ColumnForRowHeaderSortComparator;
 import com.evrencoskun.tableview.sort.ColumnSortComparator;
 import com.evrencoskun.tableview.sort.ColumnSortStateChangedListener;
 import com.evrencoskun.tableview.sort.ISortableModel;
 import com.evrencoskun.tableview.sort.RowHeaderForCellSortComparator;
 import com.evrencoskun.tableview.sort.RowHeaderSortComparator;
+import com.evrencoskun.tableview.sort.RowIndexSortComparator;
 import com.evrencoskun.tableview.sort.SortState;
+import com.evrencoskun.tableview.util.IndexedList;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -53,6 +57,7 @@ public class Pagination implements IPagination {
     private CellRecyclerViewAdapter<List<ISortableModel>> mCellRecyclerViewAdapter;
     @Nullable
     private OnTableViewPageTurnedListener onTableViewPageTurnedListener;
+    private ITableView mTableView;
 
     /**
      * Basic constructor, TableView instance is required.
@@ -87,12 +92,13 @@ public class Pagination implements IPagination {
 
     @SuppressWarnings("unchecked")
     private void initialize(@NonNull ITableView tableView, int itemsPerPage, @Nullable OnTableViewPageTurnedListener listener) {
+        this.mTableView = tableView;
         this.onTableViewPageTurnedListener = listener;
         this.itemsPerPage = itemsPerPage;
         this.mRowHeaderRecyclerViewAdapter = (RowHeaderRecyclerViewAdapter) tableView
                 .getRowHeaderRecyclerView().getAdapter();
-        this.mCellRecyclerViewAdapter = (CellRecyclerViewAdapter) tableView.getCellRecyclerView()
-                .getAdapter();
+        this.mCellRecyclerViewAdapter = tableView.getAdapter()
+                .getCellRecyclerViewAdapter();
         tableView.getColumnSortHandler().addColumnSortStateChangedListener(columnSortStateChangedListener);
         tableView.getAdapter().addAdapterDataSetChangedListener(adapterDataSetChangedListener);
         tableView.getFilterHandler().addFilterChangedListener(filterChangedListener);
@@ -112,7 +118,18 @@ public class Pagination implements IPagination {
         List<List<ISortableModel>> currentPageCellData = new ArrayList<>();
         List<ISortableModel> currentPageRowData = new ArrayList<>();
         // No pagination if itemsPerPage is 0, all data will be loaded into the TableView.
-        if (itemsPerPage == 0) {
+        if (itemsPerPage == 0 && isItemsWrapped()) {
+            // The wrapped rows may be loaded lazily, so they are shown without being copied.
+            mRowHeaderRecyclerViewAdapter.wrapItems(originalRowData, true);
+            mCellRecyclerViewAdapter.wrapItems(originalCellData, true);
+            pageCount = 1;
+
+            if (onTableViewPageTurnedListener != null) {
+                onTableViewPageTurnedListener.onPageTurned(originalCellData.size(), 0,
+                        originalCellData.size() - 1);
+            }
+            return;
+        } else if (itemsPerPage == 0) {
             currentPageCellData.addAll(originalCellData);
             currentPageRowData.addAll(originalRowData);
             pageCount = 1;
@@ -204,15 +221,46 @@ public class Pagination implements IPagination {
             new AdapterDataSetChangedListener() {
                 @Override
                 public void onRowHeaderItemsChanged(@NonNull List rowHeaderItems) {
-                    originalRowData = new ArrayList<>(rowHeaderItems);
+                    originalRowData = copyOf(rowHeaderItems);
                     reloadPages();
                 }
 
                 @Override
                 public void onCellItemsChanged(@NonNull List cellItems) {
-                    originalCellData = new ArrayList<>(cellItems);
+                    originalCellData = copyOf(cellItems);
                     reloadPages();
                 }
+
+                @Override
+                public void onRowsAppended(@NonNull List rowHeaderItems, @NonNull List
+                        cellItems) {
+                    if (isItemsWrapped()) {
+                        return;
+                    }
+                    // The original data is a copy of its own unless it is wrapped. It holds
+                    // the filtered and sorted rows, so the new rows are filtered and sorted.
+                    FilterHandler filterHandler = mTableView.getFilterHandler();
+                    ColumnSortHandler sortHandler = mTableView.getColumnSortHandler();
+                    boolean sorted = sortHandler != null && sortHandler.isSorting();
+                    int[] rows = filterHandler != null ? filterHandler.getMatchingRows
+                            (cellItems) : null;
+                    int count = rows != null ? rows.length : cellItems.size();
+                    for (int i = 0; i < count; i++) {
+                        int row = rows != null ? rows[i] : i;
+                        ISortableModel rowHeaderItem = row < rowHeaderItems.size() ?
+                                (ISortableModel) rowHeaderItems.get(row) : null;
+                        List<ISortableModel> cellItem = (List<ISortableModel>) cellItems.get
+                                (row);
+
+                        int position = sorted ? sortHandler.getSortedPosition(originalRowData,
+                                originalCellData, rowHeaderItem, cellItem) : originalCellData
+                                .size();
+                        originalRowData.add(position, rowHeaderItem);
+                        originalCellData.add(position, cellItem);
+                    }
+                    // The rows have been added to the current page, which is laid out again.
+                    paginateData();
+                }
             };
 
     @NonNull
@@ -220,15 +268,15 @@ public class Pagination implements IPagination {
             new FilterChangedListener<ISortableModel>() {
                 @Override
                 public void onFilterChanged(@NonNull List<List<ISortableModel>> filteredCellItems, @NonNull List<ISortableModel> filteredRowHeaderItems) {
-                    originalCellData = new ArrayList<>(filteredCellItems);
-                    originalRowData = new ArrayList<>(filteredRowHeaderItems);
+                    originalCellData = copyOf(filteredCellItems);
+                    originalRowData = copyOf(filteredRowHeaderItems);
                     reloadPages();
                 }
 
                 @Override
                 public void onFilterCleared(@NonNull List<List<ISortableModel>> originalCellItems, @NonNull List<ISortableModel> originalRowHeaderItems) {
-                    originalCellData = new ArrayList<>(originalCellItems);
-                    originalRowData = new ArrayList<>(originalRowHeaderItems);
+                    originalCellData = copyOf(originalCellItems);
+                    originalRowData = copyOf(originalRowHeaderItems);
                     reloadPages();
                 }
             };
@@ -247,7 +295,46 @@ public class Pagination implements IPagination {
                 }
             };
 
+    /**
+     * Returns whether the rows have been wrapped by the adapter, so they may be loaded lazily.
+     */
+    private boolean isItemsWrapped() {
+        return mTableView.getAdapter() != null && mTableView.getAdapter().isItemsWrapped();
+    }
+
+    /**
+     * Copies the items, unless they are wrapped rows which are read only and mustn't be loaded.
+     */
+    @NonNull
+    private <T> List<T> copyOf(@NonNull List<T> items) {
+        return isItemsWrapped() ? items : new ArrayList<>(items);
+    }
+
+    /**
+     * Sorts the wrapped rows by their indices, reading the sort key of each row once.
+     */
+    private void paginateOnColumnSortByIndices(int column, @NonNull SortState sortState) {
+        if (sortState != SortState.UNSORTED) {
+            Object[] keys = new Object[originalCellData.size()];
+            for (int i = 0; i < keys.length; i++) {
+                ISortableModel item = column == -1 ? originalRowData.get(i) : originalCellData
+                        .get(i).get(column);
+                keys[i] = item != null ? item.getContent() : null;
+            }
+
+            int[] order = RowIndexSortComparator.sort(keys, sortState);
+            originalRowData = IndexedList.of(originalRowData, order, order.length);
+            originalCellData = IndexedList.of(originalCellData, order, order.length);
+        }
+        reloadPages();
+    }
+
     private void paginateOnColumnSort(int column, @NonNull SortState sortState) {
+        if (isItemsWrapped() && originalRowData.size() == originalCellData.size()) {
+            paginateOnColumnSortByIndices(column, sortState);
+            return;
+        }
+
         List<ISortableModel> sortedRowHeaderList = new ArrayList<>(originalRowData);
         List<List<ISortableModel>> sortedList = new ArrayList<>(originalCellData);
         if (sortState != SortState.UNSORTED) {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.preference;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthModel;
+import com.evrencoskun.tableview.sort.ISortableModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the measured widths of the columns keyed by the ids of their headers, which should
+ * implement {@link ISortableModel}. Unlike positions, the ids still match after the columns
+ * have been reordered, so the widths can be restored into a table whose items have changed.
+ *
+ * <p>It is saved with the {@link Preferences}, and the ids and widths can be stored somewhere
+ * else to restore the widths in a later session.</p>
+ */
+public class ColumnWidthSnapshot implements Parcelable {
+
+    @NonNull
+    private final String[] mIds;
+    @NonNull
+    private final int[] mWidths;
+
+    public ColumnWidthSnapshot(@NonNull String[] ids, @NonNull int[] widths) {
+        if (ids.length != widths.length) {
+            throw new IllegalArgumentException("Ids: " + ids.length + ", widths: " + widths
+                    .length);
+        }
+        this.mIds = ids.clone();
+        this.mWidths = widths.clone();
+    }
+
+    protected ColumnWidthSnapshot(Parcel in) {
+        mIds = in.createStringArray();
+        mWidths = in.createIntArray();
+    }
+
+    /**
+     * Takes the measured widths of the columns whose headers have ids, or returns null if there
+     * isn't any.
+     */
+    @Nullable
+    public static ColumnWidthSnapshot capture(@Nullable List<?> columnHeaderItems, @NonNull
+            ColumnWidthModel model) {
+        if (columnHeaderItems == null) {
+            return null;
+        }
+
+        List<String> ids = new ArrayList<>();
+        List<Integer> widths = new ArrayList<>();
+        for (int i = 0; i < columnHeaderItems.size(); i++) {
+            Object item = columnHeaderItems.get(i);
+            int width = model.get(i);
+            if (item instanceof ISortableModel && width != ColumnWidthModel.UNKNOWN) {
+                ids.add(((ISortableModel) item).getId());
+                widths.add(width);
+            }
+        }
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        int[] widthArray = new int[widths.size()];
+        for (int i = 0; i < widthArray.length; i++) {
+            widthArray[i] = widths.get(i);
+        }
+        return new ColumnWidthSnapshot(ids.toArray(new String[0]), widthArray);
+    }
+
+    /**
+     * Sets the widths of the columns whose header ids are in the snapshot to the model.
+     *
+     * @return the number of the restored columns.
+     */
+    public int restore(@Nullable List<?> columnHeaderItems, @NonNull ColumnWidthModel model) {
+        if (columnHeaderItems == null || columnHeaderItems.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> widths = new HashMap<>(mIds.length * 2);
+        for (int i = 0; i < mIds.length; i++) {
+            widths.put(mIds[i], mWidths[i]);
+        }
+
+        int restored = 0;
+        for (int i = 0; i < columnHeaderItems.size(); i++) {
+            Object item = columnHeaderItems.get(i);
+            if (!(item instanceof ISortableModel)) {
+                continue;
+            }
+
+            Integer width = widths.get(((ISortableModel) item).getId());
+            if (width != null) {
+                model.set(i, width);
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    @NonNull
+    public String[] getIds() {
+        return mIds.clone();
+    }
+
+    @NonNull
+    public int[] getWidths() {
+        return mWidths.clone();
+    }
+
+    @NonNull
+    public static final Creator<ColumnWidthSnapshot> CREATOR = new Creator<ColumnWidthSnapshot>
+            () {
+        @NonNull
+        @Override
+        public ColumnWidthSnapshot createFromParcel(Parcel in) {
+            return new ColumnWidthSnapshot(in);
+        }
+
+        @NonNull
+        @Override
+        public ColumnWidthSnapshot[] newArray(int size) {
+            return new ColumnWidthSnapshot[size];
+        }
+    };
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeStringArray(mIds);
+        dest.writeIntArray(mWidths);
+    }
+}
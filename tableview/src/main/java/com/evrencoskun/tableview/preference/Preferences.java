@@ -21,6 +21,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 /**
  * Created by evrencoskun on 4.03.2018.
@@ -34,6 +35,8 @@ public class Preferences implements Parcelable {
     public int columnPositionOffset;
     public int selectedRowPosition;
     public int selectedColumnPosition;
+    @Nullable
+    public ColumnWidthSnapshot columnWidths;
 
     public Preferences() {
     }
@@ -45,6 +48,7 @@ public class Preferences implements Parcelable {
         columnPositionOffset = in.readInt();
         selectedRowPosition = in.readInt();
         selectedColumnPosition = in.readInt();
+        columnWidths = in.readParcelable(ColumnWidthSnapshot.class.getClassLoader());
     }
 
     @NonNull
@@ -93,5 +97,6 @@ public class Preferences implements Parcelable {
         dest.writeInt(columnPositionOffset);
         dest.writeInt(selectedRowPosition);
         dest.writeInt(selectedColumnPosition);
+        dest.writeParcelable(columnWidths, flags);
     }
 }
@@ -74,6 +74,14 @@ public class ColumnSortHelper {
         return mSortingColumns.size() != 0;
     }
 
+    /**
+     * Returns the column which has been sorted last, or -1 if no column is sorted.
+     */
+    public int getSortingColumn() {
+        return mSortingColumns.isEmpty() ? -1 : mSortingColumns.get(mSortingColumns.size() - 1)
+                .column;
+    }
+
     @NonNull
     public SortState getSortingStatus(int column) {
         return getDirective(column).direction;
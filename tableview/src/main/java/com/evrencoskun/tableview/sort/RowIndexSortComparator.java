@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.sort;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Compares the rows by their indices into the sort keys, which are read once for each row. It
+ * lets the rows of a lazily loaded list be sorted without keeping the rows themselves.
+ */
+public class RowIndexSortComparator extends AbstractSortComparator implements Comparator<Integer> {
+    @NonNull
+    private final Object[] mKeys;
+
+    public RowIndexSortComparator(@NonNull Object[] keys, @NonNull SortState sortState) {
+        this.mKeys = keys;
+        this.mSortState = sortState;
+    }
+
+    @Override
+    public int compare(Integer row1, Integer row2) {
+        if (mSortState == SortState.DESCENDING) {
+            return compareContent(mKeys[row2], mKeys[row1]);
+        } else {
+            return compareContent(mKeys[row1], mKeys[row2]);
+        }
+    }
+
+    /**
+     * Returns the row indices ordered by their keys. Rows with equal keys keep their order.
+     */
+    @NonNull
+    public static int[] sort(@NonNull Object[] keys, @NonNull SortState sortState) {
+        Integer[] rows = new Integer[keys.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, new RowIndexSortComparator(keys, sortState));
+
+        int[] order = new int[rows.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = rows[i];
+        }
+        return order;
+    }
+}
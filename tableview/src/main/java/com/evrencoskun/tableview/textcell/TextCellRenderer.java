@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.textcell;
+
+import android.graphics.Paint;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.evrencoskun.tableview.handler.ColumnWidthPreMeasureHandler;
+import com.evrencoskun.tableview.handler.ColumnWidthPreMeasureHandler.TextProvider;
+
+/**
+ * Draws the cells of the rows as texts, instead of each cell being a view of its own. A row is
+ * a single {@link TextCellRowView}, which draws its visible cells on the bounds of the column
+ * headers, so the column widths are the widths of the column headers.
+ * <p>
+ * A text is drawn on a single line, and it is ellipsized if it doesn't fit its column.
+ *
+ * @see com.evrencoskun.tableview.TableView#setTextCellRenderer(TextCellRenderer)
+ */
+public class TextCellRenderer {
+    @NonNull
+    private final TextPaint mTextPaint;
+    @NonNull
+    private TextProvider mTextProvider = ColumnWidthPreMeasureHandler::getDefaultText;
+    @NonNull
+    private Layout.Alignment mAlignment = Layout.Alignment.ALIGN_NORMAL;
+
+    private int mHorizontalPadding;
+    private int mVerticalPadding;
+    private int mLineHeight;
+
+    /**
+     * @param textPaint The paint which the texts are drawn with. It is copied.
+     */
+    public TextCellRenderer(@NonNull TextPaint textPaint) {
+        this.mTextPaint = new TextPaint(textPaint);
+
+        Paint.FontMetricsInt fontMetrics = mTextPaint.getFontMetricsInt();
+        mLineHeight = fontMetrics.descent - fontMetrics.ascent;
+    }
+
+    @NonNull
+    public TextPaint getTextPaint() {
+        return mTextPaint;
+    }
+
+    public void setTextProvider(@NonNull TextProvider textProvider) {
+        this.mTextProvider = textProvider;
+    }
+
+    @NonNull
+    public TextProvider getTextProvider() {
+        return mTextProvider;
+    }
+
+    /**
+     * Sets the padding on each side of a text, horizontally and vertically.
+     */
+    public void setPadding(int horizontalPadding, int verticalPadding) {
+        this.mHorizontalPadding = horizontalPadding;
+        this.mVerticalPadding = verticalPadding;
+    }
+
+    public int getHorizontalPadding() {
+        return mHorizontalPadding;
+    }
+
+    public void setAlignment(@NonNull Layout.Alignment alignment) {
+        this.mAlignment = alignment;
+    }
+
+    @NonNull
+    public Layout.Alignment getAlignment() {
+        return mAlignment;
+    }
+
+    /**
+     * Returns the height of a row, which is a line of text and the vertical paddings.
+     */
+    public int getRowHeight() {
+        return mLineHeight + 2 * mVerticalPadding;
+    }
+
+    @Nullable
+    public CharSequence getText(@Nullable Object item) {
+        return item != null ? mTextProvider.getText(item) : null;
+    }
+
+    /**
+     * Lays out the text on a line of the given width, or returns null if there is nothing to
+     * draw.
+     */
+    @Nullable
+    public StaticLayout createLayout(@Nullable CharSequence text, int width) {
+        if (TextUtils.isEmpty(text) || width <= 0) {
+            return null;
+        }
+
+        CharSequence line = TextUtils.ellipsize(text, mTextPaint, width, TextUtils.TruncateAt.END);
+        return createLayout(line, mTextPaint, width, mAlignment);
+    }
+
+    /**
+     * Lays out a line which already fits the given width, with the builder where it is
+     * available.
+     */
+    @NonNull
+    @SuppressWarnings("deprecation")
+    static StaticLayout createLayout(@NonNull CharSequence line, @NonNull TextPaint paint, int
+            width, @NonNull Layout.Alignment alignment) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder.obtain(line, 0, line.length(), paint, width)
+                    .setAlignment(alignment)
+                    .setLineSpacing(0f, 1f)
+                    .setIncludePad(false)
+                    .build();
+        }
+        return new StaticLayout(line, paint, width, alignment, 1f, 0f, false);
+    }
+}
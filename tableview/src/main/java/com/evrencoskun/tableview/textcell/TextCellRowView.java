@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.textcell;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.text.StaticLayout;
+import android.util.SparseArray;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.recyclerview.CellRecyclerView;
+import com.evrencoskun.tableview.handler.SelectionHandler;
+import com.evrencoskun.tableview.layoutmanager.ColumnHeaderLayoutManager;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthModel;
+
+import java.util.List;
+
+/**
+ * A row which draws its visible cells with a {@link TextCellRenderer} instead of holding a view
+ * for each of them. It is still a {@link CellRecyclerView}, with an adapter which has no items,
+ * so the rest of the TableView can treat it as any other row.
+ * <p>
+ * The cells are drawn on the bounds of the column headers, so the row follows the column header
+ * when it is scrolled, and a horizontal drag on the row scrolls the column header.
+ */
+@SuppressLint("ViewConstructor")
+public class TextCellRowView extends CellRecyclerView {
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final TextCellRenderer mRenderer;
+    @NonNull
+    private final Paint mBackgroundPaint = new Paint();
+    // The laid out texts of the bound row by their columns.
+    @NonNull
+    private final SparseArray<StaticLayout> mLayouts = new SparseArray<>();
+
+    @Nullable
+    private List<?> mCells;
+    private int mRowPosition = RecyclerView.NO_POSITION;
+    private float mLastTouchX;
+
+    public TextCellRowView(@NonNull Context context, @NonNull ITableView tableView, @NonNull
+            TextCellRenderer renderer) {
+        super(context);
+        this.mTableView = tableView;
+        this.mRenderer = renderer;
+
+        setWillNotDraw(false);
+    }
+
+    /**
+     * Binds the row to its cells. The list is kept by reference.
+     */
+    public void bind(int rowPosition, @NonNull List<?> cells) {
+        mRowPosition = rowPosition;
+        mCells = cells;
+        mLayouts.clear();
+        invalidate();
+    }
+
+    public int getRowPosition() {
+        return mRowPosition;
+    }
+
+    /**
+     * Returns the column which is drawn under the given x of the row, or
+     * {@link RecyclerView#NO_POSITION}. The column is found from the left edges of the
+     * {@link ColumnWidthModel}, without the column headers being searched.
+     */
+    public int getColumnAt(float x) {
+        ColumnWidthModel model = mTableView.getColumnHeaderLayoutManager().getColumnWidthModel();
+        if (!model.hasLefts()) {
+            return RecyclerView.NO_POSITION;
+        }
+
+        // The offset of x from the left edge of the first column.
+        RecyclerView columnHeaderRecyclerView = mTableView.getColumnHeaderRecyclerView();
+        long offset = columnHeaderRecyclerView.computeHorizontalScrollOffset() + (long) Math
+                .floor(x - getHeaderOffset() - columnHeaderRecyclerView.getPaddingLeft());
+        if (offset < 0 || offset >= model.getTotalWidth()) {
+            return RecyclerView.NO_POSITION;
+        }
+
+        int column = model.getColumnAt(offset);
+        return column >= 0 ? column : RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Returns the x of the column header RecyclerView within the row.
+     */
+    private int getHeaderOffset() {
+        return mTableView.getColumnHeaderRecyclerView().getLeft() - mTableView
+                .getCellRecyclerView().getLeft() - getLeft();
+    }
+
+    @Override
+    protected void onMeasure(int widthSpec, int heightSpec) {
+        // The row takes the whole width, since the cells are drawn wherever the columns are.
+        int width = MeasureSpec.getMode(widthSpec) == MeasureSpec.UNSPECIFIED ?
+                getSuggestedMinimumWidth() : MeasureSpec.getSize(widthSpec);
+        int height = resolveSize(mRenderer.getRowHeight(), heightSpec);
+        super.onMeasure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY), MeasureSpec
+                .makeMeasureSpec(height, MeasureSpec.EXACTLY));
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+        if (mCells == null) {
+            return;
+        }
+
+        ColumnHeaderLayoutManager layoutManager = mTableView.getColumnHeaderLayoutManager();
+        SelectionHandler selectionHandler = mTableView.getSelectionHandler();
+        boolean drawSelection = !mTableView.isIgnoreSelectionColors();
+        int padding = mRenderer.getHorizontalPadding();
+        int offset = getHeaderOffset();
+        int height = getHeight();
+
+        for (int i = 0; i < layoutManager.getChildCount(); i++) {
+            View columnHeader = layoutManager.getChildAt(i);
+            if (columnHeader == null) {
+                continue;
+            }
+
+            int left = columnHeader.getLeft() + offset;
+            int right = columnHeader.getRight() + offset;
+            if (right <= 0 || left >= getWidth()) {
+                continue;
+            }
+
+            int column = layoutManager.getPosition(columnHeader);
+            if (drawSelection) {
+                mBackgroundPaint.setColor(selectionHandler.isCellSelected(column, mRowPosition) ?
+                        mTableView.getSelectedColor() : mTableView.getUnSelectedColor());
+                canvas.drawRect(left, 0, right, height, mBackgroundPaint);
+            }
+
+            StaticLayout layout = getLayout(column, right - left, padding);
+            if (layout != null) {
+                int save = canvas.save();
+                canvas.clipRect(left, 0, right, height);
+                canvas.translate(left + padding, (height - layout.getHeight()) / 2f);
+                layout.draw(canvas);
+                canvas.restoreToCount(save);
+            }
+        }
+    }
+
+    /**
+     * Returns the laid out text of the column, which is laid out again only if the width of the
+     * column has changed. The layout which the text layout cache has prefetched for the same
+     * text width is used first.
+     */
+    @Nullable
+    private StaticLayout getLayout(int column, int columnWidth, int padding) {
+        int width = columnWidth - 2 * padding;
+        StaticLayout layout = mLayouts.get(column);
+        if (layout != null && layout.getWidth() == width) {
+            return layout;
+        }
+
+        Object cell = mCells != null && column < mCells.size() ? mCells.get(column) : null;
+        TextLayoutCache cache = mTableView.getTextLayoutCache();
+        layout = cache != null && width > 0 ? cache.getLayout(cell, width,
+                mRenderer.getTextPaint()) : null;
+        if (layout == null) {
+            layout = mRenderer.createLayout(mRenderer.getText(cell), width);
+        }
+        if (layout != null) {
+            mLayouts.put(column, layout);
+        } else {
+            mLayouts.remove(column);
+        }
+        return layout;
+    }
+
+    @Override
+    public void scrollBy(int x, int y) {
+        // The row has no children to scroll, it is drawn again at the column headers.
+        if (x != 0) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean fling(int velocityX, int velocityY) {
+        return mTableView.getColumnHeaderRecyclerView().fling(velocityX, 0);
+    }
+
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouchEvent(@NonNull MotionEvent e) {
+        boolean wasDragging = getScrollState() == SCROLL_STATE_DRAGGING;
+        boolean handled = super.onTouchEvent(e);
+
+        // The row can't scroll itself, so a horizontal drag scrolls the column header.
+        if (e.getActionMasked() == MotionEvent.ACTION_MOVE && wasDragging) {
+            int dx = Math.round(mLastTouchX - e.getX());
+            if (dx != 0) {
+                mTableView.getColumnHeaderRecyclerView().scrollBy(dx, 0);
+            }
+        }
+        mLastTouchX = e.getX();
+        return handled;
+    }
+}
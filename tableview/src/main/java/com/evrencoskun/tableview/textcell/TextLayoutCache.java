@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.textcell;
+
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.util.ObjectsCompat;
+
+import com.evrencoskun.tableview.ITableView;
+import com.evrencoskun.tableview.adapter.AbstractTableAdapter;
+import com.evrencoskun.tableview.handler.ColumnWidthPreMeasureHandler.TextProvider;
+import com.evrencoskun.tableview.layoutmanager.ColumnWidthModel;
+import com.evrencoskun.tableview.layoutmanager.PrefetchPolicy;
+import com.evrencoskun.tableview.sort.ISortableModel;
+import com.evrencoskun.tableview.util.TableViewExecutors;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lays out the texts of the cells near the viewport on a background thread, so the cells which
+ * are scrolled in find their texts already measured. The texts are precomputed with
+ * {@link PrecomputedTextCompat} and laid out on a line of their column width less the
+ * horizontal paddings, the same way as {@link TextCellRenderer#createLayout(CharSequence, int)}
+ * does. The texts are cached by the width they are laid out on, so a text is only found for
+ * the width it has been laid out for, whatever padding that width has been computed with. The
+ * layouts are laid out with the paint of the renderer, and are only returned for a paint which
+ * draws the same way, so they are laid out again after the paint has been changed.
+ * <p>
+ * The rows and the columns which the {@link PrefetchPolicy} prefetches are laid out as they are
+ * registered. A {@link TextCellRowView} draws the cached layouts when there are any. A cell
+ * view can apply {@link #getText(Object, int)} in
+ * {@link AbstractTableAdapter#onBindCellViewHolder} with
+ * {@link androidx.core.widget.TextViewCompat#setPrecomputedText}, in which case the params
+ * have to be the ones of its TextView, see {@link #setParams(PrecomputedTextCompat.Params)}.
+ *
+ * @see com.evrencoskun.tableview.TableView#setTextLayoutCache(TextLayoutCache)
+ */
+public class TextLayoutCache implements PrefetchPolicy.PrefetchListener {
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    @NonNull
+    private final ITableView mTableView;
+    @NonNull
+    private final LruCache<Key, Entry> mEntries;
+    // The keys which are being laid out in the background.
+    @NonNull
+    private final Set<Key> mPending = new HashSet<>();
+    @NonNull
+    private TextProvider mTextProvider;
+    @NonNull
+    private Layout.Alignment mAlignment;
+    @NonNull
+    private volatile PrecomputedTextCompat.Params mParams;
+    // The paint of the renderer, which may be changed while the layouts are cached.
+    @NonNull
+    private final TextPaint mRendererPaint;
+
+    private int mHorizontalPadding;
+    // It is increased when the params change, which keeps the old entries from being hit.
+    private volatile int mParamsVersion;
+
+    private int mLastFromColumn = -1;
+    private int mLastToColumn = -1;
+    private int mLastFromRow = -1;
+    private int mLastToRow = -1;
+
+    public TextLayoutCache(@NonNull ITableView tableView, @NonNull TextCellRenderer renderer) {
+        this(tableView, renderer, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param renderer The renderer whose text provider, paint, padding and alignment the texts
+     *                 are laid out with.
+     * @param maxSize  The maximum number of the cached texts.
+     */
+    public TextLayoutCache(@NonNull ITableView tableView, @NonNull TextCellRenderer renderer,
+                           int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.mTableView = tableView;
+        this.mEntries = new LruCache<>(maxSize);
+        this.mTextProvider = renderer.getTextProvider();
+        this.mAlignment = renderer.getAlignment();
+        this.mHorizontalPadding = renderer.getHorizontalPadding();
+        this.mRendererPaint = renderer.getTextPaint();
+        this.mParams = new PrecomputedTextCompat.Params.Builder(renderer.getTextPaint()).build();
+    }
+
+    public void setTextProvider(@NonNull TextProvider textProvider) {
+        this.mTextProvider = textProvider;
+        clear();
+    }
+
+    /**
+     * Sets the padding on each side of a text, which is taken from the column width when the
+     * texts are prefetched.
+     */
+    public void setHorizontalPadding(int horizontalPadding) {
+        this.mHorizontalPadding = horizontalPadding;
+        clear();
+    }
+
+    public void setAlignment(@NonNull Layout.Alignment alignment) {
+        this.mAlignment = alignment;
+        clear();
+    }
+
+    /**
+     * Sets the params which the texts are precomputed with, like the ones which
+     * {@link androidx.core.widget.TextViewCompat#getTextMetricsParams} returns for the TextView
+     * of a cell. The cached texts are dropped.
+     */
+    public void setParams(@NonNull PrecomputedTextCompat.Params params) {
+        this.mParams = params;
+        clear();
+    }
+
+    @NonNull
+    public PrecomputedTextCompat.Params getParams() {
+        return mParams;
+    }
+
+    /**
+     * Drops the cached texts, and lets the ones being laid out be ignored.
+     */
+    public void clear() {
+        mParamsVersion++;
+        mEntries.evictAll();
+        mLastFromColumn = mLastToColumn = mLastFromRow = mLastToRow = -1;
+    }
+
+    /**
+     * Returns the precomputed text of the cell which has been laid out on the given text width,
+     * the column width less the horizontal paddings, or null if it hasn't been computed yet.
+     */
+    @Nullable
+    public PrecomputedTextCompat getText(@Nullable Object item, int textWidth) {
+        Entry entry = getEntry(item, textWidth);
+        return entry != null ? entry.mText : null;
+    }
+
+    /**
+     * Returns the text of the cell laid out on a line of the given text width, the column width
+     * less the horizontal paddings, or null if it hasn't been laid out yet or has been laid out
+     * with a paint which differs from the given one.
+     */
+    @Nullable
+    public StaticLayout getLayout(@Nullable Object item, int textWidth, @NonNull TextPaint
+            paint) {
+        Entry entry = getEntry(item, textWidth);
+        return entry != null && isSamePaint(entry.mPaint, paint) ? entry.mLayout : null;
+    }
+
+    @Nullable
+    private Entry getEntry(@Nullable Object item, int textWidth) {
+        CharSequence text = item != null ? mTextProvider.getText(item) : null;
+        if (TextUtils.isEmpty(text)) {
+            return null;
+        }
+
+        Entry entry = mEntries.get(new Key(getId(item, text), textWidth, mParamsVersion));
+        // The item may have kept its id while its text has changed.
+        return entry != null && TextUtils.equals(entry.mSource, text) ? entry : null;
+    }
+
+    @Override
+    public void onPrefetch(boolean horizontal, int fromPosition, int toPosition) {
+        // Each row registers the same columns, so they are only laid out once.
+        if (horizontal) {
+            if (fromPosition == mLastFromColumn && toPosition == mLastToColumn) {
+                return;
+            }
+            mLastFromColumn = fromPosition;
+            mLastToColumn = toPosition;
+
+            prefetchCells(mTableView.getCellLayoutManager().findFirstVisibleItemPosition(),
+                    mTableView.getCellLayoutManager().findLastVisibleItemPosition(),
+                    fromPosition, toPosition);
+        } else {
+            if (fromPosition == mLastFromRow && toPosition == mLastToRow) {
+                return;
+            }
+            mLastFromRow = fromPosition;
+            mLastToRow = toPosition;
+
+            prefetchCells(fromPosition, toPosition, mTableView.getColumnHeaderLayoutManager()
+                    .findFirstVisibleItemPosition(), mTableView.getColumnHeaderLayoutManager()
+                    .findLastVisibleItemPosition());
+        }
+    }
+
+    /**
+     * Lays out the texts of the cells in the given rows and columns on a background thread,
+     * unless they are cached or being laid out already. The columns whose widths aren't known
+     * yet are skipped. It must be called on the main thread.
+     */
+    public void prefetchCells(int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        AbstractTableAdapter adapter = mTableView.getAdapter();
+        if (adapter == null || firstRow < 0 || firstColumn < 0) {
+            return;
+        }
+
+        ColumnWidthModel widthModel = mTableView.getColumnHeaderLayoutManager()
+                .getColumnWidthModel();
+        int version = mParamsVersion;
+        int padding = 2 * mHorizontalPadding;
+        final List<Key> keys = new ArrayList<>();
+        final List<CharSequence> texts = new ArrayList<>();
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            List<?> cells = adapter.getCellRowItems(row);
+            if (cells == null) {
+                continue;
+            }
+
+            for (int column = firstColumn; column <= lastColumn && column < cells.size();
+                 column++) {
+                int width = widthModel.get(column);
+                Object item = cells.get(column);
+                CharSequence text = item != null ? mTextProvider.getText(item) : null;
+                if (width == ColumnWidthModel.UNKNOWN || width - padding <= 0 || TextUtils
+                        .isEmpty(text)) {
+                    continue;
+                }
+
+                Key key = new Key(getId(item, text), width - padding, version);
+                Entry entry = mEntries.get(key);
+                if (entry != null && TextUtils.equals(entry.mSource, text) && isSamePaint(entry
+                        .mPaint, mRendererPaint)) {
+                    continue;
+                }
+                synchronized (mPending) {
+                    if (!mPending.add(key)) {
+                        continue;
+                    }
+                }
+                keys.add(key);
+                // The text is copied, since the item may be changed on the main thread.
+                texts.add(text.toString());
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        final PrecomputedTextCompat.Params params = mParams;
+        final Layout.Alignment alignment = mAlignment;
+        // A copy of the paint of the renderer, since it may be changed on the main thread.
+        final TextPaint paint = new TextPaint(mRendererPaint);
+        TableViewExecutors.background().execute(() -> {
+            for (int i = 0; i < keys.size(); i++) {
+                Key key = keys.get(i);
+                try {
+                    if (key.mVersion == mParamsVersion) {
+                        // Each layout keeps its own paint, which it is drawn with on the main
+                        // thread while the next ones are laid out.
+                        Entry entry = createEntry(texts.get(i), key.mWidth, params, new
+                                TextPaint(paint), alignment);
+                        if (entry != null) {
+                            mEntries.put(key, entry);
+                        }
+                    }
+                } finally {
+                    synchronized (mPending) {
+                        mPending.remove(key);
+                    }
+                }
+            }
+        });
+    }
+
+    @Nullable
+    private static Entry createEntry(@NonNull CharSequence source, int width, @NonNull
+            PrecomputedTextCompat.Params params, @NonNull TextPaint paint, @NonNull
+            Layout.Alignment alignment) {
+        if (width <= 0) {
+            return null;
+        }
+
+        PrecomputedTextCompat text = PrecomputedTextCompat.create(source, params);
+        CharSequence line = TextUtils.ellipsize(text, paint, width, TextUtils.TruncateAt.END);
+        StaticLayout layout = TextCellRenderer.createLayout(line, paint, width, alignment);
+        return new Entry(source, text, layout, paint);
+    }
+
+    /**
+     * Returns whether the paints measure and draw the texts the same way.
+     */
+    private static boolean isSamePaint(@NonNull TextPaint paint1, @NonNull TextPaint paint2) {
+        if (paint1 == paint2) {
+            return true;
+        }
+        if (paint1.getColor() != paint2.getColor()) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            return paint1.equalsForTextMeasurement(paint2);
+        }
+
+        if (paint1.getTextSize() != paint2.getTextSize() || paint1.getTextScaleX() != paint2
+                .getTextScaleX() || paint1.getTextSkewX() != paint2.getTextSkewX() || paint1
+                .getFlags() != paint2.getFlags() || !ObjectsCompat.equals(paint1.getTypeface(),
+                paint2.getTypeface())) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && !ObjectsCompat
+                .equals(paint1.getTextLocale(), paint2.getTextLocale())) {
+            return false;
+        }
+        return Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP || (paint1
+                .getLetterSpacing() == paint2.getLetterSpacing() && ObjectsCompat.equals(paint1
+                .getFontFeatureSettings(), paint2.getFontFeatureSettings()));
+    }
+
+    @NonNull
+    private static String getId(@NonNull Object item, @NonNull CharSequence text) {
+        // The text is the id of the items which have none, so equal texts share their layout.
+        return item instanceof ISortableModel ? ((ISortableModel) item).getId() : text
+                .toString();
+    }
+
+    private static class Key {
+        @NonNull
+        final String mId;
+        // The width of the text, without the paddings.
+        final int mWidth;
+        final int mVersion;
+
+        Key(@NonNull String id, int width, int version) {
+            this.mId = id;
+            this.mWidth = width;
+            this.mVersion = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return mWidth == key.mWidth && mVersion == key.mVersion && mId.equals(key.mId);
+        }
+
+        @Override
+        public int hashCode() {
+            return (mId.hashCode() * 31 + mWidth) * 31 + mVersion;
+        }
+    }
+
+    private static class Entry {
+        @NonNull
+        final CharSequence mSource;
+        @NonNull
+        final PrecomputedTextCompat mText;
+        @NonNull
+        final StaticLayout mLayout;
+        // The copy of the paint the layout has been laid out with, which isn't changed.
+        @NonNull
+        final TextPaint mPaint;
+
+        Entry(@NonNull CharSequence source, @NonNull PrecomputedTextCompat text, @NonNull
+                StaticLayout layout, @NonNull TextPaint paint) {
+            this.mSource = source;
+            this.mText = text;
+            this.mLayout = layout;
+            this.mPaint = paint;
+        }
+    }
+}
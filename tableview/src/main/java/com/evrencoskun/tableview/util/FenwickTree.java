@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the prefix sums of a sequence of non negative sizes, such as the heights of the rows.
+ * Changing a size, summing the sizes before an index and finding the index at an offset all
+ * take O(log n).
+ */
+public class FenwickTree {
+    @NonNull
+    private int[] mValues;
+    // 1-based, mTree[i] is the sum of the values in (i - lowbit(i), i].
+    @NonNull
+    private long[] mTree;
+    private int mSize;
+
+    public FenwickTree() {
+        this(0);
+    }
+
+    public FenwickTree(int size) {
+        mValues = new int[size];
+        mTree = new long[size + 1];
+        mSize = size;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return mValues[index];
+    }
+
+    public void set(int index, int value) {
+        checkIndex(index);
+        long delta = (long) value - mValues[index];
+        if (delta == 0) {
+            return;
+        }
+
+        mValues[index] = value;
+        for (int i = index + 1; i <= mSize; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the first {@code count} values.
+     */
+    public long sum(int count) {
+        long sum = 0;
+        for (int i = Math.min(count, mSize); i > 0; i -= i & -i) {
+            sum += mTree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of all of the values.
+     */
+    public long sum() {
+        return sum(mSize);
+    }
+
+    /**
+     * Returns the index whose range contains the given offset, which is the last index whose
+     * preceding values sum up to no more than the offset. The result is clamped to the indices.
+     */
+    public int indexOf(long offset) {
+        if (mSize == 0) {
+            return -1;
+        }
+
+        int index = 0;
+        long remaining = offset;
+        for (int step = Integer.highestOneBit(mSize); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= mSize && mTree[next] <= remaining) {
+                index = next;
+                remaining -= mTree[next];
+            }
+        }
+        return Math.min(index, mSize - 1);
+    }
+
+    /**
+     * Replaces all of the values by the given ones in O(n).
+     */
+    public void setAll(@NonNull int[] values, int size) {
+        if (mValues.length < size) {
+            mValues = new int[size];
+            mTree = new long[size + 1];
+        }
+        System.arraycopy(values, 0, mValues, 0, size);
+        if (size < mSize) {
+            Arrays.fill(mValues, size, mSize, 0);
+        }
+        mSize = size;
+        build();
+    }
+
+    /**
+     * Changes the number of values. New values are 0.
+     */
+    public void resize(int size) {
+        if (size > mValues.length) {
+            mValues = Arrays.copyOf(mValues, Math.max(size, mValues.length * 2));
+            mTree = new long[mValues.length + 1];
+        } else if (size < mSize) {
+            Arrays.fill(mValues, size, mSize, 0);
+        }
+        mSize = size;
+        build();
+    }
+
+    /**
+     * Inserts {@code count} copies of the value at the index, shifting the following values.
+     * Appending takes O(count log n), inserting before the end O(n) without allocating.
+     */
+    public void insert(int index, int count, int value) {
+        if (index < 0 || index > mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+        if (count <= 0) {
+            return;
+        }
+
+        int size = mSize + count;
+        if (size > mValues.length) {
+            int capacity = Math.max(size, mValues.length * 2);
+            mValues = Arrays.copyOf(mValues, capacity);
+            mTree = Arrays.copyOf(mTree, capacity + 1);
+        }
+
+        if (index == mSize) {
+            // The nodes before the end don't cover the new values, so only theirs are added.
+            for (int i = mSize + 1; i <= size; i++) {
+                mValues[i - 1] = value;
+                mTree[i] = value + prefixSum(i - 1) - prefixSum(i - (i & -i));
+                mSize = i;
+            }
+            return;
+        }
+
+        System.arraycopy(mValues, index, mValues, index + count, mSize - index);
+        Arrays.fill(mValues, index, index + count, value);
+        mSize = size;
+        build();
+    }
+
+    /**
+     * Removes {@code count} values from the index, shifting the following values. Removing
+     * from the end takes O(count), removing before the end O(n) without allocating.
+     */
+    public void remove(int index, int count) {
+        if (index < 0 || count < 0 || index + count > mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count + ", " +
+                    "Size: " + mSize);
+        }
+        if (count == 0) {
+            return;
+        }
+
+        int size = mSize - count;
+        if (index + count < mSize) {
+            System.arraycopy(mValues, index + count, mValues, index, mSize - index - count);
+            Arrays.fill(mValues, size, mSize, 0);
+            mSize = size;
+            build();
+            return;
+        }
+
+        // The nodes before the index don't cover the removed values.
+        Arrays.fill(mValues, size, mSize, 0);
+        mSize = size;
+    }
+
+    /**
+     * Returns the sum of the first {@code count} values without clamping the count.
+     */
+    private long prefixSum(int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += mTree[i];
+        }
+        return sum;
+    }
+
+    private void build() {
+        Arrays.fill(mTree, 0, mSize + 1, 0);
+        for (int i = 1; i <= mSize; i++) {
+            mTree[i] += mValues[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= mSize) {
+                mTree[parent] += mTree[i];
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read only view of the items of a source list at the given indices. Sorting and filtering a
+ * lazily loaded list only orders or picks the indices of its rows, so no row is kept in memory.
+ */
+public class IndexedList<T> extends AbstractList<T> implements RandomAccess {
+    @NonNull
+    private final List<T> mSource;
+    @NonNull
+    private final int[] mIndices;
+    private final int mSize;
+
+    private IndexedList(@NonNull List<T> source, @NonNull int[] indices, int size) {
+        this.mSource = source;
+        this.mIndices = indices;
+        this.mSize = size;
+    }
+
+    /**
+     * Returns the view of the items of the source at the first size indices. A view of a view
+     * reads the indices through, so the items are always read from the original source.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <T> IndexedList<T> of(@NonNull List<T> source, @NonNull int[]
+            indices, int size) {
+        if (size < 0 || size > indices.length) {
+            throw new IllegalArgumentException("Size: " + size + ", Indices: " + indices.length);
+        }
+
+        if (source instanceof IndexedList) {
+            IndexedList<T> view = (IndexedList<T>) source;
+            int[] sourceIndices = new int[size];
+            for (int i = 0; i < size; i++) {
+                sourceIndices[i] = view.getSourceIndex(indices[i]);
+            }
+            return new IndexedList<>(view.mSource, sourceIndices, size);
+        }
+        return new IndexedList<>(source, indices, size);
+    }
+
+    /**
+     * Returns the index of the item in the original source.
+     */
+    public int getSourceIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+        return mIndices[index];
+    }
+
+    @Override
+    public T get(int index) {
+        return mSource.get(getSourceIndex(index));
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A fixed capacity list which stores its items in a circular array. Appending to the tail and
+ * removing from the head don't move any item, so it can be used as the backing list of an
+ * adapter whose rows only ever append and whose oldest rows are evicted.
+ */
+public class RingBufferList<T> extends AbstractList<T> implements RandomAccess {
+    @NonNull
+    private final Object[] mElements;
+    private int mHead;
+    private int mSize;
+
+    public RingBufferList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        mElements = new Object[capacity];
+    }
+
+    public int capacity() {
+        return mElements.length;
+    }
+
+    public boolean isFull() {
+        return mSize == mElements.length;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) mElements[physical(index)];
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T old = get(index);
+        mElements[physical(index)] = element;
+        return old;
+    }
+
+    /**
+     * Inserts the item at the given index. A full list throws instead of evicting an item on
+     * its own, since the owner of an adapter which shows the list has to notify the removal;
+     * it evicts the oldest items with {@link #removeFirst(int)} beforehand.
+     *
+     * @throws IllegalStateException if the list is full.
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+        if (isFull()) {
+            throw new IllegalStateException("Ring buffer is full, capacity: " + capacity());
+        }
+
+        if (index == 0) {
+            // Grow towards the head.
+            mHead = mHead == 0 ? mElements.length - 1 : mHead - 1;
+            mElements[mHead] = element;
+        } else {
+            // Shift the items after the index to the tail.
+            for (int i = mSize; i > index; i--) {
+                mElements[physical(i)] = mElements[physical(i - 1)];
+            }
+            mElements[physical(index)] = element;
+        }
+
+        mSize++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T old = get(index);
+
+        // Shift the shorter side of the buffer.
+        if (index < mSize / 2) {
+            for (int i = index; i > 0; i--) {
+                mElements[physical(i)] = mElements[physical(i - 1)];
+            }
+            mElements[mHead] = null;
+            mHead = physical(1);
+        } else {
+            for (int i = index; i < mSize - 1; i++) {
+                mElements[physical(i)] = mElements[physical(i + 1)];
+            }
+            mElements[physical(mSize - 1)] = null;
+        }
+
+        mSize--;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Removes the given number of items from the head of the list without moving the others.
+     */
+    public void removeFirst(int count) {
+        if (count < 0 || count > mSize) {
+            throw new IndexOutOfBoundsException("Count: " + count + ", Size: " + mSize);
+        }
+
+        for (int i = 0; i < count; i++) {
+            mElements[physical(i)] = null;
+        }
+        mHead = count == mSize ? 0 : physical(count);
+        mSize -= count;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex == 0) {
+            removeFirst(toIndex);
+        } else {
+            super.removeRange(fromIndex, toIndex);
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(mElements, null);
+        mHead = 0;
+        mSize = 0;
+        modCount++;
+    }
+
+    private int physical(int index) {
+        int position = mHead + index;
+        return position >= mElements.length ? position - mElements.length : position;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+    }
+}
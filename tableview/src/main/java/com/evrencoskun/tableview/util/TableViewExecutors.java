@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018. Evren Coşkun
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.evrencoskun.tableview.util;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the threads which TableView uses to do its work off the main thread.
+ */
+public class TableViewExecutors {
+    private static final int BACKGROUND_THREAD_COUNT = 2;
+
+    private static ExecutorService sBackgroundExecutor;
+    private static Handler sMainHandler;
+
+    /**
+     * Returns the shared executor for the background work like diffing and measuring.
+     */
+    @NonNull
+    public static synchronized ExecutorService background() {
+        if (sBackgroundExecutor == null) {
+            sBackgroundExecutor = Executors.newFixedThreadPool(BACKGROUND_THREAD_COUNT, new
+                    ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    Thread thread = new Thread(runnable, "TableView-" + mCount.incrementAndGet());
+                    // It shouldn't keep the process alive or compete with the main thread.
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+        return sBackgroundExecutor;
+    }
+
+    /**
+     * Returns the handler which posts the results of the background work to the main thread.
+     */
+    @NonNull
+    public static synchronized Handler main() {
+        if (sMainHandler == null) {
+            sMainHandler = new Handler(Looper.getMainLooper());
+        }
+        return sMainHandler;
+    }
+}
@@ -22,6 +22,8 @@ import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.evrencoskun.tableview.metrics.TableViewMetrics;
+
 /**
  * Created by evrencoskun on 18/09/2017.
  */
@@ -32,6 +34,16 @@ public class TableViewUtils {
      * Helps to force width value before calling requestLayout by the system.
      */
     public static void setWidth(@NonNull View view, int width) {
+        setWidth(view, width, true);
+    }
+
+    /**
+     * Helps to force width value. The layout should only be requested if nothing else lays the
+     * view out, since every request travels up to the TableView. The layout managers of the
+     * TableView don't request it while they are measuring a view, and collect the views which
+     * need a layout to request it once per layout pass.
+     */
+    public static void setWidth(@NonNull View view, int width, boolean requestLayout) {
         // Change width value from params
         ((RecyclerView.LayoutParams) view.getLayoutParams()).width = width;
 
@@ -40,7 +52,20 @@ public class TableViewUtils {
                 .MeasureSpec.EXACTLY);
         view.measure(widthMeasureSpec, heightMeasureSpec);
 
-        view.requestLayout();
+        if (requestLayout) {
+            view.requestLayout();
+        }
+    }
+
+    /**
+     * Same as {@link #setWidth(View, int, boolean)}, timed by the metrics of the TableView which
+     * the view belongs to.
+     */
+    public static void setWidth(@NonNull View view, int width, boolean requestLayout, @NonNull
+            TableViewMetrics metrics) {
+        long start = metrics.begin();
+        setWidth(view, width, requestLayout);
+        metrics.end(TableViewMetrics.SET_WIDTH, start);
     }
 
 }